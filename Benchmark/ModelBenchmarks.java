@@ -0,0 +1,326 @@
+package Benchmark;
+
+import Controller.Simulation;
+import Controller.controller;
+import Model.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the hot paths of the Model.
+ * Writes a report (one benchmark per line, `;` separated like the other csv files
+ * of the project) that can be compared with the report of another release. The
+ * allocated bytes per operation are measured by the JMH GC profiler (`-prof gc`).
+ *
+ * Usage:
+ * - `gradle benchmark` runs the benchmarks and overwrites `benchmark_report.csv`, the
+ *   committed baseline, so `git diff` shows the change.
+ * - `java Benchmark.ModelBenchmarks [report.csv]` runs the benchmarks.
+ * - `java Benchmark.ModelBenchmarks --compare baseline.csv report.csv` compares two reports.
+ * - `java org.openjdk.jmh.Main ModelBenchmarks -prof gc` runs them with any other JMH option.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmarks {
+    private static final String HEADER = "Benchmark;NanosPerOp;Error;BytesPerOp";
+
+    /**
+     * A deck of the standard game.
+     */
+    @State(Scope.Thread)
+    public static class Decks {
+        Deck deck;
+
+        @Setup
+        public void setup() {
+            deck = GameSetup.createDeck();
+        }
+    }
+
+    /**
+     * Number cards of one palace, compared in turn.
+     */
+    @State(Scope.Thread)
+    public static class Numbers {
+        Card[] cards;
+        int next;
+
+        @Setup
+        public void setup() {
+            cards = new Card[10];
+            for (int i = 0; i < cards.length; i++) {
+                cards[i] = new NumberCard("Knossos", i + 1);
+            }
+        }
+    }
+
+    /**
+     * A dealt board: the first player holds a full hand and a pawn of the opponent
+     * stands at position 3 of the first path.
+     */
+    @State(Scope.Thread)
+    public static class Table {
+        Board board;
+        Player player;
+        Player opponent;
+        Path path;
+        Pawn pawn;
+        MinotaurCard minotaur;
+        MoveGenerator generator;
+        controller game;
+        GameState state;
+
+        @Setup
+        public void setup() {
+            board = GameSetup.createBoard();
+            player = GameSetup.createPlayer("Player 1");
+            opponent = GameSetup.createPlayer("Player 2");
+            board.initializeBoard();
+            for (int i = 0; i < GameSetup.HAND_SIZE; i++) {
+                player.drawCard(board.getDeck());
+            }
+            path = board.getPathByIndex(0);
+            opponent.getCards().add(new NumberCard(path.getPalaceName(), 3));
+            opponent.tryPlayCard(opponent.getCards().size() - 1, 0, board, player);
+            pawn = opponent.getPawnOnPath(path);
+            minotaur = new MinotaurCard(path.getPalaceName());
+            generator = new MoveGenerator();
+            game = new controller(board, player, opponent);
+            state = new GameState();
+        }
+    }
+
+    /**
+     * A simulation of random games.
+     */
+    @State(Scope.Thread)
+    public static class Simulations {
+        Simulation simulation;
+
+        @Setup
+        public void setup() {
+            simulation = new Simulation(0);
+        }
+    }
+
+    @Benchmark
+    public int deckShuffle(Decks decks) {
+        decks.deck.shuffle();
+        return decks.deck.getRemainingCards();
+    }
+
+    @Benchmark
+    public int deckDrawAndReturn(Decks decks) {
+        Card card = decks.deck.draw();
+        decks.deck.addCard(card);
+        return decks.deck.getRemainingCards();
+    }
+
+    @Benchmark
+    public int boardInitialize() {
+        Board board = GameSetup.createBoard();
+        board.initializeBoard();
+        return board.getPaths().size();
+    }
+
+    @Benchmark
+    public boolean cardIsPlayable(Numbers numbers) {
+        int i = numbers.next++ & 7;
+        return numbers.cards[i + 2].isPlayable(numbers.cards[i]);
+    }
+
+    @Benchmark
+    public int playerLegalMoves(Table table) {
+        int legal = 0;
+        int paths = table.board.getPaths().size();
+        for (int card = 0; card < table.player.getCards().size(); card++) {
+            for (int path = 0; path < paths; path++) {
+                if (table.player.canPlayCard(card, path, table.board)) {
+                    legal++;
+                }
+            }
+        }
+        return legal;
+    }
+
+    @Benchmark
+    public int moveGeneratorGenerate(Table table) {
+        return table.generator.generate(table.player, table.board);
+    }
+
+    @Benchmark
+    public int pawnMove(Table table) {
+        table.pawn.move(1);
+        table.pawn.move(-1);
+        return table.pawn.getCurrentPosition();
+    }
+
+    @Benchmark
+    public boolean minotaurAttack(Table table) {
+        boolean hit = table.minotaur.strike(table.opponent, table.path);
+        table.pawn.move(2);
+        return hit;
+    }
+
+    @Benchmark
+    public boolean pathIsCompleted(Table table) {
+        return table.path.isCompleted();
+    }
+
+    @Benchmark
+    public int stateCapture(Table table) {
+        table.game.saveState(table.state);
+        return table.state.getTurns();
+    }
+
+    @Benchmark
+    public int gameRandomPlayout(Simulations simulations) {
+        return simulations.simulation.playGame().getTurnCount();
+    }
+
+    /**
+     * Runs every benchmark with the GC profiler.
+     *
+     * Preconditions:
+     * - The benchmarks were compiled with the JMH annotation processor.
+     *
+     * Postconditions:
+     * - Returns the results in the order of the benchmark names.
+     *
+     * @return The results of the benchmarks.
+     * @throws RunnerException if JMH cannot run the benchmarks.
+     */
+    public static Collection<RunResult> runAll() throws RunnerException {
+        return new Runner(new OptionsBuilder()
+                .include(ModelBenchmarks.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Writes a report.
+     *
+     * @param results The results to write.
+     * @param file The file to write to.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeReport(Collection<RunResult> results, String file) throws IOException {
+        List<RunResult> sorted = new ArrayList<>(results);
+        sorted.sort((a, b) -> a.getParams().getBenchmark().compareTo(b.getParams().getBenchmark()));
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8))) {
+            out.println(HEADER);
+            for (RunResult result : sorted) {
+                String benchmark = result.getParams().getBenchmark();
+                Result<?> time = result.getPrimaryResult();
+                out.printf(Locale.ROOT, "%s;%.2f;%.2f;%.2f%n", benchmark.substring(benchmark.lastIndexOf('.') + 1),
+                        time.getScore(), time.getScoreError(), allocatedBytes(result));
+            }
+        }
+    }
+
+    /**
+     * Gets the bytes allocated per operation measured by the GC profiler.
+     *
+     * @param result The result of a benchmark.
+     * @return The bytes per operation, or NaN if the profiler did not run.
+     */
+    private static double allocatedBytes(RunResult result) {
+        Map<String, Result> secondary = result.getSecondaryResults();
+        for (String key : new String[] {"gc.alloc.rate.norm", "·gc.alloc.rate.norm"}) {
+            if (secondary.containsKey(key)) {
+                return secondary.get(key).getScore();
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Reads a report.
+     *
+     * @param file The file to read.
+     * @return The values of the report by benchmark name.
+     * @throws IOException if the file cannot be read.
+     */
+    private static Map<String, double[]> readReport(String file) throws IOException {
+        Map<String, double[]> report = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.equals(HEADER)) {
+                continue;
+            }
+            String[] fields = line.split(";");
+            report.put(fields[0], new double[] {Double.parseDouble(fields[1]), Double.parseDouble(fields[3])});
+        }
+        return report;
+    }
+
+    /**
+     * Prints the change of every benchmark between two reports.
+     *
+     * @param baseline The report of the previous release.
+     * @param current The report of the current release.
+     * @throws IOException if a report cannot be read.
+     */
+    public static void compare(String baseline, String current) throws IOException {
+        Map<String, double[]> before = readReport(baseline);
+        Map<String, double[]> after = readReport(current);
+        System.out.printf("%-28s %12s %12s %8s %12s %12s%n", "Benchmark", "base ns/op", "ns/op", "change", "base B/op", "B/op");
+        for (Map.Entry<String, double[]> entry : after.entrySet()) {
+            double[] now = entry.getValue();
+            double[] then = before.get(entry.getKey());
+            if (then == null) {
+                System.out.printf(Locale.ROOT, "%-28s %12s %12.1f %8s %12s %12.1f%n", entry.getKey(), "-", now[0], "new", "-", now[1]);
+            } else {
+                double change = (now[0] - then[0]) / then[0] * 100;
+                System.out.printf(Locale.ROOT, "%-28s %12.1f %12.1f %+7.1f%% %12.1f %12.1f%n", entry.getKey(), then[0], now[0],
+                        change, then[1], now[1]);
+            }
+        }
+    }
+
+    /**
+     * Runs the benchmarks or compares two reports.
+     *
+     * @param args `[report.csv]` or `--compare baseline.csv report.csv`.
+     * @throws IOException if a report cannot be read or written.
+     * @throws RunnerException if JMH cannot run the benchmarks.
+     */
+    public static void main(String[] args) throws IOException, RunnerException {
+        if (args.length == 3 && args[0].equals("--compare")) {
+            compare(args[1], args[2]);
+            return;
+        }
+        String file = args.length > 0 ? args[0] : "benchmark_report.csv";
+        writeReport(runAll(), file);
+        System.out.println("Report written to " + file);
+    }
+}
\ No newline at end of file
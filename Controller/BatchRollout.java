@@ -0,0 +1,599 @@
+package Controller;
+
+import Model.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays random games to the end for a whole batch of games at once.
+ *
+ * The games are kept as a struct of arrays: every field of a game (a pawn position,
+ * the top card of a path, a score, a card of the deck...) is an int array with one
+ * entry per game, stored at `field * capacity + game`. A playout then touches only
+ * flat int arrays, without the object graph, the events or the metrics of `controller`,
+ * and all the live games advance one turn per round, so the same code runs over the
+ * same arrays game after game.
+ *
+ * The rules are the ones of the model: a number card needs a value at least the one
+ * of the number card on top of its path (`NumberCard.isPlayable`), nothing but Ariadne
+ * and Minotaur cards follows an Ariadne card, Ariadne moves a pawn `AriadneCard.getSteps`
+ * positions, and a Minotaur card moves the opponent's pawn back `MinotaurCard.getDamage`
+ * positions unless it is at the start, past `Path.CHECKPOINT` or Theseus. Moves are picked
+ * with the same distribution as `SearchGame.rollout`: a uniform card of the hand among
+ * the playable ones, or a uniform discard when none is playable.
+ *
+ * An instance is not thread-safe; each search thread uses its own, like `SearchGame`.
+ */
+public final class BatchRollout {
+    private static final int PATHS = GameSetup.PALACES.length;
+    private static final int LAST = GameSetup.PATH_LENGTH - 1;
+    private static final int HAND_CAPACITY = 2 * GameSetup.HAND_SIZE;
+    private static final int ALL_COMPLETED = (1 << PATHS) - 1;
+    private static final int ARIADNE = 10; // type of a card inside its palace
+    private static final int MINOTAUR = 11;
+    private static final int ARIADNE_STEPS = ((AriadneCard) GameState.card(ARIADNE)).getSteps();
+    private static final int DAMAGE = ((MinotaurCard) GameState.card(MINOTAUR)).getDamage();
+    private static final int[] PLAYABLE = playableTypes(); // by top card type + 1
+    private static final int[] POSITION_SCORES = positionScores();
+    private static final int[] FINDING_VALUES = findingValues();
+
+    private final int capacity;
+    private final int[] current; // index of the player to move
+    private final int[] turns;
+    private final int[] completed; // bit p: path p is completed
+    private final int[] top; // per path: type of the top card, -1 if none
+    private final int[] boxes; // per path and position: value of the finding + 1, 0 if none
+    private final int[] scores; // per player: value of the collected findings
+    private final int[] positions; // per player and path: position of the pawn, -1 if none
+    private final int[] freePawns; // per player: pawns not deployed yet
+    private final int[] theseusRank; // per player: free pawns deployed before Theseus, -1 if deployed
+    private final int[] theseusPath; // per player: path of Theseus, -1 if not deployed
+    private final int[] destroys; // per player: boxes Theseus can still destroy
+    private final int[] handSizes; // per player
+    private final int[] hands; // per player and slot: card kind
+    private final int[] deckSizes;
+    private final int[] decks; // per card, bottom to top: card kind
+    private final int[] active; // games still playing, compacted every round
+    private final int[] legal; // hand slots of the playable cards, scratch of a turn
+
+    /**
+     * Creates an engine for a batch of games.
+     *
+     * Preconditions:
+     * - `capacity` is positive.
+     *
+     * Postconditions:
+     * - Every game of the batch is over until a state is loaded into it.
+     *
+     * @param capacity The number of games of a batch.
+     */
+    public BatchRollout(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.current = new int[capacity];
+        this.turns = new int[capacity];
+        this.completed = new int[capacity];
+        this.top = new int[PATHS * capacity];
+        this.boxes = new int[PATHS * GameSetup.PATH_LENGTH * capacity];
+        this.scores = new int[GameState.PLAYERS * capacity];
+        this.positions = new int[GameState.PLAYERS * PATHS * capacity];
+        this.freePawns = new int[GameState.PLAYERS * capacity];
+        this.theseusRank = new int[GameState.PLAYERS * capacity];
+        this.theseusPath = new int[GameState.PLAYERS * capacity];
+        this.destroys = new int[GameState.PLAYERS * capacity];
+        this.handSizes = new int[GameState.PLAYERS * capacity];
+        this.hands = new int[GameState.PLAYERS * HAND_CAPACITY * capacity];
+        this.deckSizes = new int[capacity];
+        this.decks = new int[GameState.MAX_CARDS * capacity];
+        this.active = new int[capacity];
+        this.legal = new int[HAND_CAPACITY];
+    }
+
+    /**
+     * Gets the number of games of a batch.
+     *
+     * @return The capacity of the engine.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Loads a state into one game of the batch.
+     *
+     * Preconditions:
+     * - `game` is between 0 and `getCapacity()` - 1.
+     * - `state` was captured from a game built by `GameSetup`, where path `p` is the path of palace `p`.
+     * - No hand holds more than 2 * `GameSetup.HAND_SIZE` cards.
+     *
+     * Postconditions:
+     * - The game matches `state`; the discard pile is left out, since it is never drawn from.
+     *
+     * @param game The index of the game.
+     * @param state The state to load.
+     */
+    public void load(int game, GameState state) {
+        if (game < 0 || game >= capacity) {
+            throw new IllegalArgumentException("Invalid game index: " + game);
+        }
+        current[game] = state.getCurrentPlayer();
+        turns[game] = state.getTurns();
+        completed[game] = 0;
+        for (int p = 0; p < PATHS; p++) {
+            int kind = state.getTopCard(p);
+            top[p * capacity + game] = kind < 0 ? -1 : kind % GameState.KINDS_PER_PALACE;
+            if (state.isPathCompleted(p)) {
+                completed[game] |= 1 << p;
+            }
+            for (int i = 0; i < GameSetup.PATH_LENGTH; i++) {
+                int id = state.getFinding(p, i);
+                boxes[(p * GameSetup.PATH_LENGTH + i) * capacity + game] = id < 0 ? 0 : FINDING_VALUES[id] + 1;
+            }
+        }
+        for (int player = 0; player < GameState.PLAYERS; player++) {
+            loadPlayer(game, state, player);
+        }
+        int deck = state.getDeckSize();
+        deckSizes[game] = deck;
+        for (int i = 0; i < deck; i++) {
+            decks[i * capacity + game] = state.getDeckCard(i);
+        }
+    }
+
+    /**
+     * Loads the score, the hand and the pawns of a player.
+     *
+     * @param game The index of the game.
+     * @param state The state to load.
+     * @param player The index of the player.
+     */
+    private void loadPlayer(int game, GameState state, int player) {
+        int at = player * capacity + game;
+        scores[at] = state.getScore(player);
+        int size = 0;
+        for (int kind = 0; kind < GameState.CARD_KINDS; kind++) {
+            for (int n = state.getHandCount(player, kind); n > 0; n--) {
+                if (size == HAND_CAPACITY) {
+                    throw new IllegalArgumentException("A hand holds more than " + HAND_CAPACITY + " cards.");
+                }
+                hands[(player * HAND_CAPACITY + size++) * capacity + game] = kind;
+            }
+        }
+        handSizes[at] = size;
+
+        for (int p = 0; p < PATHS; p++) {
+            positions[(player * PATHS + p) * capacity + game] = -1;
+        }
+        // pawns are deployed in the order of the player's list, so only the rank of Theseus matters
+        int free = 0;
+        theseusRank[at] = -1;
+        theseusPath[at] = -1;
+        destroys[at] = 0;
+        for (int pawn = 0; pawn < GameState.PAWNS; pawn++) {
+            int path = state.getPawnPath(player, pawn);
+            boolean theseus = state.isTheseus(player, pawn);
+            if (theseus) {
+                destroys[at] = state.getRemainingDestroys(player, pawn);
+            }
+            if (path >= 0) {
+                positions[(player * PATHS + path) * capacity + game] = state.getPawnPosition(player, pawn);
+                if (theseus) {
+                    theseusPath[at] = path;
+                }
+            } else {
+                if (theseus) {
+                    theseusRank[at] = free;
+                }
+                free++;
+            }
+        }
+        freePawns[at] = free;
+    }
+
+    /**
+     * Loads the same state into every game of the batch.
+     *
+     * Preconditions:
+     * - Same as `load`.
+     *
+     * Postconditions:
+     * - Every game of the batch matches `state`.
+     *
+     * @param state The state to load.
+     */
+    public void fill(GameState state) {
+        load(0, state);
+        // the other games are copies of the first, field by field
+        for (int[] field : new int[][] {current, turns, completed, deckSizes}) {
+            copyFirst(field, 1);
+        }
+        for (int[] field : new int[][] {top, boxes, scores, positions, freePawns, theseusRank, theseusPath,
+                destroys, handSizes, hands}) {
+            copyFirst(field, field.length / capacity);
+        }
+        copyFirst(decks, deckSizes[0]);
+    }
+
+    /**
+     * Copies the entry of game 0 of every row of a field to the other games.
+     *
+     * @param field The field to copy.
+     * @param rows The number of rows of the field to copy.
+     */
+    private void copyFirst(int[] field, int rows) {
+        for (int row = 0; row < rows; row++) {
+            int base = row * capacity;
+            int value = field[base];
+            for (int game = 1; game < capacity; game++) {
+                field[base + game] = value;
+            }
+        }
+    }
+
+    /**
+     * Plays every game of the batch to its end with random moves, one turn of every
+     * live game per round.
+     *
+     * Preconditions:
+     * - `random` is not null.
+     *
+     * Postconditions:
+     * - Every game of the batch is over.
+     * - Returns the number of turns played.
+     *
+     * @param random The generator used to pick the moves.
+     * @return The number of turns played over the batch.
+     */
+    public long run(SplittableRandom random) {
+        int live = 0;
+        for (int game = 0; game < capacity; game++) {
+            if (!isGameOver(game)) {
+                active[live++] = game;
+            }
+        }
+        long played = 0;
+        while (live > 0) {
+            int next = 0;
+            for (int i = 0; i < live; i++) {
+                int game = active[i];
+                playTurn(game, random);
+                if (!isGameOver(game)) {
+                    active[next++] = game;
+                }
+            }
+            played += live;
+            live = next;
+        }
+        return played;
+    }
+
+    /**
+     * Plays a random card of the player to move, or discards a random card if none
+     * is playable, then draws a card and passes the turn.
+     *
+     * @param game The index of the game.
+     * @param random The generator used to pick the move.
+     */
+    private void playTurn(int game, SplittableRandom random) {
+        int player = current[game];
+        int at = player * capacity + game;
+        int handBase = player * HAND_CAPACITY * capacity + game;
+        int size = handSizes[at];
+
+        int count = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (isPlayable(game, player, hands[handBase + slot * capacity])) {
+                legal[count++] = slot;
+            }
+        }
+        int slot = count > 0 ? legal[random.nextInt(count)] : random.nextInt(size);
+        endTurn(game, player, slot, count > 0);
+    }
+
+    /**
+     * Plays a given move in one game of the batch, to check the engine against `SearchGame`.
+     *
+     * Preconditions:
+     * - The game is not over.
+     * - `move` is one of the moves `SearchGame.legalMoves` lists for the game.
+     *
+     * Postconditions:
+     * - The card is played or discarded, a card is drawn and the turn passes.
+     *
+     * @param game The index of the game.
+     * @param move The move, as encoded by `SearchGame`.
+     * @throws IllegalArgumentException if the card of the move is not in the hand.
+     */
+    void playMove(int game, int move) {
+        int player = current[game];
+        int handBase = player * HAND_CAPACITY * capacity + game;
+        int size = handSizes[player * capacity + game];
+        for (int slot = 0; slot < size; slot++) {
+            if (hands[handBase + slot * capacity] == move >>> 3) {
+                endTurn(game, player, slot, (move & 7) != SearchGame.DISCARD);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("The card of move " + move + " is not in the hand.");
+    }
+
+    /**
+     * Plays or discards a card of the hand, then draws a card and passes the turn.
+     *
+     * @param game The index of the game.
+     * @param player The index of the player to move.
+     * @param slot The hand slot of the card.
+     * @param play True to play the card, false to discard it.
+     */
+    private void endTurn(int game, int player, int slot, boolean play) {
+        int at = player * capacity + game;
+        int handBase = player * HAND_CAPACITY * capacity + game;
+        int size = handSizes[at];
+        int kind = hands[handBase + slot * capacity];
+        hands[handBase + slot * capacity] = hands[handBase + (size - 1) * capacity];
+        size--;
+        if (play) {
+            playCard(game, player, kind);
+        }
+
+        int deck = deckSizes[game];
+        if (deck > 0) {
+            hands[handBase + size * capacity] = decks[--deck * capacity + game];
+            size++;
+            deckSizes[game] = deck;
+        }
+        handSizes[at] = size;
+        current[game] = 1 - player;
+        turns[game]++;
+    }
+
+    /**
+     * Checks if a card can be played on the path of its palace.
+     *
+     * @param game The index of the game.
+     * @param player The index of the player.
+     * @param kind The kind of the card.
+     * @return True if the card is playable.
+     */
+    private boolean isPlayable(int game, int player, int kind) {
+        int path = kind / GameState.KINDS_PER_PALACE;
+        int type = kind - path * GameState.KINDS_PER_PALACE;
+        if ((PLAYABLE[top[path * capacity + game] + 1] >>> type & 1) == 0) {
+            return false;
+        }
+        // a Minotaur needs no pawn, other cards need a pawn on the path or a free one
+        return type == MINOTAUR || freePawns[player * capacity + game] > 0
+                || positions[(player * PATHS + path) * capacity + game] >= 0;
+    }
+
+    /**
+     * Plays a playable card on the path of its palace.
+     *
+     * @param game The index of the game.
+     * @param player The index of the player.
+     * @param kind The kind of the card.
+     */
+    private void playCard(int game, int player, int kind) {
+        int path = kind / GameState.KINDS_PER_PALACE;
+        int type = kind - path * GameState.KINDS_PER_PALACE;
+        if (type == MINOTAUR) {
+            int opponent = 1 - player;
+            int at = (opponent * PATHS + path) * capacity + game;
+            int position = positions[at];
+            if (position > 0 && !Path.isPastCheckpoint(position) && theseusPath[opponent * capacity + game] != path) {
+                positions[at] = Math.max(position - DAMAGE, 0);
+            }
+            return;
+        }
+
+        int at = player * capacity + game;
+        int pawn = (player * PATHS + path) * capacity + game;
+        boolean theseus;
+        if (positions[pawn] < 0) {
+            // deploy the next free pawn at the start of the path
+            positions[pawn] = 0;
+            freePawns[at]--;
+            theseus = theseusRank[at] == 0;
+            if (theseus) {
+                theseusPath[at] = path;
+            }
+            if (theseusRank[at] >= 0) {
+                theseusRank[at]--;
+            }
+        } else {
+            theseus = theseusPath[at] == path;
+        }
+
+        int target = Math.min(positions[pawn] + (type == ARIADNE ? ARIADNE_STEPS : type + 1), LAST);
+        positions[pawn] = target;
+        int box = (path * GameSetup.PATH_LENGTH + target) * capacity + game;
+        if (boxes[box] != 0) {
+            // archaeologists take the finding, Theseus destroys the box
+            if (!theseus) {
+                scores[at] += boxes[box] - 1;
+                boxes[box] = 0;
+            } else if (destroys[at] > 0) {
+                destroys[at]--;
+                boxes[box] = 0;
+            }
+        }
+        if (target == LAST) {
+            completed[game] |= 1 << path;
+        }
+        top[path * capacity + game] = type;
+    }
+
+    /**
+     * Checks if a game of the batch is over.
+     *
+     * @param game The index of the game.
+     * @return True if every path is completed or the deck is empty.
+     */
+    public boolean isGameOver(int game) {
+        return completed[game] == ALL_COMPLETED || deckSizes[game] == 0;
+    }
+
+    /**
+     * Gets the number of turns of a game, including the turns of the loaded state.
+     *
+     * @param game The index of the game.
+     * @return The number of turns played.
+     */
+    public int getTurns(int game) {
+        return turns[game];
+    }
+
+    /**
+     * Gets the position of the pawn of a player on a path.
+     *
+     * @param game The index of the game.
+     * @param player The index of the player.
+     * @param path The index of the path.
+     * @return The position of the pawn, or -1 if the player has no pawn on the path.
+     */
+    int getPawnPosition(int game, int player, int path) {
+        return positions[(player * PATHS + path) * capacity + game];
+    }
+
+    /**
+     * Gets the final score of a player: collected findings plus the positions of the pawns.
+     *
+     * Preconditions:
+     * - `player` is 0 or 1.
+     *
+     * Postconditions:
+     * - Returns the same as `controller.totalScore` for the game.
+     *
+     * @param game The index of the game.
+     * @param player The index of the player.
+     * @return The total score of the player.
+     */
+    public int getTotalScore(int game, int player) {
+        int total = scores[player * capacity + game];
+        for (int p = 0; p < PATHS; p++) {
+            int position = positions[(player * PATHS + p) * capacity + game];
+            if (position >= 0) {
+                total += POSITION_SCORES[position];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the winner of a game, like `controller.getWinner`.
+     *
+     * @param game The index of the game.
+     * @return 1 if player 1 leads, 2 if player 2 leads, 0 on a draw.
+     */
+    public int getWinner(int game) {
+        int difference = getTotalScore(game, 0) - getTotalScore(game, 1);
+        return difference > 0 ? 1 : difference < 0 ? 2 : 0;
+    }
+
+    /**
+     * Builds the card types that can follow each top card, as masks indexed by the type + 1
+     * of the top card (0 when the path has no card).
+     *
+     * @return The masks of the playable types.
+     */
+    private static int[] playableTypes() {
+        int[] masks = new int[GameState.KINDS_PER_PALACE + 1];
+        for (int topType = -1; topType < GameState.KINDS_PER_PALACE; topType++) {
+            Card previous = topType < 0 ? null : GameState.card(topType);
+            for (int type = 0; type < GameState.KINDS_PER_PALACE; type++) {
+                if (GameState.card(type).isPlayable(previous)) {
+                    masks[topType + 1] |= 1 << type;
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Copies the scores of the positions of a standard path.
+     *
+     * @return The score of each position.
+     */
+    private static int[] positionScores() {
+        Path path = GameSetup.createPaths().get(0);
+        int[] scores = new int[path.getLength()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = path.getScore(i);
+        }
+        return scores;
+    }
+
+    /**
+     * Copies the values of the findings by id.
+     *
+     * @return The value of each finding.
+     */
+    private static int[] findingValues() {
+        int[] values = new int[Pieces.findingCount()];
+        for (int id = 0; id < values.length; id++) {
+            values[id] = Pieces.finding(id).getValue();
+        }
+        return values;
+    }
+
+    /**
+     * Compares the playouts per second of the batch engine with `SearchGame.rollout`,
+     * both starting from the same dealt position.
+     *
+     * @param args Optional number of playouts per engine (default 200000), batch size (default 256) and seed (default 0).
+     */
+    public static void main(String[] args) {
+        int playouts = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Board board = GameSetup.createBoard(random);
+        controller game = new controller(board, GameSetup.createPlayer("Player 1"), GameSetup.createPlayer("Player 2"),
+                random.split());
+        game.setupBoard();
+        game.dealHands();
+        game.randomStart();
+        GameState root = new GameState();
+        game.saveState(root);
+
+        SearchGame search = new SearchGame();
+        BatchRollout engine = new BatchRollout(batch);
+        for (int round = 0; round < 2; round++) {
+            // the first round warms up the JIT
+            long start = System.nanoTime();
+            int wins = 0;
+            for (int i = 0; i < playouts; i++) {
+                search.load(root);
+                search.rollout(random);
+                if (search.getController().getWinner() == 1) {
+                    wins++;
+                }
+            }
+            double objectSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            int batchWins = 0;
+            for (int done = 0; done < playouts; done += batch) {
+                engine.fill(root);
+                engine.run(random);
+                for (int i = 0; i < batch; i++) {
+                    if (engine.getWinner(i) == 1) {
+                        batchWins++;
+                    }
+                }
+            }
+            double batchSeconds = (System.nanoTime() - start) / 1e9;
+            int batchPlayouts = (playouts + batch - 1) / batch * batch;
+
+            if (round == 1) {
+                System.out.printf("object: %.0f playouts/s (player 1 wins %.1f%%)%n", playouts / objectSeconds,
+                        100.0 * wins / playouts);
+                System.out.printf("batch of %d: %.0f playouts/s (player 1 wins %.1f%%)%n", batch,
+                        batchPlayouts / batchSeconds, 100.0 * batchWins / batchPlayouts);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,229 @@
+package Controller;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Hash table of moves kept in a memory-mapped file, the storage of `OpeningBook`
+ * and `EndgameTablebase`. Opening a table maps the file instead of reading it, so
+ * the pages are loaded on demand and shared by every process using the same file.
+ *
+ * Layout of the file (little-endian longs whatever the platform, so that a file can be
+ * copied between machines):
+ * - header: magic, version, number of entries (a power of 2), parameter of the table,
+ *   number of used entries.
+ * - entries: key, then data (bit 63 set when used, bits 0-15 the move, bits 16-47 the value).
+ *
+ * Entries are found by linear probing over at most `PROBES` slots. Reading is
+ * thread-safe; writing is done by a single thread while the table is built.
+ */
+final class BookFile implements AutoCloseable {
+    private static final int VERSION = 1;
+    private static final int HEADER_WORDS = 5;
+    private static final int PROBES = 8;
+    private static final long USED = 1L << 63;
+    private static final int MAX_ENTRIES = 1 << 27;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final LongBuffer words;
+    private final int mask;
+    private final int parameter;
+    private final boolean writable;
+    private int count;
+
+    private BookFile(FileChannel channel, MappedByteBuffer mapped, boolean writable) {
+        this.channel = channel;
+        this.mapped = mapped;
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        this.words = mapped.asLongBuffer();
+        this.writable = writable;
+        this.mask = (int) words.get(2) - 1;
+        this.parameter = (int) words.get(3);
+        this.count = (int) words.get(4);
+    }
+
+    /**
+     * Creates an empty table, replacing the file if it exists.
+     *
+     * Preconditions:
+     * - `entries` is between 1 and 2^27.
+     *
+     * Postconditions:
+     * - The table can hold `entries` entries, rounded up to a power of 2.
+     *
+     * @param file The path of the file.
+     * @param magic The magic number of the kind of table.
+     * @param entries The number of entries.
+     * @param parameter A parameter of the table kept in the header.
+     * @return The writable table.
+     * @throws IOException if the file cannot be created.
+     */
+    static BookFile create(String file, long magic, int entries, int parameter) throws IOException {
+        if (entries <= 0 || entries > MAX_ENTRIES) {
+            throw new IllegalArgumentException("Invalid number of entries.");
+        }
+        int capacity = entries == 1 ? 1 : Integer.highestOneBit(entries - 1) << 1;
+        FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                ((long) capacity * 2 + HEADER_WORDS) * Long.BYTES);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        LongBuffer header = mapped.asLongBuffer();
+        header.put(0, magic);
+        header.put(1, VERSION);
+        header.put(2, capacity);
+        header.put(3, parameter);
+        header.put(4, 0);
+        return new BookFile(channel, mapped, true);
+    }
+
+    /**
+     * Opens an existing table for reading.
+     *
+     * Preconditions:
+     * - `file` was written by `create` with the same magic number.
+     *
+     * Postconditions:
+     * - The file is mapped read-only.
+     *
+     * @param file The path of the file.
+     * @param magic The magic number of the kind of table.
+     * @return The read-only table.
+     * @throws IOException if the file cannot be read or is not a table of this kind.
+     */
+    static BookFile open(String file, long magic) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        long bytes = channel.size();
+        if (bytes < HEADER_WORDS * Long.BYTES) {
+            channel.close();
+            throw new IOException("Not a move table: " + file);
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        LongBuffer header = mapped.asLongBuffer();
+        if (header.get(0) != magic) {
+            channel.close();
+            throw new IOException("Not a move table of this kind: " + file);
+        }
+        long capacity = header.get(2);
+        if (header.get(1) != VERSION || capacity <= 0 || capacity > MAX_ENTRIES || Long.bitCount(capacity) != 1
+                || bytes < (capacity * 2 + HEADER_WORDS) * Long.BYTES) {
+            channel.close();
+            throw new IOException("Unsupported move table version " + header.get(1) + ".");
+        }
+        return new BookFile(channel, mapped, false);
+    }
+
+    /**
+     * Gets the parameter of the table kept in the header.
+     *
+     * @return The parameter given to `create`.
+     */
+    int getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Gets the number of used entries.
+     *
+     * @return The number of entries stored.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @param key The key.
+     * @return The data of the entry, or 0 if the key is not in the table.
+     */
+    long get(long key) {
+        int slot = slot(key);
+        for (int i = 0; i < PROBES; i++) {
+            int at = HEADER_WORDS + 2 * (slot + i & mask);
+            long data = words.get(at + 1);
+            if (data == 0) {
+                return 0;
+            }
+            if (words.get(at) == key) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the move and the value of a key, replacing the entry of the same key.
+     *
+     * Preconditions:
+     * - The table was created, not opened.
+     * - `move` is between 0 and 65535.
+     *
+     * Postconditions:
+     * - Returns false, and changes nothing, if the slots of the key are all used by other keys.
+     *
+     * @param key The key.
+     * @param move The move.
+     * @param value The value of the move.
+     * @return True if the entry was stored.
+     */
+    boolean put(long key, int move, int value) {
+        if (!writable) {
+            throw new IllegalStateException("The move table is read-only.");
+        }
+        int slot = slot(key);
+        for (int i = 0; i < PROBES; i++) {
+            int at = HEADER_WORDS + 2 * (slot + i & mask);
+            long data = words.get(at + 1);
+            if (data == 0 || words.get(at) == key) {
+                if (data == 0) {
+                    count++;
+                }
+                words.put(at, key);
+                words.put(at + 1, USED | (value & 0xFFFFFFFFL) << 16 | move & 0xFFFF);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the move of an entry.
+     *
+     * @param data The data returned by `get`.
+     * @return The move.
+     */
+    static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    /**
+     * Gets the value of an entry.
+     *
+     * @param data The data returned by `get`.
+     * @return The value.
+     */
+    static int value(long data) {
+        return (int) (data >>> 16);
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ key >>> 32) & mask;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writable) {
+            words.put(4, count);
+            mapped.force();
+        }
+        channel.close();
+    }
+}
\ No newline at end of file
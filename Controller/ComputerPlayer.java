@@ -0,0 +1,41 @@
+package Controller;
+
+import Model.*;
+
+import java.util.List;
+
+/**
+ * A player whose moves are chosen by the program.
+ */
+public abstract class ComputerPlayer extends Player {
+
+    /**
+     * Creates a new computer player.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     * - `pawns` is not null and contains valid Pawn objects.
+     *
+     * Postconditions:
+     * - The player is initialized like any other player.
+     *
+     * @param name The name of the player.
+     * @param pawns The list of pawns assigned to the player.
+     */
+    public ComputerPlayer(String name, List<Pawn> pawns) {
+        super(name, pawns);
+    }
+
+    /**
+     * Chooses and plays a move of this player.
+     *
+     * Preconditions:
+     * - It is this player's turn in `game`.
+     *
+     * Postconditions:
+     * - A move has been played through the headless API and the turn has passed.
+     *
+     * @param game The game to play on.
+     */
+    public abstract void playTurn(controller game);
+}
\ No newline at end of file
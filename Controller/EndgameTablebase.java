@@ -0,0 +1,293 @@
+package Controller;
+
+import Model.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Solved endgames, looked up before searching.
+ *
+ * Every turn draws a card and the game ends when the deck is empty, so a position with
+ * `d` cards left in the deck ends within `d` turns. With both hands and the deck known,
+ * those positions are solved exactly: the values are computed backwards from the final
+ * scores, every position of the tree storing the best score difference the player to
+ * move can reach and the move that reaches it. Positions are keyed by
+ * `GameState.positionKey`, so transpositions are solved once.
+ *
+ * The tablebase is stored in a memory-mapped file (see `BookFile`). Positions that no
+ * longer fit in the file are kept in a `TranspositionTable` while the tablebase is built,
+ * so a full file does not make the solver search them again. Like `MCTSPlayer`, it sees
+ * the opponent's hand and the order of the deck.
+ */
+public final class EndgameTablebase implements AutoCloseable {
+    public static final int DEFAULT_MAX_DECK = 4;
+
+    private static final long MAGIC = 0x4B4E454E44544231L; // "KNENDTB1"
+    private static final int MAX_MOVES = 64;
+    private static final int CACHE_MEGABYTES = 16;
+
+    private final BookFile file;
+    private final TranspositionTable overflow; // null when opened for reading
+
+    private EndgameTablebase(BookFile file, TranspositionTable overflow) {
+        this.file = file;
+        this.overflow = overflow;
+    }
+
+    /**
+     * Creates an empty tablebase, replacing the file if it exists.
+     *
+     * Preconditions:
+     * - `entries` is between 1 and 2^27.
+     * - `maxDeck` is between 1 and 8.
+     *
+     * Postconditions:
+     * - The tablebase holds no positions and only answers when at most `maxDeck` cards are left.
+     *
+     * @param file The path of the tablebase.
+     * @param entries The number of positions the tablebase can hold.
+     * @param maxDeck The largest deck of the positions solved.
+     * @return The writable tablebase.
+     * @throws IOException if the file cannot be created.
+     */
+    public static EndgameTablebase create(String file, int entries, int maxDeck) throws IOException {
+        if (maxDeck <= 0 || maxDeck > 8) {
+            throw new IllegalArgumentException("maxDeck must be between 1 and 8.");
+        }
+        return new EndgameTablebase(BookFile.create(file, MAGIC, entries, maxDeck),
+                new TranspositionTable(CACHE_MEGABYTES));
+    }
+
+    /**
+     * Opens a tablebase for reading.
+     *
+     * Preconditions:
+     * - `file` was written by `create`.
+     *
+     * Postconditions:
+     * - The tablebase can be probed from any thread.
+     *
+     * @param file The path of the tablebase.
+     * @return The tablebase.
+     * @throws IOException if the file cannot be read or is not a tablebase.
+     */
+    public static EndgameTablebase open(String file) throws IOException {
+        return new EndgameTablebase(BookFile.open(file, MAGIC), null);
+    }
+
+    /**
+     * Gets the largest deck of the positions solved.
+     *
+     * @return The number of cards left in the deck up to which positions are solved.
+     */
+    public int getMaxDeck() {
+        return file.getParameter();
+    }
+
+    /**
+     * Gets the number of positions in the tablebase.
+     *
+     * @return The number of entries stored.
+     */
+    public int getSize() {
+        return file.size();
+    }
+
+    /**
+     * Looks up the best move of a position.
+     *
+     * Preconditions:
+     * - `state` is not null.
+     *
+     * Postconditions:
+     * - Returns -1 if the deck is larger than `getMaxDeck()` or the position is not solved.
+     *
+     * @param state The position.
+     * @return The move (as encoded by `SearchGame`), or -1.
+     */
+    public int probe(GameState state) {
+        if (state.getDeckSize() > getMaxDeck()) {
+            return -1;
+        }
+        long data = file.get(state.positionKey());
+        return data == 0 ? -1 : BookFile.move(data);
+    }
+
+    /**
+     * Solves a position and stores it with every position that follows it.
+     *
+     * Preconditions:
+     * - The tablebase was created, not opened.
+     * - `state` is not over and has at most `getMaxDeck()` cards in the deck.
+     *
+     * Postconditions:
+     * - Returns the best final score difference (own total minus the opponent's) the
+     *   player to move can force.
+     * - The positions are stored as far as there is room.
+     *
+     * @param state The position to solve.
+     * @return The value of the position for the player to move.
+     */
+    public int solve(GameState state) {
+        if (overflow == null) {
+            throw new IllegalStateException("The tablebase is read-only.");
+        }
+        if (state.getDeckSize() > getMaxDeck()) {
+            throw new IllegalArgumentException("The deck has more than " + getMaxDeck() + " cards.");
+        }
+        SearchGame game = new SearchGame();
+        game.load(state);
+        return solve(game, new GameState(), new int[getMaxDeck() + 1][MAX_MOVES], 0);
+    }
+
+    /**
+     * Computes the value of the position of a game by trying every move, stores it and
+     * takes the moves back.
+     *
+     * @param game The game, left as it was.
+     * @param scratch A state to compute the keys in.
+     * @param moves One move buffer per depth.
+     * @param depth The number of moves made since the root.
+     * @return The value of the position for the player to move.
+     */
+    private int solve(SearchGame game, GameState scratch, int[][] moves, int depth) {
+        controller rules = game.getController();
+        if (game.isGameOver()) {
+            return rules.totalScore(rules.getCurrentPlayer()) - rules.totalScore(rules.getOpponent());
+        }
+        rules.saveState(scratch);
+        long key = scratch.positionKey();
+        int deck = scratch.getDeckSize(); // scratch is reused by the moves below
+        long data = file.get(key);
+        if (data != 0) {
+            return BookFile.value(data);
+        }
+        long cached = overflow.probe(key);
+        if (cached != TranspositionTable.MISS) {
+            return TranspositionTable.value(cached);
+        }
+
+        int[] buffer = moves[depth];
+        int count = moves(game, buffer);
+        int best = Integer.MIN_VALUE;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            if (!game.make(buffer[i])) {
+                continue;
+            }
+            int value = -solve(game, scratch, moves, depth + 1);
+            game.unmake();
+            if (value > best) {
+                best = value;
+                bestMove = buffer[i];
+            }
+        }
+        if (bestMove < 0) {
+            // no move can be played: the position is scored as it stands
+            return rules.totalScore(rules.getCurrentPlayer()) - rules.totalScore(rules.getOpponent());
+        }
+        if (!file.put(key, bestMove, best)) {
+            // the deck size ranks the entries: larger decks have larger trees to search again
+            overflow.store(key, best, bestMove, deck, TranspositionTable.EXACT);
+        }
+        return best;
+    }
+
+    /**
+     * Writes every move of the current player into a buffer: the cards that can be played,
+     * as listed by `SearchGame.legalMoves`, and a discard of every kind of card in the hand.
+     * `legalMoves` only lists discards when no card can be played, but when every card
+     * that can be played costs points, discarding one is the better move.
+     *
+     * @param game The game.
+     * @param buffer The buffer to write the moves to.
+     * @return The number of moves.
+     */
+    private static int moves(SearchGame game, int[] buffer) {
+        int count = game.legalMoves(buffer);
+        if (count > 0 && (buffer[0] & 7) == SearchGame.DISCARD) {
+            return count;
+        }
+        long seen = 0L;
+        for (Card card : game.getController().getCurrentPlayer().getCards()) {
+            int kind = GameState.cardKind(card);
+            if ((seen & 1L << kind) == 0) {
+                seen |= 1L << kind;
+                buffer[count++] = kind * 8 + SearchGame.DISCARD;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Solves the endgames reached by random play from the deals of a tournament.
+     *
+     * Preconditions:
+     * - The tablebase was created, not opened.
+     *
+     * Postconditions:
+     * - For each game, the first position with at most `getMaxDeck()` cards in the deck is solved.
+     *
+     * @param seed The seed of the tournament.
+     * @param games The number of games.
+     * @return The number of endgames solved.
+     */
+    public int fill(long seed, long games) {
+        GameState state = new GameState();
+        MoveGenerator generator = new MoveGenerator();
+        int solved = 0;
+        for (long index = 0; index < games; index++) {
+            // a deal of a tournament, played at random until its endgame
+            SplittableRandom random = new SplittableRandom(Tournament.gameSeed(seed, index));
+            random.nextLong(); // the seeds of the players
+            random.nextLong();
+            controller game = Tournament.deal(random, GameSetup.createPlayer("Player 1"),
+                    GameSetup.createPlayer("Player 2"));
+            while (!game.isGameOver()) {
+                if (game.getBoard().getDeck().getRemainingCards() <= getMaxDeck()) {
+                    game.saveState(state);
+                    solve(state);
+                    solved++;
+                    break;
+                }
+                int legal = generator.generate(game.getCurrentPlayer(), game.getBoard());
+                if (legal > 0) {
+                    int move = generator.getMoves()[random.nextInt(legal)];
+                    game.playMove(MoveGenerator.cardIndex(move), MoveGenerator.pathIndex(move));
+                } else {
+                    game.discardMove(random.nextInt(game.getCurrentPlayer().getCards().size()));
+                }
+            }
+        }
+        return solved;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Builds a tablebase.
+     *
+     * @param args The file of the tablebase, then optionally the number of games (default 10000),
+     *             the seed (default 0) and the largest deck solved (default 4).
+     * @throws IOException if the tablebase cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: EndgameTablebase <file> [games] [seed] [maxDeck]");
+            return;
+        }
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 10000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+        int maxDeck = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_DECK;
+        long start = System.nanoTime();
+        try (EndgameTablebase tablebase = create(args[0], (int) Math.min(games * 512, 1 << 27), maxDeck)) {
+            int solved = tablebase.fill(seed, games);
+            System.out.printf("%d endgames, %d positions in %.2f s%n", solved, tablebase.getSize(),
+                    (System.nanoTime() - start) / 1e9);
+        }
+    }
+}
\ No newline at end of file
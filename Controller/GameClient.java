@@ -0,0 +1,198 @@
+package Controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Load test client of the `GameServer`. It opens a few connections, creates many
+ * sessions on each of them and plays random legal moves on all sessions in turn,
+ * measuring the round trip time of every command.
+ */
+public class GameClient implements AutoCloseable {
+    private static final int BUCKET_MICROS = 10;
+    private static final int BUCKETS = 10000; // up to 100 ms
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final Writer out;
+    private final AtomicLongArray latencies;
+
+    /**
+     * Connects to a local server.
+     *
+     * Preconditions:
+     * - A server listens on `port`.
+     *
+     * Postconditions:
+     * - The round trip times are added to `latencies`, in buckets of 10 microseconds.
+     *
+     * @param port The port of the server.
+     * @param latencies The shared latency histogram.
+     * @throws IOException if the connection fails.
+     */
+    public GameClient(int port, AtomicLongArray latencies) throws IOException {
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        this.socket.setTcpNoDelay(true);
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        this.latencies = latencies;
+    }
+
+    /**
+     * Sends a command and waits for its answer.
+     *
+     * Preconditions:
+     * - No other command of this client is waiting for an answer.
+     *
+     * Postconditions:
+     * - The round trip time is recorded.
+     *
+     * @param command The command, without the line terminator.
+     * @return The answer of the server.
+     * @throws IOException if the connection fails.
+     */
+    public String send(String command) throws IOException {
+        long start = System.nanoTime();
+        out.write(command);
+        out.write('\n');
+        out.flush();
+        String answer = in.readLine();
+        if (answer == null) {
+            throw new IOException("Connection closed by the server.");
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+        latencies.incrementAndGet((int) Math.min(BUCKETS - 1, micros / BUCKET_MICROS));
+        return answer;
+    }
+
+    /**
+     * Creates `count` sessions and plays them to the end, one move per session in turn.
+     *
+     * Preconditions:
+     * - `count` is greater than 0.
+     *
+     * Postconditions:
+     * - All sessions are finished and closed.
+     *
+     * @param count The number of sessions of this connection.
+     * @param seed The seed of the random moves.
+     * @return The number of moves played.
+     * @throws IOException if the connection fails or the server refuses a command.
+     */
+    public long playSessions(int count, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = Long.parseLong(expect(send("NEW"))[1]);
+        }
+        long moves = 0;
+        int active = count;
+        while (active > 0) {
+            for (int i = 0; i < active; i++) {
+                String[] legal = expect(send("MOVES " + ids[i]));
+                String[] answer;
+                if (legal.length > 2) {
+                    String[] move = legal[2 + random.nextInt(legal.length - 2)].split(":");
+                    answer = expect(send("PLAY " + ids[i] + " " + move[0] + " " + move[1]));
+                } else {
+                    answer = expect(send("DISCARD " + ids[i] + " " + random.nextInt(8)));
+                }
+                moves++;
+                if (answer.length > 3 && answer[3].equals("OVER")) {
+                    expect(send("QUIT " + ids[i]));
+                    ids[i--] = ids[--active];
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static String[] expect(String answer) throws IOException {
+        if (!answer.startsWith("OK")) {
+            throw new IOException("Server answered: " + answer);
+        }
+        return answer.split(" ");
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    /**
+     * Starts a server in this JVM, plays many concurrent sessions against it and
+     * reports the throughput, the latency percentiles and the memory of the server.
+     *
+     * @param args Sessions (default 10000), connections (default 64),
+     *             maximum games in memory (default 2000), true to use virtual threads.
+     * @throws Exception if the server cannot start or a client fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int maxResident = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        boolean virtual = args.length > 3 && Boolean.parseBoolean(args[3]);
+        int loops = Runtime.getRuntime().availableProcessors();
+
+        try (GameServer server = new GameServer(0, loops, sessions, maxResident, "sessions.store", virtual)) {
+            Thread acceptor = new Thread(server::serve);
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+            long[] moves = new long[connections];
+            Thread[] clients = new Thread[connections];
+            long start = System.nanoTime();
+            for (int c = 0; c < connections; c++) {
+                int index = c;
+                int count = sessions / connections + (c < sessions % connections ? 1 : 0);
+                clients[c] = new Thread(() -> {
+                    try (GameClient client = new GameClient(server.getPort(), latencies)) {
+                        moves[index] = client.playSessions(count, index);
+                    } catch (IOException e) {
+                        System.err.println("Client " + index + " failed: " + e.getMessage());
+                    }
+                });
+                clients[c].start();
+            }
+            for (Thread client : clients) {
+                client.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            try (GameClient client = new GameClient(server.getPort(), new AtomicLongArray(BUCKETS))) {
+                System.out.println("Server stats (sessions, resident, paged out, heap): " + client.send("STATS"));
+            }
+            long total = Arrays.stream(moves).sum();
+            System.out.printf("%d sessions, %d moves in %.2f s (%.0f moves/s)%n", sessions, total, seconds, total / seconds);
+            System.out.printf("Round trip p50 %d us, p99 %d us, p99.9 %d us%n", percentile(latencies, 0.5),
+                    percentile(latencies, 0.99), percentile(latencies, 0.999));
+        }
+    }
+
+    private static long percentile(AtomicLongArray latencies, double fraction) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += latencies.get(i);
+        }
+        long rank = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += latencies.get(i);
+            if (seen >= rank) {
+                return (long) (i + 1) * BUCKET_MICROS;
+            }
+        }
+        return (long) BUCKETS * BUCKET_MICROS;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,431 @@
+package Controller;
+
+import Metrics.Exporter;
+import Metrics.Meters;
+import Model.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many games in one JVM. Every session is a headless `controller` where the
+ * client plays the first player against a computer player.
+ *
+ * Clients talk to the server over a local TCP socket with one text command per line;
+ * a connection can drive any number of sessions:
+ * - `NEW` answers `OK <id>`.
+ * - `MOVES <id>` answers `OK <id>` followed by the legal moves as `card:path`.
+ * - `PLAY <id> <card> <path>` and `DISCARD <id> <card>` answer `OK <id> <turns>`,
+ *   followed by `OVER <winner>` when the game has ended (1 = client, 2 = computer, 0 = draw).
+ * - `STATE <id>` answers `OK <id> <client score> <computer score> <turns> <card kinds>`.
+ * - `QUIT <id>` ends the session.
+ * - `STATS` answers `OK <sessions> <resident> <paged out> <used heap bytes>`.
+ * Errors are answered with `ERR <id> <reason>` or `ERR <reason>`.
+ *
+ * Each session is pinned to one of a few event loops (single threads), so its turns
+ * are played in order without locks. Every loop keeps at most a fixed number of
+ * games in memory; the least recently used ones are paged out to a `GameStore`
+ * and restored when their client comes back, which bounds the memory of the server.
+ */
+public class GameServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService[] loops;
+    private final List<Map<Long, Session>> resident; // per loop, in access order
+    private final ConcurrentHashMap<Long, Session> sessions;
+    private final GameStore store;
+    private final ConcurrentLinkedQueue<Integer> freeSlots;
+    private final AtomicInteger nextSlot;
+    private final AtomicLong nextId;
+    private final AtomicInteger pagedOut;
+    private final int maxSessions;
+    private final int residentPerLoop;
+    private final ThreadFactory connectionThreads;
+    private volatile boolean running;
+
+    /**
+     * A game hosted by the server. Only the event loop of the session touches it.
+     */
+    private static final class Session {
+        final long id;
+        final int slot;
+        controller game; // null while paged out
+        Player client;
+        ComputerPlayer computer;
+
+        Session(long id, int slot) {
+            this.id = id;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Starts a server on a local port.
+     *
+     * Preconditions:
+     * - `maxSessions`, `maxResident` and `loops` are greater than 0.
+     *
+     * Postconditions:
+     * - The server accepts connections on the loopback address.
+     * - Sessions beyond `maxResident` in memory are paged out to `storeFile`.
+     * - `storeFile` is replaced by an empty store: the sessions of an earlier server are lost.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @param loops The number of event loops that play the turns.
+     * @param maxSessions The maximum number of sessions.
+     * @param maxResident The maximum number of games kept in memory.
+     * @param storeFile The file the idle games are paged out to. It must not exist, be empty
+     *                  or be a `GameStore`; any other file is left alone and the server does not start.
+     * @param virtualThreads True to serve each connection on a virtual thread (Java 21 or newer).
+     * @throws IOException if the socket or the store cannot be opened, or `storeFile` is not a store.
+     */
+    public GameServer(int port, int loops, int maxSessions, int maxResident, String storeFile, boolean virtualThreads)
+            throws IOException {
+        File file = new File(storeFile);
+        if (file.length() > 0) {
+            GameStore.open(storeFile).close(); // throws if the file is not a game store
+        }
+        Files.deleteIfExists(file.toPath());
+        this.store = new GameStore(storeFile, maxSessions);
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.loops = new ExecutorService[loops];
+        this.resident = new ArrayList<>(loops);
+        for (int i = 0; i < loops; i++) {
+            this.loops[i] = Executors.newSingleThreadExecutor();
+            this.resident.add(new LinkedHashMap<>(16, 0.75f, true));
+        }
+        this.sessions = new ConcurrentHashMap<>();
+        this.freeSlots = new ConcurrentLinkedQueue<>();
+        this.nextSlot = new AtomicInteger();
+        this.nextId = new AtomicLong(1);
+        this.pagedOut = new AtomicInteger();
+        this.maxSessions = maxSessions;
+        this.residentPerLoop = Math.max(1, maxResident / loops);
+        this.connectionThreads = virtualThreads ? Threads.virtualThreadFactory() : Executors.defaultThreadFactory();
+        this.running = true;
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Every accepted connection is served on its own thread.
+     */
+    public void serve() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connectionThreads.newThread(() -> handle(socket)).start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Cannot accept connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the commands of a connection and dispatches them to the event loops.
+     *
+     * @param socket The connection.
+     */
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] words = line.trim().split(" ");
+                String command = words[0];
+                if (command.equals("NEW")) {
+                    create(out);
+                } else if (command.equals("STATS")) {
+                    reply(out, "OK " + sessions.size() + " " + (sessions.size() - pagedOut.get()) + " " + pagedOut.get()
+                            + " " + (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()));
+                } else if (words.length < 2) {
+                    reply(out, "ERR unknown command");
+                } else {
+                    long id;
+                    try {
+                        id = Long.parseLong(words[1]);
+                    } catch (NumberFormatException e) {
+                        reply(out, "ERR invalid session");
+                        continue;
+                    }
+                    Session session = sessions.get(id);
+                    if (session == null) {
+                        reply(out, "ERR " + id + " no such session");
+                    } else {
+                        loopOf(id).execute(() -> reply(out, execute(session, words)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // the client closed the connection
+        }
+    }
+
+    /**
+     * Creates a new session on its event loop.
+     */
+    private void create(Writer out) {
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            int next = nextSlot.getAndIncrement();
+            if (next >= maxSessions) {
+                nextSlot.decrementAndGet();
+                reply(out, "ERR server full");
+                return;
+            }
+            slot = next;
+        }
+        Session session = new Session(nextId.getAndIncrement(), slot);
+        sessions.put(session.id, session);
+        loopOf(session.id).execute(() -> {
+            try {
+                SplittableRandom random = new SplittableRandom(session.id);
+                build(session, random);
+                controller game = session.game;
+                game.setupBoard();
+                game.dealHands();
+                game.randomStart();
+                computerTurns(session);
+                touch(session); // a client that never comes back is paged out like the others
+                reply(out, "OK " + session.id);
+            } catch (RuntimeException e) {
+                remove(session);
+                reply(out, "ERR " + reason(e));
+            }
+        });
+    }
+
+    /**
+     * Runs a command of a session. Called on the event loop of the session.
+     * A failure of the game is answered as an error, so the client always gets a reply.
+     *
+     * @return The answer to the command.
+     */
+    private String execute(Session session, String[] words) {
+        if (!sessions.containsKey(session.id)) {
+            return "ERR " + session.id + " no such session";
+        }
+        try {
+            if (session.game == null) {
+                pageIn(session);
+            }
+            touch(session);
+            controller game = session.game;
+            switch (words[0]) {
+                case "MOVES": {
+                    MoveGenerator generator = new MoveGenerator();
+                    int count = game.isGameOver() || game.getCurrentPlayer() != session.client ? 0
+                            : generator.generate(session.client, game.getBoard());
+                    StringBuilder answer = new StringBuilder("OK ").append(session.id);
+                    for (int i = 0; i < count; i++) {
+                        int move = generator.getMoves()[i];
+                        answer.append(' ').append(MoveGenerator.cardIndex(move)).append(':')
+                                .append(MoveGenerator.pathIndex(move));
+                    }
+                    return answer.toString();
+                }
+                case "PLAY":
+                case "DISCARD": {
+                    if (game.isGameOver() || game.getCurrentPlayer() != session.client) {
+                        return "ERR " + session.id + " not your turn";
+                    }
+                    boolean played = words[0].equals("PLAY")
+                            ? game.playMove(Integer.parseInt(words[2]), Integer.parseInt(words[3]))
+                            : game.discardMove(Integer.parseInt(words[2]));
+                    if (!played) {
+                        return "ERR " + session.id + " illegal move";
+                    }
+                    computerTurns(session);
+                    return "OK " + session.id + " " + game.getTurnCount()
+                            + (game.isGameOver() ? " OVER " + game.getWinner() : "");
+                }
+                case "STATE": {
+                    StringBuilder answer = new StringBuilder("OK ").append(session.id).append(' ')
+                            .append(game.totalScore(session.client)).append(' ')
+                            .append(game.totalScore(session.computer)).append(' ').append(game.getTurnCount()).append(' ');
+                    for (int i = 0; i < session.client.getCards().size(); i++) {
+                        answer.append(i == 0 ? "" : ",").append(session.client.getCards().get(i).getKind());
+                    }
+                    return answer.toString();
+                }
+                case "QUIT":
+                    remove(session);
+                    return "OK " + session.id;
+                default:
+                    return "ERR " + session.id + " unknown command";
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return "ERR " + session.id + " invalid arguments";
+        } catch (RuntimeException e) {
+            return "ERR " + session.id + " " + reason(e);
+        }
+    }
+
+    /**
+     * Gets the reason of a failure for an error answer, on one line.
+     */
+    private static String reason(RuntimeException e) {
+        String message = e.getMessage();
+        return message == null ? e.getClass().getSimpleName() : message.replace('\r', ' ').replace('\n', ' ');
+    }
+
+    /**
+     * Plays the turns of the computer until it is the client's turn or the game is over.
+     */
+    private static void computerTurns(Session session) {
+        controller game = session.game;
+        while (!game.isGameOver() && game.getCurrentPlayer() == session.computer) {
+            session.computer.playTurn(game);
+        }
+    }
+
+    /**
+     * Creates the game objects of a session.
+     */
+    private static void build(Session session, SplittableRandom random) {
+        Board board = GameSetup.createBoard(random);
+        session.client = GameSetup.createPlayer("Client");
+        session.computer = new RandomPlayer("Computer", GameSetup.createPawns(), random.nextLong());
+        session.game = new controller(board, session.client, session.computer, random.split());
+    }
+
+    /**
+     * Marks a session as used and pages out the least recently used games of its loop.
+     */
+    private void touch(Session session) {
+        Map<Long, Session> games = resident.get(loopIndex(session.id));
+        games.put(session.id, session);
+        Iterator<Session> oldest = games.values().iterator();
+        while (games.size() > residentPerLoop) {
+            Session idle = oldest.next();
+            oldest.remove();
+            GameState state = new GameState();
+            idle.game.saveState(state);
+            store.save(idle.slot, state);
+            idle.game = null;
+            idle.client = null;
+            idle.computer = null;
+            pagedOut.incrementAndGet();
+        }
+    }
+
+    /**
+     * Restores a paged-out game.
+     */
+    private void pageIn(Session session) {
+        GameState state = new GameState();
+        store.load(session.slot, state);
+        build(session, new SplittableRandom(session.id ^ state.getTurns()));
+        session.game.loadState(state);
+        pagedOut.decrementAndGet();
+    }
+
+    private void remove(Session session) {
+        sessions.remove(session.id);
+        resident.get(loopIndex(session.id)).remove(session.id);
+        store.clear(session.slot);
+        freeSlots.add(session.slot);
+    }
+
+    private int loopIndex(long id) {
+        return (int) (id % loops.length);
+    }
+
+    private ExecutorService loopOf(long id) {
+        return loops[loopIndex(id)];
+    }
+
+    private static void reply(Writer out, String answer) {
+        synchronized (out) {
+            try {
+                out.write(answer);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // the client closed the connection
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and shuts the event loops down.
+     *
+     * @throws IOException if the socket or the store cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (ExecutorService loop : loops) {
+            loop.shutdown();
+        }
+        store.close();
+    }
+
+    /**
+     * Runs a server.
+     *
+     * @param args Port (default 7252), event loops (default: processors), maximum sessions
+     *             (default 20000), maximum games in memory (default 5000).
+     *             The idle games are paged out to a temporary file deleted on exit.
+     *             With -Dgame.metrics=true the meters are exported as set by
+     *             -Dgame.metrics.export (see `Meters.startExporter`).
+     * @throws IOException if the server cannot start.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7252;
+        int loops = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxSessions = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+        int maxResident = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+        File storeFile = File.createTempFile("sessions", ".store");
+        storeFile.deleteOnExit();
+        Exporter exporter = Meters.startExporter();
+        try (GameServer server = new GameServer(port, loops, maxSessions, maxResident, storeFile.getPath(), false)) {
+            System.out.println("Listening on port " + server.getPort());
+            server.serve();
+        } finally {
+            if (exporter != null) {
+                exporter.close();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,278 @@
+package Controller;
+
+import Metrics.Meters;
+import Model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Computer player that searches with Information Set Monte Carlo Tree Search
+ * (single observer), so that it only uses what it can see.
+ *
+ * Every iteration samples a determinization of the root: the opponent's hand and the
+ * deck are dealt from the unseen cards, the opponent's hidden Theseus is placed among
+ * their hidden pawns and the closed boxes are refilled (see `GameState.determinize`).
+ * The iteration then walks one tree whose nodes are the moves seen from the player's
+ * information set; a child is only a candidate when its move is legal in the current
+ * determinization, and its exploration term counts how often it was available rather
+ * than how often its parent was visited.
+ *
+ * All the workers walk the same tree. Children are pushed on a lock-free list with a
+ * compare-and-set and the statistics are atomic counters, so the workers never block
+ * each other; the visit count taken on the way down doubles as a virtual loss.
+ */
+public class ISMCTSPlayer extends SearchPlayer {
+    private static final double EXPLORATION = 0.35;
+
+    private int threads;
+
+    /**
+     * Creates a new ISMCTS player that thinks 100 ms per move on one thread.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     * - `pawns` is not null and contains valid Pawn objects.
+     *
+     * Postconditions:
+     * - The workers run on the common ForkJoinPool when more than one thread is used.
+     *
+     * @param name The name of the player.
+     * @param pawns The list of pawns assigned to the player.
+     */
+    public ISMCTSPlayer(String name, List<Pawn> pawns) {
+        this(name, pawns, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new ISMCTS player whose workers run on the given pool.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     * - `pawns` is not null and contains valid Pawn objects.
+     * - `pool` is not null.
+     *
+     * Postconditions:
+     * - The player thinks 100 ms per move on one thread.
+     *
+     * @param name The name of the player.
+     * @param pawns The list of pawns assigned to the player.
+     * @param pool The pool that runs the workers.
+     */
+    public ISMCTSPlayer(String name, List<Pawn> pawns, ForkJoinPool pool) {
+        super(name, pawns, pool);
+        this.threads = 1;
+    }
+
+    /**
+     * Sets the number of workers that search the shared tree.
+     *
+     * Preconditions:
+     * - `threads` is greater than 0.
+     *
+     * Postconditions:
+     * - The next searches run `threads` workers on the pool.
+     *
+     * @param threads The number of workers.
+     */
+    public void setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be greater than 0.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Searches the best move from a state, seen by the player whose turn it is.
+     * The hidden parts of `root` are never used: every iteration replaces them.
+     *
+     * Preconditions:
+     * - The game in `root` is not over.
+     *
+     * Postconditions:
+     * - Returns the move (as encoded by `SearchGame`) with the most visits.
+     * - `root` is not modified.
+     *
+     * @param root The state to search from.
+     * @return The chosen move.
+     * @throws IllegalStateException if the game is over, so there is no move to choose.
+     */
+    @Override
+    public int chooseMove(GameState root) {
+        long start = Meters.AI_SEARCH.start();
+        long deadline = deadline();
+        AtomicInteger remaining = new AtomicInteger(budget());
+        Node tree = new Node(-1, -1, null);
+        SplittableRandom seeds = new SplittableRandom(getSeed());
+
+        if (threads == 1) {
+            search(root, tree, deadline, remaining, seeds.split());
+        } else {
+            List<Callable<Node>> tasks = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = seeds.split();
+                tasks.add(() -> search(root, tree, deadline, remaining, random));
+            }
+            join(getPool().invokeAll(tasks));
+        }
+
+        Node best = null;
+        for (Node child = tree.children; child != null; child = child.next) {
+            if (best == null || child.visits.get() > best.visits.get()) {
+                best = child;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("The game is over.");
+        }
+        Meters.AI_SEARCH.stop(start);
+        return best.move;
+    }
+
+    /**
+     * Runs ISMCTS iterations on the shared tree until the time or iteration budget is spent.
+     *
+     * @param root The state at the root of the tree.
+     * @param tree The root node, shared with the other workers.
+     * @param deadline The System.nanoTime at which to stop.
+     * @param remaining The number of iterations left, shared with the other workers.
+     * @param random The generator of this worker.
+     * @return The root node.
+     */
+    private static Node search(GameState root, Node tree, long deadline, AtomicInteger remaining, SplittableRandom random) {
+        int viewer = root.getCurrentPlayer();
+        GameState sample = new GameState();
+        SearchGame game = new SearchGame();
+        int[] moves = new int[MAX_MOVES];
+        Node[] available = new Node[MAX_MOVES];
+
+        long done = 0;
+        while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+            done++;
+            sample.copyFrom(root);
+            sample.determinize(viewer, random);
+            game.load(sample);
+            Node node = tree;
+            node.visits.incrementAndGet();
+
+            // selection and expansion, restricted to the moves of this determinization
+            while (!game.isGameOver()) {
+                int count = game.legalMoves(moves);
+                int untried = 0;
+                int known = 0;
+                for (int i = 0; i < count; i++) {
+                    Node child = node.child(moves[i]);
+                    if (child == null) {
+                        moves[untried++] = moves[i];
+                    } else {
+                        child.availability.incrementAndGet();
+                        available[known++] = child;
+                    }
+                }
+                Node next;
+                if (untried > 0) {
+                    next = node.add(moves[random.nextInt(untried)], game.getCurrentPlayer());
+                    next.availability.incrementAndGet();
+                } else {
+                    next = select(available, known);
+                }
+                next.visits.incrementAndGet();
+                game.play(next.move);
+                node = next;
+                if (untried > 0) {
+                    break;
+                }
+            }
+
+            // simulation and backpropagation
+            game.rollout(random);
+            node.backpropagate(game.getController().getWinner() - 1);
+        }
+        Meters.AI_ITERATIONS.add(done);
+        return tree;
+    }
+
+    /**
+     * Picks the child with the best upper confidence bound, counting availability
+     * instead of the visits of the parent.
+     *
+     * @param children The children whose move is legal in the current determinization.
+     * @param count The number of children.
+     * @return The selected child.
+     */
+    private static Node select(Node[] children, int count) {
+        Node best = children[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            Node child = children[i];
+            int n = Math.max(1, child.visits.get());
+            double value = child.meanReward(n)
+                    + EXPLORATION * Math.sqrt(Math.log(Math.max(1, child.availability.get())) / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Node of the information set tree. Children form a linked list that only grows at
+     * its head, so workers can add children with a compare-and-set and read them without locks.
+     */
+    private static final class Node extends SearchNode {
+        private static final AtomicReferenceFieldUpdater<Node, Node> CHILDREN =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "children");
+
+        final AtomicInteger availability = new AtomicInteger();
+        volatile Node children; // head of the list of children
+        Node next; // next sibling, set before the node is published
+
+        Node(int move, int mover, Node parent) {
+            super(move, mover, parent);
+        }
+
+        /**
+         * Finds the child of a move.
+         *
+         * @param move The move.
+         * @return The child, or null if the move was never tried from this node.
+         */
+        Node child(int move) {
+            for (Node child = children; child != null; child = child.next) {
+                if (child.move == move) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds the child of a move, or returns the one another worker added first.
+         *
+         * @param move The move.
+         * @param mover The player who plays the move.
+         * @return The child of the move.
+         */
+        Node add(int move, int mover) {
+            Node child = new Node(move, mover, this);
+            while (true) {
+                Node head = children;
+                for (Node other = head; other != null; other = other.next) {
+                    if (other.move == move) {
+                        return other;
+                    }
+                }
+                child.next = head;
+                if (CHILDREN.compareAndSet(this, head, child)) {
+                    return child;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
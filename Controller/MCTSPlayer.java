@@ -0,0 +1,304 @@
+package Controller;
+
+import Metrics.Meters;
+import Model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computer player that picks its moves with Monte Carlo Tree Search.
+ * Rollouts run on private copies of the game (see `SearchGame`), and the search
+ * can run on one thread, on independent trees per thread (root-parallel) or on
+ * one shared tree (tree-parallel).
+ */
+public class MCTSPlayer extends SearchPlayer {
+    /**
+     * How the search is spread over the threads.
+     */
+    public enum Parallelism {
+        NONE, ROOT, TREE
+    }
+
+    private static final double EXPLORATION = 1.41;
+
+    private Parallelism parallelism;
+    private OpeningBook book; // null when no book is used
+    private EndgameTablebase tablebase; // null when no tablebase is used
+
+    /**
+     * Creates a new MCTS player that thinks 100 ms per move on one thread.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     * - `pawns` is not null and contains valid Pawn objects.
+     *
+     * Postconditions:
+     * - The search runs on the common ForkJoinPool when parallel search is enabled.
+     *
+     * @param name The name of the player.
+     * @param pawns The list of pawns assigned to the player.
+     */
+    public MCTSPlayer(String name, List<Pawn> pawns) {
+        this(name, pawns, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new MCTS player that searches on the given pool.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     * - `pawns` is not null and contains valid Pawn objects.
+     * - `pool` is not null.
+     *
+     * Postconditions:
+     * - The player thinks 100 ms per move on one thread.
+     *
+     * @param name The name of the player.
+     * @param pawns The list of pawns assigned to the player.
+     * @param pool The pool that runs the parallel search.
+     */
+    public MCTSPlayer(String name, List<Pawn> pawns, ForkJoinPool pool) {
+        super(name, pawns, pool);
+        this.parallelism = Parallelism.NONE;
+    }
+
+    /**
+     * Sets how the search is spread over the threads of the pool.
+     *
+     * Preconditions:
+     * - `parallelism` is not null.
+     *
+     * Postconditions:
+     * - The next searches use the given mode.
+     *
+     * @param parallelism The parallel search mode.
+     */
+    public void setParallelism(Parallelism parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the opening book consulted before searching.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The next moves found in `book` are played without searching.
+     *
+     * @param book The opening book, or null to always search.
+     */
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    /**
+     * Sets the endgame tablebase consulted before searching.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The next moves found in `tablebase` are played without searching.
+     *
+     * @param tablebase The endgame tablebase, or null to always search.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Searches the best move from a state.
+     *
+     * Preconditions:
+     * - The game in `root` is not over.
+     *
+     * Postconditions:
+     * - Returns the move of the opening book or of the endgame tablebase if they know
+     *   the position, otherwise the move (as encoded by `SearchGame`) with the most visits.
+     *
+     * @param root The state to search from.
+     * @return The chosen move.
+     * @throws IllegalStateException if the game is over, so there is no move to choose.
+     */
+    @Override
+    public int chooseMove(GameState root) {
+        if (book != null) {
+            int move = book.probe(root);
+            if (move >= 0) {
+                Meters.AI_BOOK_HITS.increment();
+                return move;
+            }
+        }
+        if (tablebase != null) {
+            int move = tablebase.probe(root);
+            if (move >= 0) {
+                Meters.AI_TABLEBASE_HITS.increment();
+                return move;
+            }
+        }
+        long start = Meters.AI_SEARCH.start();
+        long deadline = deadline();
+        int budget = budget();
+        ForkJoinPool pool = getPool();
+        int threads = parallelism == Parallelism.NONE ? 1 : pool.getParallelism();
+
+        Node tree;
+        if (parallelism == Parallelism.NONE) {
+            tree = new Node(-1, -1, null);
+            search(root, tree, deadline, new AtomicInteger(budget), new SplittableRandom(getSeed()));
+        } else if (parallelism == Parallelism.TREE) {
+            tree = new Node(-1, -1, null);
+            AtomicInteger remaining = new AtomicInteger(budget);
+            List<Callable<Node>> tasks = new ArrayList<>(threads);
+            SplittableRandom seeds = new SplittableRandom(getSeed());
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = seeds.split();
+                tasks.add(() -> search(root, tree, deadline, remaining, random));
+            }
+            join(pool.invokeAll(tasks));
+        } else {
+            List<Callable<Node>> tasks = new ArrayList<>(threads);
+            SplittableRandom seeds = new SplittableRandom(getSeed());
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = seeds.split();
+                int share = budget == Integer.MAX_VALUE ? budget : (budget + threads - 1) / threads;
+                tasks.add(() -> search(root, new Node(-1, -1, null), deadline, new AtomicInteger(share), random));
+            }
+            tree = merge(join(pool.invokeAll(tasks)));
+        }
+
+        Node best = null;
+        for (Node child : tree.children) {
+            if (best == null || child.visits.get() > best.visits.get()) {
+                best = child;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("The game is over.");
+        }
+        Meters.AI_SEARCH.stop(start);
+        return best.move;
+    }
+
+    /**
+     * Runs MCTS iterations on a tree until the time or iteration budget is spent.
+     *
+     * @param root The state at the root of the tree.
+     * @param tree The root node; may be shared with other threads.
+     * @param deadline The System.nanoTime at which to stop.
+     * @param remaining The number of iterations left, shared with other threads.
+     * @param random The generator of this thread.
+     * @return The root node.
+     */
+    private static Node search(GameState root, Node tree, long deadline, AtomicInteger remaining, SplittableRandom random) {
+        SearchGame game = new SearchGame();
+        int[] moves = new int[MAX_MOVES];
+        game.load(root);
+        tree.expand(game, moves);
+
+        long done = 0;
+        while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+            done++;
+            game.load(root);
+            Node node = tree;
+            node.visits.incrementAndGet();
+
+            // selection: the visit counts act as a virtual loss for the other threads
+            while (node.children != null && node.children.length > 0) {
+                node = node.select();
+                node.visits.incrementAndGet();
+                game.play(node.move);
+            }
+
+            // expansion
+            if (!game.isGameOver()) {
+                node.expand(game, moves);
+                Node[] children = node.children;
+                if (children.length > 0) {
+                    node = children[random.nextInt(children.length)];
+                    node.visits.incrementAndGet();
+                    game.play(node.move);
+                }
+            }
+
+            // simulation and backpropagation
+            game.rollout(random);
+            node.backpropagate(game.getController().getWinner() - 1);
+        }
+        Meters.AI_ITERATIONS.add(done);
+        return tree;
+    }
+
+    /**
+     * Adds up the root children of independent trees.
+     *
+     * @param trees The trees of the root-parallel search.
+     * @return A root node whose children hold the summed visits.
+     */
+    private static Node merge(List<Node> trees) {
+        Node merged = trees.get(0);
+        for (int t = 1; t < trees.size(); t++) {
+            for (Node child : trees.get(t).children) {
+                for (Node sum : merged.children) {
+                    if (sum.move == child.move) {
+                        sum.visits.addAndGet(child.visits.get());
+                        sum.reward.addAndGet(child.reward.get());
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Node of the search tree, whose children are created all at once.
+     */
+    private static final class Node extends SearchNode {
+        volatile Node[] children;
+
+        Node(int move, int mover, Node parent) {
+            super(move, mover, parent);
+        }
+
+        void expand(SearchGame game, int[] moves) {
+            if (children != null) {
+                return;
+            }
+            synchronized (this) {
+                if (children == null) {
+                    int count = game.isGameOver() ? 0 : game.legalMoves(moves);
+                    int player = game.getCurrentPlayer();
+                    Node[] nodes = new Node[count];
+                    for (int i = 0; i < count; i++) {
+                        nodes[i] = new Node(moves[i], player, this);
+                    }
+                    children = nodes;
+                }
+            }
+        }
+
+        Node select() {
+            double logVisits = Math.log(Math.max(1, visits.get()));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int n = child.visits.get();
+                if (n == 0) {
+                    return child;
+                }
+                double value = child.meanReward(n) + EXPLORATION * Math.sqrt(logVisits / n);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+package Controller;
+
+import Model.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Precomputed first moves, looked up before searching.
+ *
+ * An entry is keyed by `GameState.openingKey`: the hand of the player to move, the layout
+ * of the findings placed by `Board.addFindingsToPaths`, the paths and the pawns. The moves
+ * are chosen by a long `MCTSPlayer` search over the deals of `Tournament`, so games dealt
+ * from the same seeds, as in tournaments and benchmarks, find their opening in the book.
+ *
+ * The book is stored in a memory-mapped file (see `BookFile`).
+ */
+public final class OpeningBook implements AutoCloseable {
+    public static final int DEFAULT_PLIES = 2; // the first move of each player
+
+    private static final long MAGIC = 0x4B4E4F50454E4231L; // "KNOPENB1"
+
+    private final BookFile file;
+
+    private OpeningBook(BookFile file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates an empty book, replacing the file if it exists.
+     *
+     * Preconditions:
+     * - `entries` is between 1 and 2^27.
+     * - `plies` is positive.
+     *
+     * Postconditions:
+     * - The book holds no moves and only answers for the first `plies` turns of a game.
+     *
+     * @param file The path of the book.
+     * @param entries The number of positions the book can hold.
+     * @param plies The number of turns covered by the book.
+     * @return The writable book.
+     * @throws IOException if the file cannot be created.
+     */
+    public static OpeningBook create(String file, int entries, int plies) throws IOException {
+        if (plies <= 0) {
+            throw new IllegalArgumentException("plies must be greater than 0.");
+        }
+        return new OpeningBook(BookFile.create(file, MAGIC, entries, plies));
+    }
+
+    /**
+     * Opens a book for reading.
+     *
+     * Preconditions:
+     * - `file` was written by `create`.
+     *
+     * Postconditions:
+     * - The book can be probed from any thread.
+     *
+     * @param file The path of the book.
+     * @return The book.
+     * @throws IOException if the file cannot be read or is not a book.
+     */
+    public static OpeningBook open(String file) throws IOException {
+        return new OpeningBook(BookFile.open(file, MAGIC));
+    }
+
+    /**
+     * Gets the number of turns covered by the book.
+     *
+     * @return The number of plies of the book.
+     */
+    public int getPlies() {
+        return file.getParameter();
+    }
+
+    /**
+     * Gets the number of positions in the book.
+     *
+     * @return The number of entries stored.
+     */
+    public int getSize() {
+        return file.size();
+    }
+
+    /**
+     * Looks up the move of a position.
+     *
+     * Preconditions:
+     * - `state` is not null.
+     *
+     * Postconditions:
+     * - Returns -1 if the position is past the plies of the book or not in it.
+     *
+     * @param state The position.
+     * @return The move (as encoded by `SearchGame`), or -1.
+     */
+    public int probe(GameState state) {
+        if (state.getTurns() >= getPlies()) {
+            return -1;
+        }
+        long data = file.get(state.openingKey());
+        return data == 0 ? -1 : BookFile.move(data);
+    }
+
+    /**
+     * Adds the move of a position.
+     *
+     * Preconditions:
+     * - The book was created, not opened.
+     * - `move` is a legal move of `state`, as encoded by `SearchGame`.
+     *
+     * Postconditions:
+     * - Returns false if the book has no room left for the position.
+     *
+     * @param state The position.
+     * @param move The move to play.
+     * @return True if the move was stored.
+     */
+    public boolean add(GameState state, int move) {
+        return file.put(state.openingKey(), move, 0);
+    }
+
+    /**
+     * Searches the openings of the games of a tournament and adds them to the book.
+     *
+     * Preconditions:
+     * - The book was created, not opened.
+     * - `iterations` is positive.
+     *
+     * Postconditions:
+     * - The first `getPlies()` positions of games 0 to `games` - 1 of a tournament
+     *   seeded with `seed` are in the book, as far as there is room.
+     *
+     * @param seed The seed of the tournament.
+     * @param games The number of games.
+     * @param iterations The rollouts of the search of each move.
+     * @return The number of positions added.
+     */
+    public int fill(long seed, long games, int iterations) {
+        MCTSPlayer searcher = new MCTSPlayer("Book", GameSetup.createPawns());
+        searcher.setTimeLimit(0);
+        searcher.setIterations(iterations);
+        searcher.setSeed(seed);
+        GameState state = new GameState();
+        int added = 0;
+        for (long index = 0; index < games; index++) {
+            SplittableRandom random = new SplittableRandom(Tournament.gameSeed(seed, index));
+            random.nextLong(); // the seeds of the players
+            random.nextLong();
+            controller game = Tournament.deal(random, GameSetup.createPlayer("Player 1"),
+                    GameSetup.createPlayer("Player 2"));
+            for (int ply = 0; ply < getPlies() && !game.isGameOver(); ply++) {
+                game.saveState(state);
+                int move = searcher.chooseMove(state);
+                if (add(state, move)) {
+                    added++;
+                }
+                if (!SearchGame.play(game, move)) {
+                    break;
+                }
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Builds a book.
+     *
+     * @param args The file of the book, then optionally the number of games (default 1000),
+     *             the seed of the tournament (default 0) and the rollouts per move (default 20000).
+     * @throws IOException if the book cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: OpeningBook <file> [games] [seed] [iterations]");
+            return;
+        }
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+        int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 20000;
+        long start = System.nanoTime();
+        try (OpeningBook book = create(args[0], (int) Math.min(games * DEFAULT_PLIES * 2, 1 << 27), DEFAULT_PLIES)) {
+            int added = book.fill(seed, games, iterations);
+            System.out.printf("%d positions in %.2f s%n", added, (System.nanoTime() - start) / 1e9);
+        }
+    }
+}
\ No newline at end of file
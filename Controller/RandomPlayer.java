@@ -0,0 +1,46 @@
+package Controller;
+
+import Model.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Computer player that plays a random legal card, or discards a random card
+ * when no card can be played.
+ */
+public class RandomPlayer extends ComputerPlayer {
+    private final SplittableRandom random;
+    private final MoveGenerator generator;
+
+    /**
+     * Creates a new random player.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     * - `pawns` is not null and contains valid Pawn objects.
+     *
+     * Postconditions:
+     * - The moves are chosen with a generator seeded with `seed`.
+     *
+     * @param name The name of the player.
+     * @param pawns The list of pawns assigned to the player.
+     * @param seed The seed of the player's choices.
+     */
+    public RandomPlayer(String name, List<Pawn> pawns, long seed) {
+        super(name, pawns);
+        this.random = new SplittableRandom(seed);
+        this.generator = new MoveGenerator();
+    }
+
+    @Override
+    public void playTurn(controller game) {
+        int legal = generator.generate(this, game.getBoard());
+        if (legal > 0) {
+            int move = generator.getMoves()[random.nextInt(legal)];
+            game.playMove(MoveGenerator.cardIndex(move), MoveGenerator.pathIndex(move));
+        } else {
+            game.discardMove(random.nextInt(getCards().size()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package Controller;
+
+import Model.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Private copy of a game used by the AI to play moves ahead.
+ * The copy is loaded from a packed state, so each search thread can reuse
+ * one instance for every rollout instead of cloning the board.
+ *
+ * Moves are encoded as `cardKind * 8 + pathIndex`, with `DISCARD` as the path
+ * index of a discard, so that a move does not depend on the order of the hand.
+ */
+public final class SearchGame {
+    public static final int DISCARD = 7;
+
+    private final Board board;
+    private final Player player1;
+    private final Player player2;
+    private final controller game;
+    private final MoveGenerator generator;
+
+    /**
+     * Creates a new search game with the standard pieces.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The game is empty until `load` is called.
+     */
+    public SearchGame() {
+        this.board = GameSetup.createBoard();
+        this.player1 = GameSetup.createPlayer("Player 1");
+        this.player2 = GameSetup.createPlayer("Player 2");
+        this.game = new controller(board, player1, player2);
+        this.generator = new MoveGenerator();
+    }
+
+    /**
+     * Loads a state into this game.
+     *
+     * Preconditions:
+     * - `state` is not null.
+     *
+     * Postconditions:
+     * - The game matches `state`.
+     *
+     * @param state The state to load.
+     */
+    public void load(GameState state) {
+        game.loadState(state);
+    }
+
+    /**
+     * Gets the controller of this game.
+     *
+     * @return The controller of the game.
+     */
+    public controller getController() {
+        return game;
+    }
+
+    /**
+     * Gets the index of the player whose turn it is.
+     *
+     * @return 0 for the first player, 1 for the second.
+     */
+    public int getCurrentPlayer() {
+        return game.getCurrentPlayer() == player2 ? 1 : 0;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position, including the side to move.
+     * Positions reached by playing the same moves in another order have the same hash.
+     *
+     * @return The hash of the position.
+     */
+    public long hash() {
+        return game.getHash();
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return True if the game is over.
+     */
+    public boolean isGameOver() {
+        return game.isGameOver();
+    }
+
+    /**
+     * Writes the legal moves of the current player into a buffer.
+     * Duplicate cards give one move; discards are only listed when no card can be played.
+     * The order of the moves follows the hand, so it changes when the state is reloaded.
+     *
+     * Preconditions:
+     * - `moves` can hold at least 2 * hand size * number of paths moves.
+     *
+     * Postconditions:
+     * - Returns the number of moves written to `moves`.
+     *
+     * @param moves The buffer to write the moves to.
+     * @return The number of legal moves.
+     */
+    public int legalMoves(int[] moves) {
+        Player player = game.getCurrentPlayer();
+        List<Card> cards = player.getCards();
+        int legal = generator.generate(player, board);
+        int[] generated = generator.getMoves();
+        int count = 0;
+        long seen = 0L;
+        for (int i = 0; i < legal; i++) {
+            int kind = cards.get(MoveGenerator.cardIndex(generated[i])).getKind();
+            if ((seen & 1L << kind) == 0) {
+                seen |= 1L << kind;
+                moves[count++] = kind * 8 + MoveGenerator.pathIndex(generated[i]);
+            }
+        }
+        if (count == 0) {
+            for (Card card : cards) {
+                seen |= 1L << card.getKind();
+            }
+            for (int kind = 0; kind < GameState.CARD_KINDS; kind++) {
+                if ((seen & 1L << kind) != 0) {
+                    moves[count++] = kind * 8 + DISCARD;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Plays an encoded move for the current player.
+     *
+     * Preconditions:
+     * - `move` was returned by `legalMoves` for the current position.
+     *
+     * Postconditions:
+     * - The move is played and the turn passes to the other player.
+     *
+     * @param move The move to play.
+     */
+    public void play(int move) {
+        play(game, move);
+    }
+
+    /**
+     * Plays an encoded move for the current player so that it can be taken back with `unmake`.
+     *
+     * Preconditions:
+     * - `move` was returned by `legalMoves` for the current position.
+     *
+     * Postconditions:
+     * - The move is played and the turn passes to the other player.
+     *
+     * @param move The move to play.
+     * @return True if the move was played, false if it is illegal.
+     */
+    public boolean make(int move) {
+        int card = cardIndex(game, move >>> 3);
+        if (card < 0) {
+            return false;
+        }
+        return (move & 7) == DISCARD ? game.makeDiscard(card) : game.makeMove(card, move & 7);
+    }
+
+    /**
+     * Takes back the last move played with `make`.
+     *
+     * Preconditions:
+     * - A move was made since the state was loaded and not taken back yet.
+     *
+     * Postconditions:
+     * - The game is as it was before the move.
+     */
+    public void unmake() {
+        game.unmakeMove();
+    }
+
+    /**
+     * Plays random moves until the game is over.
+     *
+     * Preconditions:
+     * - `random` is not null.
+     *
+     * Postconditions:
+     * - The game is over.
+     *
+     * @param random The generator used to pick the moves.
+     */
+    public void rollout(SplittableRandom random) {
+        while (!game.isGameOver()) {
+            int legal = generator.generate(game.getCurrentPlayer(), board);
+            if (legal > 0) {
+                int move = generator.getMoves()[random.nextInt(legal)];
+                game.playMove(MoveGenerator.cardIndex(move), MoveGenerator.pathIndex(move));
+            } else {
+                game.discardMove(random.nextInt(game.getCurrentPlayer().getCards().size()));
+            }
+        }
+    }
+
+    /**
+     * Plays an encoded move on any game.
+     *
+     * Preconditions:
+     * - The current player of `game` holds a card of the kind of `move`.
+     *
+     * Postconditions:
+     * - Returns true if the move was played.
+     *
+     * @param game The game to play on.
+     * @param move The move to play.
+     * @return True if the move was played, false if it is illegal.
+     */
+    public static boolean play(controller game, int move) {
+        int card = cardIndex(game, move >>> 3);
+        if (card < 0) {
+            return false;
+        }
+        return (move & 7) == DISCARD ? game.discardMove(card) : game.playMove(card, move & 7);
+    }
+
+    /**
+     * Finds a card of a kind in the hand of the current player.
+     *
+     * @param game The game to look in.
+     * @param kind The kind of the card.
+     * @return The index of the first card of the kind, or -1 if there is none.
+     */
+    private static int cardIndex(controller game, int kind) {
+        List<Card> cards = game.getCurrentPlayer().getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (GameState.cardKind(cards.get(i)) == kind) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
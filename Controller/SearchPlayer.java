@@ -0,0 +1,234 @@
+package Controller;
+
+import Model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computer player that chooses its moves by searching copies of the game. It keeps the
+ * budget and the seed of the search, defines the statistics of the nodes of the search
+ * trees and plays the move the search chose.
+ */
+public abstract class SearchPlayer extends ComputerPlayer {
+    static final int MAX_MOVES = 64;
+
+    private final ForkJoinPool pool;
+    private long timeLimitMillis;
+    private int iterations;
+    private long seed;
+
+    /**
+     * Creates a new search player that thinks 100 ms per move.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     * - `pawns` is not null and contains valid Pawn objects.
+     * - `pool` is not null.
+     *
+     * Postconditions:
+     * - The player searches by time only, with a seed taken from the clock.
+     *
+     * @param name The name of the player.
+     * @param pawns The list of pawns assigned to the player.
+     * @param pool The pool that runs the parallel searches.
+     */
+    public SearchPlayer(String name, List<Pawn> pawns, ForkJoinPool pool) {
+        super(name, pawns);
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null.");
+        }
+        this.pool = pool;
+        this.timeLimitMillis = 100;
+        this.iterations = 0;
+        this.seed = System.nanoTime();
+    }
+
+    /**
+     * Sets the time budget of a move.
+     *
+     * Preconditions:
+     * - `millis` is greater than 0, or 0 to search by iterations only.
+     *
+     * Postconditions:
+     * - The search of a move stops after `millis` milliseconds.
+     *
+     * @param millis The time budget in milliseconds.
+     */
+    public void setTimeLimit(long millis) {
+        this.timeLimitMillis = millis;
+    }
+
+    /**
+     * Sets the iteration budget of a move.
+     *
+     * Preconditions:
+     * - `iterations` is greater than 0, or 0 to search by time only.
+     *
+     * Postconditions:
+     * - The search of a move stops after `iterations` iterations over all its threads.
+     *
+     * @param iterations The number of iterations per move.
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Sets the seed of the search.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Single-threaded searches with an iteration budget are reproducible.
+     *
+     * @param seed The seed of the search.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Searches and plays the best move of this player.
+     *
+     * Preconditions:
+     * - It is this player's turn in `game`.
+     *
+     * Postconditions:
+     * - A move has been played and the turn has passed to the other player.
+     *
+     * @param game The game to play on.
+     * @throws IllegalStateException if the search chose a move that cannot be played,
+     *         which means the search and the game disagree about the rules or the state.
+     */
+    @Override
+    public final void playTurn(controller game) {
+        GameState root = new GameState();
+        game.saveState(root);
+        int move = chooseMove(root);
+        if (!SearchGame.play(game, move)) {
+            String card = "card kind " + (move >>> 3);
+            throw new IllegalStateException("The search chose an illegal move: "
+                    + ((move & 7) == SearchGame.DISCARD ? "discard " + card : card + " on path " + (move & 7))
+                    + " for player " + root.getCurrentPlayer() + " in turn " + root.getTurns()
+                    + " (state " + Integer.toHexString(root.hashCode()) + ").");
+        }
+    }
+
+    /**
+     * Searches the best move from a state.
+     *
+     * Preconditions:
+     * - The game in `root` is not over.
+     *
+     * Postconditions:
+     * - Returns the chosen move, as encoded by `SearchGame`.
+     * - `root` is not modified.
+     *
+     * @param root The state to search from.
+     * @return The chosen move.
+     * @throws IllegalStateException if the game is over, so there is no move to choose.
+     */
+    public abstract int chooseMove(GameState root);
+
+    /**
+     * Gets the pool that runs the parallel searches.
+     *
+     * @return The pool.
+     */
+    ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the seed of the search.
+     *
+     * @return The seed.
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the time at which a search starting now must stop.
+     *
+     * @return The System.nanoTime of the deadline, or Long.MAX_VALUE to search by iterations only.
+     */
+    long deadline() {
+        return timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the number of iterations of a search.
+     *
+     * @return The iteration budget, or Integer.MAX_VALUE to search by time only.
+     */
+    int budget() {
+        return iterations > 0 ? iterations : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Waits for the workers of a parallel search.
+     *
+     * @param futures The results of the workers.
+     * @return The trees returned by the workers.
+     * @throws IllegalStateException if a worker failed.
+     */
+    static <T> List<T> join(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (Exception e) {
+                throw new IllegalStateException("Search failed.", e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Statistics of a node of a search tree, atomic so that threads can share the tree.
+     */
+    static class SearchNode {
+        final int move;
+        final int mover; // player who played `move`
+        final SearchNode parent;
+        final AtomicInteger visits = new AtomicInteger();
+        final AtomicInteger reward = new AtomicInteger();
+
+        SearchNode(int move, int mover, SearchNode parent) {
+            this.move = move;
+            this.mover = mover;
+            this.parent = parent;
+        }
+
+        /**
+         * Gets the average reward of the node, between 0 (lost) and 1 (won).
+         *
+         * @param n The number of visits to divide by.
+         * @return The mean reward.
+         */
+        double meanReward(int n) {
+            return reward.get() / (2.0 * n);
+        }
+
+        /**
+         * Adds the result of a rollout to this node and its ancestors: 2 points for a win, 1 for a draw.
+         *
+         * @param winner The index of the winner, or -1 on a draw.
+         */
+        void backpropagate(int winner) {
+            for (SearchNode node = this; node != null; node = node.parent) {
+                if (winner < 0) {
+                    node.reward.addAndGet(1);
+                } else if (winner == node.mover) {
+                    node.reward.addAndGet(2);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package Controller;
+
+import Model.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays random games through the headless API of the controller
+ * and reports how many turns per second were simulated.
+ */
+public class Simulation {
+    private final SplittableRandom seeds;
+    private final MoveGenerator generator;
+
+    /**
+     * Creates a new simulation.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The seeds of the games are drawn from a generator seeded with `seed`.
+     *
+     * @param seed The seed of the simulation.
+     */
+    public Simulation(long seed) {
+        this.seeds = new SplittableRandom(seed);
+        this.generator = new MoveGenerator();
+    }
+
+    /**
+     * Plays a full game where both players pick random legal moves.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the controller of the finished game.
+     *
+     * @return The controller of the finished game.
+     */
+    public controller playGame() {
+        return playGame(seeds.nextLong());
+    }
+
+    /**
+     * Plays a full game where both players pick random legal moves.
+     * Every random choice of the game comes from `seed`, so the game can be replayed.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the controller of the finished game.
+     *
+     * @param seed The seed of the game.
+     * @return The controller of the finished game.
+     */
+    public controller playGame(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Board board = GameSetup.createBoard(random);
+        controller game = new controller(board, GameSetup.createPlayer("Player 1"), GameSetup.createPlayer("Player 2"),
+                random.split());
+        game.setupBoard();
+        game.dealHands();
+        game.randomStart();
+        while (!game.isGameOver()) {
+            playRandomMove(game, board, random);
+        }
+        return game;
+    }
+
+    /**
+     * Plays a random legal card, or discards a random card if none can be played.
+     *
+     * @param game The game to play on.
+     * @param board The board of the game.
+     * @param random The generator of the game.
+     */
+    private void playRandomMove(controller game, Board board, SplittableRandom random) {
+        int legal = generator.generate(game.getCurrentPlayer(), board);
+        if (legal > 0) {
+            int move = generator.getMoves()[random.nextInt(legal)];
+            game.playMove(MoveGenerator.cardIndex(move), MoveGenerator.pathIndex(move));
+        } else {
+            game.discardMove(random.nextInt(game.getCurrentPlayer().getCards().size()));
+        }
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @param args Optional number of games (default 100000) and seed (default 0).
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0L;
+        Simulation simulation = new Simulation(seed);
+
+        long turns = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            turns += simulation.playGame().getTurnCount();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games, %d turns in %.2f s (%.0f turns/s)%n", games, turns, seconds, turns / seconds);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package Controller;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories shared by the tournament runner and the game server.
+ */
+final class Threads {
+    private Threads() {
+    }
+
+    /**
+     * Gets the virtual thread factory of the running JVM. It is looked up by reflection,
+     * so that the code still compiles for Java 17.
+     *
+     * @return A factory of virtual threads.
+     * @throws UnsupportedOperationException if the JVM has no virtual threads.
+     */
+    static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) builder.getClass().getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or newer.", e);
+        }
+    }
+}
\ No newline at end of file
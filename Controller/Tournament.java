@@ -0,0 +1,425 @@
+package Controller;
+
+import Model.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays many games between two computer strategies on a pool of threads.
+ * Every game gets its own board, deck and players, and its result is streamed
+ * to a CSV or JSON-lines writer as soon as it ends, so only the aggregated
+ * counters are kept in memory.
+ */
+public class Tournament {
+    /**
+     * Creates a fresh computer player for one game.
+     */
+    public interface Strategy {
+        ComputerPlayer create(String name, long seed);
+    }
+
+    /**
+     * Output format of the game records and of the summary.
+     */
+    public enum Format {
+        CSV, JSON
+    }
+
+    private static final int SCORE_MIN = -100;
+    private static final int SCORE_BUCKET = 10;
+    private static final int SCORE_BUCKETS = 50;
+    private static final int LENGTH_BUCKET = 10;
+    private static final int LENGTH_BUCKETS = 20;
+
+    private final String nameA;
+    private final String nameB;
+    private final Strategy strategyA;
+    private final Strategy strategyB;
+    private int threads;
+    private boolean virtualThreads;
+    private long seed;
+    private Format format;
+    private PrintWriter out;
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder winsA = new LongAdder();
+    private final LongAdder winsB = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder attacks = new LongAdder();
+    private final LongAdder destroyedBoxes = new LongAdder();
+    private final LongAdder[] scoresA = adders(SCORE_BUCKETS);
+    private final LongAdder[] scoresB = adders(SCORE_BUCKETS);
+    private final LongAdder[] lengths = adders(LENGTH_BUCKETS);
+
+    /**
+     * Creates a new tournament between two strategies.
+     *
+     * Preconditions:
+     * - All the arguments are not null.
+     *
+     * Postconditions:
+     * - The tournament runs on one platform thread per processor, without output, with seed 0.
+     *
+     * @param nameA The name of the first strategy.
+     * @param strategyA The first strategy.
+     * @param nameB The name of the second strategy.
+     * @param strategyB The second strategy.
+     */
+    public Tournament(String nameA, Strategy strategyA, String nameB, Strategy strategyB) {
+        this.nameA = nameA;
+        this.strategyA = strategyA;
+        this.nameB = nameB;
+        this.strategyB = strategyB;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.virtualThreads = false;
+        this.seed = 0L;
+        this.format = Format.CSV;
+        this.out = null;
+    }
+
+    /**
+     * Sets the number of threads that play games.
+     *
+     * @param threads The number of threads, greater than 0.
+     */
+    public void setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be greater than 0.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Selects virtual threads instead of platform threads (needs Java 21 or newer).
+     *
+     * @param virtualThreads True to play the games on virtual threads.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Sets the seed of the tournament; game `i` is fully determined by the seed and `i`.
+     *
+     * @param seed The seed of the tournament.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Streams one record per game to a writer. Each record is flushed when its game ends.
+     *
+     * @param out The writer of the records, or null for no records.
+     * @param format The format of the records.
+     */
+    public void setOutput(Writer out, Format format) {
+        this.out = out == null ? null : new PrintWriter(out);
+        this.format = format;
+    }
+
+    /**
+     * Plays the games.
+     *
+     * Preconditions:
+     * - `count` is greater than 0.
+     *
+     * Postconditions:
+     * - `count` games have been played and added to the statistics.
+     * - Strategy A sits first in even games and second in odd games.
+     *
+     * @param count The number of games to play.
+     * @throws IOException if a record cannot be written; the remaining games are not played.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public void run(long count) throws IOException, InterruptedException {
+        if (out != null && format == Format.CSV) {
+            out.println("Game;Seed;Winner;Score" + nameA + ";Score" + nameB + ";Turns;Attacks;DestroyedBoxes");
+            checkOutput();
+        }
+        ThreadFactory factory = virtualThreads ? Threads.virtualThreadFactory() : Executors.defaultThreadFactory();
+        AtomicLong next = new AtomicLong();
+        List<Thread> workers = new ArrayList<>(threads);
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < threads; t++) {
+            Thread worker = factory.newThread(() -> {
+                try {
+                    for (long index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+                        playGame(index);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                    next.set(count);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Throwable error = failure[0];
+        if (error instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) error).getCause();
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException("A game of the tournament failed.", error);
+        }
+    }
+
+    /**
+     * Flushes the records and checks that they were written, since `PrintWriter` hides
+     * the errors of the writer it wraps.
+     *
+     * @throws UncheckedIOException if the writer failed.
+     */
+    private void checkOutput() {
+        if (out.checkError()) {
+            throw new UncheckedIOException(new IOException("Cannot write the records of the tournament."));
+        }
+    }
+
+    /**
+     * Gets the seed of a game of a tournament.
+     *
+     * @param seed The seed of the tournament.
+     * @param index The index of the game.
+     * @return The seed of the game.
+     */
+    static long gameSeed(long seed, long index) {
+        return seed + index * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Sets up a game like a game of a tournament: board, hands and first player.
+     *
+     * Preconditions:
+     * - `random` was seeded with a game seed and already gave the seeds of the two players.
+     *
+     * Postconditions:
+     * - Returns a game ready for its first turn.
+     *
+     * @param random The generator of the game.
+     * @param player1 The first player.
+     * @param player2 The second player.
+     * @return The controller of the game.
+     */
+    static controller deal(SplittableRandom random, Player player1, Player player2) {
+        Board board = GameSetup.createBoard(random);
+        controller game = new controller(board, player1, player2, random.split());
+        game.setupBoard();
+        game.dealHands();
+        game.randomStart();
+        return game;
+    }
+
+    /**
+     * Plays one game and records its result.
+     *
+     * @param index The index of the game.
+     */
+    private void playGame(long index) {
+        long gameSeed = gameSeed(seed, index);
+        SplittableRandom random = new SplittableRandom(gameSeed);
+        ComputerPlayer a = strategyA.create(nameA, random.nextLong());
+        ComputerPlayer b = strategyB.create(nameB, random.nextLong());
+        boolean aFirst = (index & 1) == 0;
+        controller game = deal(random, aFirst ? a : b, aFirst ? b : a);
+        while (!game.isGameOver()) {
+            ((ComputerPlayer) game.getCurrentPlayer()).playTurn(game);
+        }
+
+        int scoreA = game.totalScore(a);
+        int scoreB = game.totalScore(b);
+        int length = game.getTurnCount();
+        int gameAttacks = a.getSuccessfulAttacks() + b.getSuccessfulAttacks();
+        int gameDestroys = a.getDestroyedBoxes() + b.getDestroyedBoxes();
+        String winner = scoreA > scoreB ? nameA : scoreB > scoreA ? nameB : "draw";
+
+        games.increment();
+        if (scoreA > scoreB) {
+            winsA.increment();
+        } else if (scoreB > scoreA) {
+            winsB.increment();
+        } else {
+            draws.increment();
+        }
+        turns.add(length);
+        attacks.add(gameAttacks);
+        destroyedBoxes.add(gameDestroys);
+        scoresA[bucket(scoreA - SCORE_MIN, SCORE_BUCKET, SCORE_BUCKETS)].increment();
+        scoresB[bucket(scoreB - SCORE_MIN, SCORE_BUCKET, SCORE_BUCKETS)].increment();
+        lengths[bucket(length, LENGTH_BUCKET, LENGTH_BUCKETS)].increment();
+
+        if (out != null) {
+            String record;
+            if (format == Format.CSV) {
+                record = index + ";" + gameSeed + ";" + winner + ";" + scoreA + ";" + scoreB + ";" + length + ";"
+                        + gameAttacks + ";" + gameDestroys;
+            } else {
+                record = "{\"game\":" + index + ",\"seed\":" + gameSeed + ",\"winner\":" + quote(winner)
+                        + ",\"scoreA\":" + scoreA + ",\"scoreB\":" + scoreB + ",\"turns\":" + length
+                        + ",\"attacks\":" + gameAttacks + ",\"destroyedBoxes\":" + gameDestroys + "}";
+            }
+            synchronized (out) {
+                out.println(record);
+                checkOutput();
+            }
+        }
+    }
+
+    /**
+     * Gets the aggregated statistics of the games played so far.
+     *
+     * Preconditions:
+     * - `format` is not null.
+     *
+     * Postconditions:
+     * - Returns the win rates, the mean game length, the event counts and the
+     *   score and length histograms, as `;` separated lines or as one JSON object.
+     *
+     * @param format The format of the summary.
+     * @return The summary.
+     */
+    public String summary(Format format) {
+        long played = Math.max(1, games.sum());
+        double winRateA = (double) winsA.sum() / played;
+        double winRateB = (double) winsB.sum() / played;
+        double drawRate = (double) draws.sum() / played;
+        double meanLength = (double) turns.sum() / played;
+        if (format == Format.JSON) {
+            return String.format(Locale.ROOT,
+                    "{\"games\":%d,\"winRate\":{%s:%.4f,%s:%.4f,\"draw\":%.4f},\"meanTurns\":%.2f,"
+                            + "\"attacks\":%d,\"destroyedBoxes\":%d,\"scoreMin\":%d,\"scoreBucket\":%d,"
+                            + "\"scores\":{%s:%s,%s:%s},\"lengthBucket\":%d,\"lengths\":%s}",
+                    games.sum(), quote(nameA), winRateA, quote(nameB), winRateB, drawRate, meanLength, attacks.sum(),
+                    destroyedBoxes.sum(), SCORE_MIN, SCORE_BUCKET, quote(nameA), json(scoresA), quote(nameB), json(scoresB),
+                    LENGTH_BUCKET, json(lengths));
+        }
+        StringBuilder csv = new StringBuilder();
+        csv.append("Statistic;Value\n");
+        csv.append("Games;").append(games.sum()).append('\n');
+        csv.append(String.format(Locale.ROOT, "WinRate%s;%.4f%n", nameA, winRateA));
+        csv.append(String.format(Locale.ROOT, "WinRate%s;%.4f%n", nameB, winRateB));
+        csv.append(String.format(Locale.ROOT, "DrawRate;%.4f%n", drawRate));
+        csv.append(String.format(Locale.ROOT, "MeanTurns;%.2f%n", meanLength));
+        csv.append("Attacks;").append(attacks.sum()).append('\n');
+        csv.append("DestroyedBoxes;").append(destroyedBoxes.sum()).append('\n');
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            csv.append("Score").append(SCORE_MIN + i * SCORE_BUCKET).append(';')
+                    .append(scoresA[i].sum()).append(';').append(scoresB[i].sum()).append('\n');
+        }
+        for (int i = 0; i < LENGTH_BUCKETS; i++) {
+            csv.append("Turns").append(i * LENGTH_BUCKET).append(';').append(lengths[i].sum()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static int bucket(int value, int width, int buckets) {
+        return Math.max(0, Math.min(buckets - 1, Math.floorDiv(value, width)));
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Quotes a string for JSON, escaping quotes, backslashes and control characters.
+     *
+     * @param text The string to quote.
+     * @return The JSON string literal.
+     */
+    private static String quote(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static String json(LongAdder[] adders) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < adders.length; i++) {
+            json.append(i == 0 ? "" : ",").append(adders[i].sum());
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Runs a tournament of MCTS against random play.
+     *
+     * @param args Number of games (default 1000), threads (default: processors),
+     *             format `csv` or `json` (default csv), output file (default: no records, `-` for none),
+     *             opening book and endgame tablebase of the MCTS player (default: none, `-` for none).
+     * @throws IOException if the output file, the book or the tablebase cannot be opened.
+     * @throws InterruptedException if the main thread is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        Format format = args.length > 2 && args[2].equalsIgnoreCase("json") ? Format.JSON : Format.CSV;
+        OpeningBook book = args.length > 4 && !args[4].equals("-") ? OpeningBook.open(args[4]) : null;
+        EndgameTablebase tablebase = args.length > 5 && !args[5].equals("-") ? EndgameTablebase.open(args[5]) : null;
+        Tournament tournament = new Tournament("MCTS", (name, seed) -> {
+            MCTSPlayer player = new MCTSPlayer(name, GameSetup.createPawns());
+            player.setTimeLimit(0);
+            player.setIterations(200);
+            player.setSeed(seed);
+            player.setOpeningBook(book);
+            player.setTablebase(tablebase);
+            return player;
+        }, "Random", (name, seed) -> new RandomPlayer(name, GameSetup.createPawns(), seed));
+        if (args.length > 1) {
+            tournament.setThreads(Integer.parseInt(args[1]));
+        }
+        Writer out = args.length > 3 && !args[3].equals("-") ? Files.newBufferedWriter(Paths.get(args[3]), StandardCharsets.UTF_8) : null;
+        tournament.setOutput(out, format);
+
+        long start = System.nanoTime();
+        tournament.run(count);
+        if (out != null) {
+            out.close();
+        }
+        if (book != null) {
+            book.close();
+        }
+        if (tablebase != null) {
+            tablebase.close();
+        }
+        System.out.print(tournament.summary(format));
+        System.out.printf(Locale.ROOT, "%n%.2f s%n", (System.nanoTime() - start) / 1e9);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package Controller;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size transposition table keyed by Zobrist hashes (see `SearchGame.hash`)
+ * that any number of search threads can share without locks.
+ *
+ * Every entry is two words: the data and the key XORed with the data. A reader
+ * accepts an entry only if the XOR of its two words gives back the key, so an
+ * entry torn by two threads writing at once reads as a miss instead of as wrong data.
+ *
+ * Entries are grouped in buckets of two: the first slot keeps the deepest result
+ * (or any result of an older search), the second one always takes the newest.
+ *
+ * Data layout: value (bits 0-31), move (32-47), depth (48-55), bound (56-57),
+ * generation (58-62) and a valid bit (63), so stored data is never 0.
+ */
+public final class TranspositionTable {
+    public static final long MISS = 0L;
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    private static final int BUCKET_WORDS = 4; // two entries of (check, data)
+    private static final long VALID = 1L << 63;
+    private static final int GENERATIONS = 32;
+
+    private final AtomicLongArray table;
+    private final int mask; // buckets - 1
+    private volatile int generation;
+
+    /**
+     * Creates an empty table.
+     *
+     * Preconditions:
+     * - `megabytes` is between 1 and 8192.
+     *
+     * Postconditions:
+     * - The table has the largest power of two number of buckets that fits in `megabytes`.
+     *
+     * @param megabytes The size of the table in megabytes.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 8192) {
+            throw new IllegalArgumentException("megabytes must be between 1 and 8192.");
+        }
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / (BUCKET_WORDS * Long.BYTES));
+        this.table = new AtomicLongArray((int) (buckets * BUCKET_WORDS));
+        this.mask = (int) buckets - 1;
+    }
+
+    /**
+     * Starts a new search: results of older searches are replaced first.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The generation of the table is advanced.
+     */
+    public void newSearch() {
+        generation = (generation + 1) % GENERATIONS;
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the data stored for `key`, or `MISS` if there is none.
+     *
+     * @param key The Zobrist hash of the position.
+     * @return The data of the entry, to be decoded with `value`, `move`, `depth` and `bound`.
+     */
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int slot = base; slot < base + BUCKET_WORDS; slot += 2) {
+            long data = table.getOpaque(slot + 1);
+            if ((table.getOpaque(slot) ^ data) == key && data != MISS) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a search.
+     *
+     * Preconditions:
+     * - `move` is between 0 and 65535, `bound` one of `EXACT`, `LOWER` and `UPPER`.
+     *
+     * Postconditions:
+     * - A later `probe(key)` returns the result unless another position replaced it.
+     * - Depths above 255 are stored as 255, negative depths as 0.
+     *
+     * @param key The Zobrist hash of the position.
+     * @param value The value of the position.
+     * @param move The best move found, or 0.
+     * @param depth The depth (or any measure of effort) of the search.
+     * @param bound Whether `value` is exact, a lower bound or an upper bound.
+     */
+    public void store(long key, int value, int move, int depth, int bound) {
+        depth = Math.max(0, Math.min(depth, 0xFF)); // other depths would overwrite the bound and the generation
+        long data = VALID | (long) generation << 58 | (long) (bound & 0x3) << 56 | (long) depth << 48
+                | (long) (move & 0xFFFF) << 32 | value & 0xFFFFFFFFL;
+        int base = bucket(key);
+        long first = table.getOpaque(base + 1);
+        boolean sameKey = (table.getOpaque(base) ^ first) == key;
+        int slot = sameKey || first == MISS || generation(first) != generation || depth(first) <= depth
+                ? base : base + 2;
+        table.setOpaque(slot, key ^ data);
+        table.setOpaque(slot + 1, data);
+    }
+
+    /**
+     * Empties the table.
+     *
+     * Preconditions:
+     * - No thread is using the table.
+     *
+     * Postconditions:
+     * - Every probe misses.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.setOpaque(i, 0L);
+        }
+    }
+
+    /**
+     * Estimates how full the table is from its first thousand entries.
+     *
+     * @return The number of used entries per thousand.
+     */
+    public int usagePermille() {
+        int entries = Math.min(1000, table.length() / 2);
+        int used = 0;
+        for (int i = 0; i < entries; i++) {
+            long data = table.getOpaque(2 * i + 1);
+            if (data != MISS && generation(data) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / entries;
+    }
+
+    /**
+     * Gets the value of an entry.
+     *
+     * @param data The data returned by `probe`.
+     * @return The stored value.
+     */
+    public static int value(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Gets the best move of an entry.
+     *
+     * @param data The data returned by `probe`.
+     * @return The stored move.
+     */
+    public static int move(long data) {
+        return (int) (data >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * Gets the depth of an entry.
+     *
+     * @param data The data returned by `probe`.
+     * @return The stored depth.
+     */
+    public static int depth(long data) {
+        return (int) (data >>> 48) & 0xFF;
+    }
+
+    /**
+     * Gets the bound of an entry.
+     *
+     * @param data The data returned by `probe`.
+     * @return `EXACT`, `LOWER` or `UPPER`.
+     */
+    public static int bound(long data) {
+        return (int) (data >>> 56) & 0x3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 58) & 0x1F;
+    }
+
+    private int bucket(long key) {
+        // the high bits pick the bucket; the low bits are still checked through the key
+        return (int) ((key >>> 32 ^ key) & mask) * BUCKET_WORDS;
+    }
+}
\ No newline at end of file
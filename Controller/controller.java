@@ -1,9 +1,13 @@
 package Controller;
 
+import Metrics.Meters;
+import Metrics.TurnEvent;
 import Model.*;
 
-import java.util.Random;
+import java.io.IOException;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 
 /**
@@ -11,13 +15,19 @@ import java.util.Scanner;
  * Controls the flow of the game.
  * Ensures that all the rules are followed.
  * Handles the game logic.
+ * Can also run headless: moves are given through `playMove`/`discardMove`,
+ * nothing is printed and no objects are allocated while a turn is played
+ * (unless a Flight Recorder recording has the game events enabled).
  */
 public class controller {
     private final Board board;
     private final Player player1;
     private final Player player2;
-    private final Random random;
+    private final RandomGenerator random;
     private Player currentPlayer;
+    private int turns; // turns played
+    private EventLog log; // null when the game is not logged
+    private UndoStack undo; // created by the first `makeMove` or `makeDiscard`
 
     /**
      * Creates a new controller with two players.
@@ -36,11 +46,36 @@ public class controller {
      * @param player2 The second player.
      */
     public controller(Board board, Player player1, Player player2) {
+        this(board, player1, player2, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new controller with two players and a given random generator.
+     *
+     * Preconditions:
+     * - `board`, `player1` and `player2` are not null.
+     * - `random` is not null and is not shared with another thread.
+     *
+     * Postconditions:
+     * - `currentPlayer` is null initially.
+     * - The same generator state always picks the same starting player.
+     *
+     * @param board The board to control.
+     * @param player1 The first player.
+     * @param player2 The second player.
+     * @param random The random generator of the controller.
+     */
+    public controller(Board board, Player player1, Player player2, RandomGenerator random) {
+        if (random == null) {
+            throw new IllegalArgumentException("random cannot be null.");
+        }
         this.board = board;
         this.player1 = player1;
         this.player2 = player2;
-        this.random = new Random();
+        this.random = random;
         this.currentPlayer = null;
+        this.turns = 0;
+        board.attachPlayers(player1, player2);
     }
 
     /**
@@ -74,6 +109,21 @@ public class controller {
         }
     }
 
+    /**
+     * Gets the board of the game.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the board controlled by this controller.
+     *
+     * @return The board of the game.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
     /**
      * Gets the current player.
      *
@@ -100,17 +150,52 @@ public class controller {
      * - The turn logic is executed for the current player.
      */
     public void turn() {
+        long start = Meters.TURN.start();
+        TurnEvent event = TurnEvent.start();
+        Player player = currentPlayer;
+        int turn = turns;
+        try {
+            playTurn();
+        } finally {
+            Meters.TURN.stop(start);
+            commit(event, player, turn, false);
+        }
+    }
+
+    /**
+     * Commits the Flight Recorder event of a turn, if it is recorded.
+     *
+     * @param event The event, begun before the move, or null if it is not recorded.
+     * @param player The player of the turn.
+     * @param turn The number of turns played before this one.
+     * @param discard True if the turn was a discard.
+     */
+    private void commit(TurnEvent event, Player player, int turn, boolean discard) {
+        if (event != null && event.shouldCommit()) {
+            event.player = player.getName();
+            event.turn = turn;
+            event.discard = discard;
+            event.commit();
+        }
+    }
+
+    /**
+     * Reads and plays the move of the current player from the console.
+     */
+    private void playTurn() {
         System.out.println("Turn: " + currentPlayer.getName());
         System.out.println("Available cards: ");
         // print the cards in the player's hand
         for (int i = 0; i < currentPlayer.getCards().size(); i++) {
             System.out.println(i + 1 + ": " + currentPlayer.getCards().get(i));
         }
+        // one scanner for the whole turn, left open: it would close System.in
+        Scanner scanner = new Scanner(System.in);
         //select a card to play
         Card playCard = null;
         while (playCard == null) {
             System.out.println("Choose a card to play (1-" + currentPlayer.getCards().size() + "): ");
-            int choice = new Scanner(System.in).nextInt();
+            int choice = scanner.nextInt();
             if (choice >= 1 && choice <= currentPlayer.getCards().size()) {
                 playCard = currentPlayer.getCards().get(choice - 1);
             } else {
@@ -120,7 +205,6 @@ public class controller {
         // validate the selected card
         try {
             System.out.println("Select a path by entering its index:");
-            Scanner scanner = new Scanner(System.in);
 
             // validate user input
             int selectedPath;
@@ -137,9 +221,8 @@ public class controller {
                     scanner.next(); // discard invalid input
                 }
             }
-            scanner.close();
             // play the card on the selected path
-            currentPlayer.playCard(playCard, selectedPath, board);
+            currentPlayer.playCard(playCard, selectedPath, board, getOpponent());
             System.out.println(currentPlayer.getName() + " played: " + playCard);
         } catch (IllegalArgumentException e) {
             System.out.println("Cannot play this card: " + e.getMessage());
@@ -173,7 +256,7 @@ public class controller {
         }
 
         // get the path index
-        int pathIndex = board.getPathIndex(currentPath); // ensure this method exists or implement it
+        int pathIndex = board.getPathIndex(currentPath);
 
         // get the last played card on this path
         Card lastPlayedCard = board.getLastPlayedCard(pathIndex);
@@ -193,8 +276,13 @@ public class controller {
      *
      * Postconditions:
      * - `currentPlayer` is switched to the other player.
+     * - The turn is counted, and logged if the game is logged.
      */
     public void nextTurn() {
+        if (log != null) {
+            log.turn(currentPlayer == player2 ? 1 : 0);
+        }
+        turns++;
         if (currentPlayer == player1) {
             currentPlayer = player2;
         } else {
@@ -216,7 +304,7 @@ public class controller {
      */
     public boolean Winner() {
         // check if all paths are completed
-        boolean allPathsCompleted = board.getPaths().stream().allMatch(Path::isCompleted);
+        boolean allPathsCompleted = board.allPathsCompleted();
 
         // check which player has the highest score
         int player1Score = player1.getScore();
@@ -252,7 +340,7 @@ public class controller {
      */
     public boolean isGameOver() {
         // check if all paths are completed
-        boolean allPathsCompleted = board.getPaths().stream().allMatch(Path::isCompleted);
+        boolean allPathsCompleted = board.allPathsCompleted();
 
         // check if the deck is empty
         boolean deckEmpty = board.getDeck().getRemainingCards() == 0;
@@ -300,20 +388,20 @@ public class controller {
     //draw method is in the Deck class
 
     /**
-     * Plays a card on a pawn.
+     * Plays a card on the path of a pawn.
      *
      * Preconditions:
-     * - `pawn` is not null.
+     * - `pawn` is not null and on a path.
      * - `card` is not null.
-     * - `card` is playable on the given pawn (validity checked externally).
      *
      * Postconditions:
-     * - The card is removed from the player's hand.
-     * - The card is played on the specified pawn.
+     * - The card is played by the current player on the path of the pawn, like `playMove`
+     *   without ending the turn: a Minotaur card attacks the opponent's pawn on the path.
      * - The card is added to the discard pile.
      *
      * @param pawn The pawn to play the card on.
      * @param card The card to play.
+     * @throws IllegalArgumentException if the player does not have the card or it cannot be played there.
      */
     void playCard(Pawn pawn, Card card) {
         if (pawn == null) {
@@ -322,39 +410,11 @@ public class controller {
         if (card == null) {
             throw new IllegalArgumentException("Card cannot be null.");
         }
-
-        // check if the player has the card
-        if (!currentPlayer.getCards().contains(card)) {
-            throw new IllegalArgumentException("The player does not have this card.");
-        }
-
-        // remove the card from the player's hand
-        currentPlayer.getCards().remove(card);
-
-        // add the card to the discard pile
-        board.getDeck().discard(card);
-
-        // apply the effect of the card
-        if (card instanceof NumberCard) {
-            // move the pawn forward by the card's value
-            int steps = ((NumberCard) card).getValue();
-            pawn.move(steps);
-        } else if (card instanceof AriadneCard) {
-            // move the pawn forward by a fixed number of steps (e.g., +2)
-            pawn.move(2);
-        } else if (card instanceof MinotaurCard) {
-            // attack logic (e.g., decrease progress or destroy something)
-            Path currentPath = pawn.getCurrentPath();
-            ((MinotaurCard) card).attack(currentPlayer, currentPath);
-        } else {
-            throw new IllegalArgumentException("Unsupported card type.");
-        }
-
-        // optionally, update the board's last played card
-        int pathIndex = board.getPaths().indexOf(pawn.getCurrentPath());
-        if (pathIndex != -1) {
-            board.setLastPlayedCard(pathIndex, card);
+        Path path = pawn.getCurrentPath();
+        if (path == null) {
+            throw new IllegalStateException("pawn is not on a path.");
         }
+        currentPlayer.playCard(card, board.getPathIndex(path), board, getOpponent());
     }
 
 
@@ -382,4 +442,421 @@ public class controller {
             return 0;
         }
     }
+
+
+    /**
+     * Deals the starting hand to both players.
+     *
+     * Preconditions:
+     * - The deck holds at least `2 * GameSetup.HAND_SIZE` cards.
+     *
+     * Postconditions:
+     * - Each player has drawn `GameSetup.HAND_SIZE` cards.
+     */
+    public void dealHands() {
+        Deck deck = board.getDeck();
+        for (int i = 0; i < GameSetup.HAND_SIZE; i++) {
+            player1.drawCard(deck);
+            player2.drawCard(deck);
+        }
+    }
+
+    /**
+     * Plays a card of the current player and ends the turn.
+     *
+     * Preconditions:
+     * - `currentPlayer` is not null.
+     *
+     * Postconditions:
+     * - If the move is legal, the card is played, the player draws a card
+     *   (if the deck is not empty) and the turn passes to the other player.
+     * - If the move is illegal, nothing changes.
+     *
+     * @param cardIndex The index of the card in the current player's hand.
+     * @param pathIndex The index of the path to play the card on.
+     * @return true if the move was played, false if it is illegal.
+     */
+    public boolean playMove(int cardIndex, int pathIndex) {
+        long start = Meters.TURN.start();
+        TurnEvent event = TurnEvent.start();
+        Player player = currentPlayer;
+        int turn = turns;
+        if (!player.tryPlayCard(cardIndex, pathIndex, board, getOpponent())) {
+            return false;
+        }
+        endTurn();
+        Meters.TURN.stop(start);
+        commit(event, player, turn, false);
+        return true;
+    }
+
+    /**
+     * Discards a card of the current player and ends the turn.
+     *
+     * Preconditions:
+     * - `currentPlayer` is not null.
+     *
+     * Postconditions:
+     * - If the index is valid, the card is discarded, the player draws a card
+     *   (if the deck is not empty) and the turn passes to the other player.
+     *
+     * @param cardIndex The index of the card in the current player's hand.
+     * @return true if the card was discarded, false if the index is invalid.
+     */
+    public boolean discardMove(int cardIndex) {
+        long start = Meters.TURN.start();
+        TurnEvent event = TurnEvent.start();
+        Player player = currentPlayer;
+        int turn = turns;
+        if (!player.discardCard(cardIndex, board.getDeck())) {
+            return false;
+        }
+        endTurn();
+        Meters.TURN.stop(start);
+        commit(event, player, turn, true);
+        return true;
+    }
+
+    /**
+     * Plays a card of the current player like `playMove`, so that it can be taken back
+     * with `unmakeMove`. The changes are recorded on a preallocated undo stack, so a
+     * search can play and undo moves without copying the game.
+     *
+     * Preconditions:
+     * - `currentPlayer` is not null.
+     * - The game is not logged.
+     *
+     * Postconditions:
+     * - Same as `playMove`; if the move was played, `unmakeMove` restores the game as it was.
+     *
+     * @param cardIndex The index of the card in the current player's hand.
+     * @param pathIndex The index of the path to play the card on.
+     * @return true if the move was played, false if it is illegal.
+     */
+    public boolean makeMove(int cardIndex, int pathIndex) {
+        UndoStack stack = beginMove();
+        if (!currentPlayer.tryPlayCard(cardIndex, pathIndex, board, getOpponent(), stack)) {
+            stack.undo();
+            return false;
+        }
+        endTurn(stack);
+        return true;
+    }
+
+    /**
+     * Discards a card of the current player like `discardMove`, so that it can be taken back
+     * with `unmakeMove`.
+     *
+     * Preconditions:
+     * - `currentPlayer` is not null.
+     * - The game is not logged.
+     *
+     * Postconditions:
+     * - Same as `discardMove`; if the card was discarded, `unmakeMove` restores the game as it was.
+     *
+     * @param cardIndex The index of the card in the current player's hand.
+     * @return true if the card was discarded, false if the index is invalid.
+     */
+    public boolean makeDiscard(int cardIndex) {
+        UndoStack stack = beginMove();
+        if (!currentPlayer.discardCard(cardIndex, board.getDeck(), stack)) {
+            stack.undo();
+            return false;
+        }
+        endTurn(stack);
+        return true;
+    }
+
+    /**
+     * Takes back the last move made with `makeMove` or `makeDiscard`.
+     *
+     * Preconditions:
+     * - At least one move was made and not undone since the state was last loaded.
+     *
+     * Postconditions:
+     * - The board, both players, the current player and the turn count are as they
+     *   were before the move, and so is the hash of the game.
+     *
+     * @throws IllegalStateException if there is no move to undo.
+     */
+    public void unmakeMove() {
+        if (undo == null) {
+            throw new IllegalStateException("There is no move to undo.");
+        }
+        int tag = undo.undo();
+        currentPlayer = (tag & 1) == 1 ? player2 : player1;
+        turns = tag >>> 1;
+    }
+
+    /**
+     * Gets the number of moves that `unmakeMove` can take back.
+     *
+     * @return The number of moves made and not undone.
+     */
+    public int getUndoDepth() {
+        return undo == null ? 0 : undo.depth();
+    }
+
+    /**
+     * Opens the undo frame of a move, keeping the current player and the turn count in its tag.
+     *
+     * @return The undo stack of the game.
+     */
+    private UndoStack beginMove() {
+        if (log != null) {
+            throw new IllegalStateException("Moves cannot be undone while the game is logged.");
+        }
+        if (undo == null) {
+            undo = new UndoStack(128);
+        }
+        undo.begin(turns << 1 | (currentPlayer == player2 ? 1 : 0));
+        return undo;
+    }
+
+    /**
+     * Draws a card for the current player and passes the turn.
+     */
+    private void endTurn() {
+        endTurn(null);
+    }
+
+    /**
+     * Draws a card for the current player and passes the turn.
+     *
+     * @param stack The stack to record the draw on, or null.
+     */
+    private void endTurn(UndoStack stack) {
+        Deck deck = board.getDeck();
+        if (deck.getRemainingCards() > 0) {
+            currentPlayer.drawCard(deck, stack);
+        }
+        nextTurn();
+    }
+
+    /**
+     * Gets the player who is not playing this turn.
+     *
+     * Preconditions:
+     * - `currentPlayer` is not null.
+     *
+     * Postconditions:
+     * - Returns the opponent of the current player.
+     *
+     * @return The opponent of the current player.
+     */
+    public Player getOpponent() {
+        return currentPlayer == player1 ? player2 : player1;
+    }
+
+    /**
+     * Gets the number of turns played.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns a non-negative number of turns.
+     *
+     * @return The number of turns played.
+     */
+    public int getTurnCount() {
+        return turns;
+    }
+
+    /**
+     * Gets the Zobrist hash of the game, including the side to move.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the same hash for equal positions with the same player to move,
+     *   kept up to date in O(1) per move.
+     *
+     * @return The hash of the game.
+     */
+    public long getHash() {
+        return board.getHash() ^ (currentPlayer == player2 ? ZobristHash.side() : 0L);
+    }
+
+    /**
+     * Gets the final score of a player: collected findings plus the positions of the pawns.
+     *
+     * Preconditions:
+     * - `player` is not null.
+     *
+     * Postconditions:
+     * - Returns the total score of the player.
+     *
+     * @param player The player to score.
+     * @return The total score of the player.
+     */
+    public int totalScore(Player player) {
+        return player.getScore() + player.getPositionScore();
+    }
+
+    /**
+     * Gets the winner of the game without printing anything.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns 1 if player 1 leads, 2 if player 2 leads, 0 on a draw.
+     *
+     * @return The number of the leading player, or 0 on a draw.
+     */
+    public int getWinner() {
+        int player1Score = totalScore(player1);
+        int player2Score = totalScore(player2);
+        if (player1Score > player2Score) {
+            return 1;
+        } else if (player2Score > player1Score) {
+            return 2;
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the whole game into a packed state.
+     *
+     * Preconditions:
+     * - `state` is not null.
+     *
+     * Postconditions:
+     * - `state` describes the board, both players and the current player.
+     *
+     * @param state The state to write to.
+     */
+    public void saveState(GameState state) {
+        state.capture(board, player1, player2, currentPlayer == player2 ? 1 : 0, turns);
+    }
+
+    /**
+     * Restores the whole game from a packed state.
+     *
+     * Preconditions:
+     * - `state` was saved from a game built the same way as this one.
+     *
+     * Postconditions:
+     * - The board, both players and the current player match `state`.
+     *
+     * @param state The state to read from.
+     */
+    public void loadState(GameState state) {
+        state.restore(board, player1, player2);
+        currentPlayer = state.getCurrentPlayer() == 1 ? player2 : player1;
+        turns = state.getTurns();
+        if (undo != null) {
+            undo.clear();
+        }
+    }
+
+    /**
+     * Starts logging the game to a binary event log.
+     *
+     * Preconditions:
+     * - The game is not already logged.
+     *
+     * Postconditions:
+     * - The log starts from the current state of the game.
+     * - Every draw, play, discard, pawn move, box, reveal, reshuffle and turn is appended to the log.
+     *
+     * @param file The path of the log file.
+     * @return The log, to be closed with `stopEventLog`.
+     * @throws IOException if the file cannot be created.
+     */
+    public EventLog startEventLog(String file) throws IOException {
+        GameState start = new GameState();
+        saveState(start);
+        log = EventLog.create(file, start);
+        player1.setEventLog(log, 0);
+        player2.setEventLog(log, 1);
+        board.getDeck().setEventLog(log);
+        return log;
+    }
+
+    /**
+     * Stops logging the game and closes the log.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Nothing is logged anymore and the log file is complete.
+     *
+     * @throws IOException if the log cannot be written.
+     */
+    public void stopEventLog() throws IOException {
+        if (log == null) {
+            return;
+        }
+        player1.setEventLog(null, 0);
+        player2.setEventLog(null, 1);
+        board.getDeck().setEventLog(null);
+        EventLog closed = log;
+        log = null;
+        closed.close();
+    }
+
+    /**
+     * Rebuilds the game from the first events of an event log.
+     *
+     * Preconditions:
+     * - The log was written by a game built the same way as this one.
+     * - 0 <= `events` <= `replayer.getEventCount()`.
+     *
+     * Postconditions:
+     * - The board, both players and the current player are as they were after `events` events.
+     *
+     * @param replayer The reader of the log.
+     * @param events The number of events to apply.
+     */
+    public void replay(GameReplayer replayer, int events) {
+        replayer.replay(events, board, player1, player2);
+        currentPlayer = replayer.getCurrentPlayer() == 1 ? player2 : player1;
+        turns = replayer.getTurns();
+    }
+
+    /**
+     * Saves the whole game to a file.
+     *
+     * Preconditions:
+     * - `file` is a writable path.
+     *
+     * Postconditions:
+     * - The file holds the board, the deck, both players and the current player.
+     *
+     * @param file The path of the save file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void saveGame(String file) throws IOException {
+        GameState state = new GameState();
+        saveState(state);
+        try (GameStore store = new GameStore(file, 1)) {
+            store.save(0, state);
+        }
+    }
+
+    /**
+     * Loads the whole game from a file written by `saveGame`.
+     *
+     * Preconditions:
+     * - The file was saved from a game built the same way as this one.
+     *
+     * Postconditions:
+     * - The board, the deck, both players and the current player match the saved game.
+     *
+     * @param file The path of the save file.
+     * @throws IOException if the file does not exist, cannot be read or holds no game.
+     */
+    public void loadGame(String file) throws IOException {
+        GameState state = new GameState();
+        try (GameStore store = GameStore.open(file)) {
+            if (!store.load(0, state)) {
+                throw new IOException("No saved game in " + file);
+            }
+        }
+        loadState(state);
+    }
 }
\ No newline at end of file
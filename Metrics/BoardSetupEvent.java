@@ -0,0 +1,44 @@
+package Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of the initialization of a board.
+ */
+@Name("game.BoardSetup")
+@Label("Board Setup")
+@Category("Game")
+@Description("The deck of a board shuffled and the findings placed on its paths.")
+public final class BoardSetupEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(BoardSetupEvent.class);
+
+    @Label("Paths")
+    public int paths;
+
+    @Label("Cards")
+    @Description("Number of cards in the deck.")
+    public int cards;
+
+    @Label("Findings")
+    @Description("Number of boxes that hold a finding.")
+    public int findings;
+
+    /**
+     * Begins the event of a board setup if the event is enabled in a recording. Nothing is
+     * allocated otherwise, so the event costs one check when Flight Recorder is off.
+     *
+     * @return The begun event, or null if the event is not enabled.
+     */
+    public static BoardSetupEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        BoardSetupEvent event = new BoardSetupEvent();
+        event.begin();
+        return event;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of a box opened by an archaeologist or destroyed by Theseus.
+ */
+@Name("game.Box")
+@Label("Box")
+@Category("Game")
+@Description("A box opened by an archaeologist or destroyed by Theseus.")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class BoxEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(BoxEvent.class);
+
+    @Label("Player")
+    public String player;
+
+    @Label("Action")
+    @Description("\"open\" or \"destroy\".")
+    public String action;
+
+    @Label("Path Index")
+    public int path;
+
+    @Label("Position")
+    public int position;
+
+    @Label("Finding")
+    @Description("The finding that was in the box, or null if there was none.")
+    public String finding;
+
+    @Label("Successful")
+    @Description("True if a finding was taken or the box was destroyed.")
+    public boolean successful;
+
+    /**
+     * Begins the event of a box if the event is enabled in a recording. Nothing is
+     * allocated otherwise, so the event costs one check when Flight Recorder is off.
+     *
+     * @return The begun event, or null if the event is not enabled.
+     */
+    public static BoxEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        BoxEvent event = new BoxEvent();
+        event.begin();
+        return event;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of events. Threads add to separate cells, so counting never contends.
+ */
+public final class Counter {
+    private final String name;
+    private final String help;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    /**
+     * Counts one event, if metrics are enabled.
+     */
+    public void increment() {
+        if (Meters.ENABLED) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Counts several events, if metrics are enabled.
+     *
+     * @param events The number of events.
+     */
+    public void add(long events) {
+        if (Meters.ENABLED) {
+            count.add(events);
+        }
+    }
+
+    /**
+     * Gets the number of events counted.
+     *
+     * @return The count.
+     */
+    public long get() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+}
\ No newline at end of file
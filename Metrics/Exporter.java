@@ -0,0 +1,11 @@
+package Metrics;
+
+import java.io.Closeable;
+
+/**
+ * Publishes the meters of `Meters` until it is closed.
+ */
+public interface Exporter extends Closeable {
+    @Override
+    void close();
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package Metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints `Meters.report()` at a fixed period from a daemon thread.
+ */
+public final class LogReporter implements Exporter {
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Starts reporting.
+     *
+     * Preconditions:
+     * - `out` is not null.
+     * - `periodSeconds` is greater than 0.
+     *
+     * Postconditions:
+     * - A report is printed every `periodSeconds` seconds until `close` is called;
+     *   nothing is printed while no meter has recorded anything.
+     *
+     * @param out The stream to print to.
+     * @param periodSeconds The period of the reports in seconds.
+     */
+    public LogReporter(PrintStream out, long periodSeconds) {
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null.");
+        }
+        if (periodSeconds <= 0) {
+            throw new IllegalArgumentException("periodSeconds must be greater than 0.");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            String report = Meters.report();
+            if (!report.isEmpty()) {
+                out.println("[metrics] " + report);
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
\ No newline at end of file
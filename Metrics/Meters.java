@@ -0,0 +1,195 @@
+package Metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Registry of the counters and timers of the game.
+ *
+ * Instrumentation is switched on with the system property `game.metrics=true`. The flag
+ * is a static final constant, so when it is off the JIT removes every `Counter.increment`,
+ * `Timer.start` and `Timer.stop` call and the instrumented code runs as if it had none.
+ *
+ * Timers measure nanoseconds into log-linear histograms (see `Timer`) and counters are
+ * striped, so recording never takes a lock. The meters are exported by a `PrometheusEndpoint`
+ * or a `LogReporter`, or on demand with `writePrometheus` and `report`.
+ */
+public final class Meters {
+    public static final boolean ENABLED = Boolean.getBoolean("game.metrics");
+
+    private static final List<Counter> COUNTERS = new ArrayList<>();
+    private static final List<Timer> TIMERS = new ArrayList<>();
+
+    public static final Timer PLAY_CARD = timer("player_play_card", "Time to play a card from a hand.");
+    public static final Counter DECK_DRAW = counter("deck_draws", "Cards drawn from a deck.");
+    public static final Timer DECK_SHUFFLE = timer("deck_shuffle", "Time to shuffle a deck.");
+    public static final Timer DECK_RESHUFFLE = timer("deck_reshuffle_discards", "Time to shuffle the discards back into a deck.");
+    public static final Timer ADD_FINDINGS = timer("board_add_findings", "Time to place the findings on the paths of a board.");
+    public static final Timer TURN = timer("controller_turn", "Time of a turn, from the move to the draw that ends it.");
+    public static final Counter MINOTAUR_ATTACKS = counter("minotaur_attacks", "Minotaur cards played.");
+    public static final Counter MINOTAUR_BLOCKED = counter("minotaur_attacks_blocked", "Minotaur attacks that did not move a pawn.");
+    public static final Timer AI_SEARCH = timer("ai_search", "Time an AI player searched for a move.");
+    public static final Counter AI_ITERATIONS = counter("ai_search_iterations", "Iterations of the AI searches.");
+    public static final Counter AI_BOOK_HITS = counter("ai_opening_book_hits", "Moves found in the opening book.");
+    public static final Counter AI_TABLEBASE_HITS = counter("ai_tablebase_hits", "Moves found in the endgame tablebase.");
+
+    private Meters() {
+    }
+
+    /**
+     * Creates and registers a counter.
+     *
+     * @param name The name of the counter, in snake case.
+     * @param help The description of the counter.
+     * @return The counter.
+     */
+    private static Counter counter(String name, String help) {
+        Counter counter = new Counter(name, help);
+        COUNTERS.add(counter);
+        return counter;
+    }
+
+    /**
+     * Creates and registers a timer.
+     *
+     * @param name The name of the timer, in snake case.
+     * @param help The description of the timer.
+     * @return The timer.
+     */
+    private static Timer timer(String name, String help) {
+        Timer timer = new Timer(name, help);
+        TIMERS.add(timer);
+        return timer;
+    }
+
+    /**
+     * Gets all the counters.
+     *
+     * @return The unmodifiable list of counters.
+     */
+    public static List<Counter> counters() {
+        return Collections.unmodifiableList(COUNTERS);
+    }
+
+    /**
+     * Gets all the timers.
+     *
+     * @return The unmodifiable list of timers.
+     */
+    public static List<Timer> timers() {
+        return Collections.unmodifiableList(TIMERS);
+    }
+
+    /**
+     * Writes every meter in the Prometheus text exposition format.
+     * Counters become `game_<name>_total`; timers become summaries in seconds
+     * with the 0.5, 0.9, 0.99 and 0.999 quantiles.
+     *
+     * Preconditions:
+     * - `out` is not null.
+     *
+     * Postconditions:
+     * - The values are a snapshot taken while writing; recording goes on meanwhile.
+     *
+     * @param out The output to write to.
+     * @throws IOException if `out` cannot be written.
+     */
+    public static void writePrometheus(Appendable out) throws IOException {
+        for (Counter counter : COUNTERS) {
+            String name = "game_" + counter.getName() + "_total";
+            out.append("# HELP ").append(name).append(' ').append(counter.getHelp()).append('\n');
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append(' ').append(Long.toString(counter.get())).append('\n');
+        }
+        for (Timer timer : TIMERS) {
+            String name = "game_" + timer.getName() + "_seconds";
+            out.append("# HELP ").append(name).append(' ').append(timer.getHelp()).append('\n');
+            out.append("# TYPE ").append(name).append(" summary\n");
+            for (double quantile : new double[] {0.5, 0.9, 0.99, 0.999}) {
+                out.append(name).append("{quantile=\"").append(Double.toString(quantile)).append("\"} ")
+                        .append(seconds(timer.percentile(quantile * 100))).append('\n');
+            }
+            out.append(name).append("_count ").append(Long.toString(timer.count())).append('\n');
+            out.append(name).append("_sum ").append(seconds(timer.totalNanos())).append('\n');
+        }
+    }
+
+    /**
+     * Formats every meter that recorded something as one line of text.
+     *
+     * @return The report, empty if nothing was recorded.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (Counter counter : COUNTERS) {
+            if (counter.get() > 0) {
+                report.append(counter.getName()).append('=').append(counter.get()).append(' ');
+            }
+        }
+        for (Timer timer : TIMERS) {
+            if (timer.count() > 0) {
+                report.append(String.format(Locale.ROOT, "%s{n=%d p50=%.1fus p99=%.1fus max=%.1fus} ",
+                        timer.getName(), timer.count(), timer.percentile(50) / 1e3,
+                        timer.percentile(99) / 1e3, timer.max() / 1e3));
+            }
+        }
+        return report.toString().trim();
+    }
+
+    /**
+     * Clears every meter.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Every counter and timer reads 0; records made meanwhile may be kept or lost.
+     */
+    public static void reset() {
+        for (Counter counter : COUNTERS) {
+            counter.reset();
+        }
+        for (Timer timer : TIMERS) {
+            timer.reset();
+        }
+    }
+
+    /**
+     * Starts the exporter described by the system property `game.metrics.export`:
+     * `prometheus:<port>` serves the meters over HTTP on localhost, and `log:<seconds>`
+     * prints a report to standard error at that period.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the started exporter, or null if metrics are disabled or no exporter is set.
+     *
+     * @return The exporter, to be closed when the program stops.
+     * @throws IOException if the HTTP endpoint cannot be opened.
+     */
+    public static Exporter startExporter() throws IOException {
+        String spec = System.getProperty("game.metrics.export");
+        if (!ENABLED || spec == null || spec.isEmpty()) {
+            return null;
+        }
+        int colon = spec.indexOf(':');
+        String kind = colon < 0 ? spec : spec.substring(0, colon);
+        String argument = colon < 0 ? "" : spec.substring(colon + 1);
+        switch (kind) {
+            case "prometheus":
+                return new PrometheusEndpoint(argument.isEmpty() ? 9404 : Integer.parseInt(argument));
+            case "log":
+                return new LogReporter(System.err, argument.isEmpty() ? 10 : Long.parseLong(argument));
+            default:
+                throw new IllegalArgumentException("Unknown metrics exporter: " + spec);
+        }
+    }
+
+    private static String seconds(double nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+}
\ No newline at end of file
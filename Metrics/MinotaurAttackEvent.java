@@ -0,0 +1,51 @@
+package Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of a Minotaur attack.
+ */
+@Name("game.MinotaurAttack")
+@Label("Minotaur Attack")
+@Category("Game")
+@Description("A Minotaur card played against the pawn of the opponent on a path.")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class MinotaurAttackEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(MinotaurAttackEvent.class);
+
+    @Label("Target Player")
+    public String player;
+
+    @Label("Path Index")
+    public int path;
+
+    @Label("Position")
+    @Description("Position of the attacked pawn before the attack, or -1 if there is no pawn.")
+    public int position;
+
+    @Label("Successful")
+    @Description("True if the pawn was moved back.")
+    public boolean successful;
+
+    /**
+     * Begins the event of an attack if the event is enabled in a recording. Nothing is
+     * allocated otherwise, so the event costs one check when Flight Recorder is off.
+     *
+     * @return The begun event, or null if the event is not enabled.
+     */
+    public static MinotaurAttackEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        MinotaurAttackEvent event = new MinotaurAttackEvent();
+        event.begin();
+        return event;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package Metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the meters in the Prometheus text format at `http://127.0.0.1:<port>/metrics`.
+ * The endpoint only listens on the loopback interface, for a local scraper or agent.
+ */
+public final class PrometheusEndpoint implements Exporter {
+    private final HttpServer server;
+
+    /**
+     * Starts the endpoint.
+     *
+     * Preconditions:
+     * - `port` is between 0 and 65535; 0 picks a free port.
+     *
+     * Postconditions:
+     * - Scrapes are answered on a daemon thread until `close` is called.
+     *
+     * @param port The port to listen on.
+     * @throws IOException if the port cannot be opened.
+     */
+    public PrometheusEndpoint(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            StringBuilder text = new StringBuilder(4096);
+            Meters.writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Gets the port the endpoint listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
\ No newline at end of file
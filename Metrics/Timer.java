@@ -0,0 +1,186 @@
+package Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency timer backed by a log-linear histogram, in the manner of HdrHistogram.
+ *
+ * Values below 32 ns get a bucket each; above that, every power of two is split into
+ * 16 buckets, so any recorded value is known within 1/16 (about 6%) over the whole
+ * range of a long, in under 1000 buckets. Recording is one atomic increment of a bucket
+ * and never allocates or locks.
+ *
+ * Use: `long start = timer.start(); ... timer.stop(start);`
+ */
+public final class Timer {
+    private static final int SUB_BITS = 4; // 16 buckets per power of two
+    private static final int LINEAR = 2 << SUB_BITS; // values below get their own bucket
+    private static final int BUCKETS = (65 - SUB_BITS) << SUB_BITS;
+
+    private final String name;
+    private final String help;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Timer(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    /**
+     * Starts a measure.
+     *
+     * @return The start time to pass to `stop`, or 0 if metrics are disabled.
+     */
+    public long start() {
+        return Meters.ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Ends a measure and records it.
+     *
+     * @param start The value returned by `start`.
+     */
+    public void stop(long start) {
+        if (Meters.ENABLED) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a duration, if metrics are enabled.
+     *
+     * Preconditions:
+     * - None; negative durations are recorded as 0.
+     *
+     * Postconditions:
+     * - The duration is counted in its bucket, the total and the maximum.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (!Meters.ENABLED) {
+            return;
+        }
+        long value = Math.max(0L, nanos);
+        buckets.getAndIncrement(bucket(value));
+        total.add(value);
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return The count.
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the sum of the recorded durations.
+     *
+     * @return The total in nanoseconds.
+     */
+    public long totalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Gets a percentile of the recorded durations.
+     *
+     * Preconditions:
+     * - `percentile` is between 0 and 100.
+     *
+     * Postconditions:
+     * - Returns the upper bound of the bucket that holds the percentile,
+     *   never more than `max()`, or 0 if nothing was recorded.
+     *
+     * @param percentile The percentile, for example 99.9.
+     * @return The duration in nanoseconds.
+     */
+    public long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highest(i), max());
+            }
+        }
+        return max();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+        total.reset();
+        max.set(0L);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * Gets the bucket of a value.
+     *
+     * @param value A non-negative value.
+     * @return The index of its bucket.
+     */
+    static int bucket(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS; // keeps the top SUB_BITS + 1 bits
+        return (shift << SUB_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the highest value of a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The largest value that falls in the bucket.
+     */
+    static long highest(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BITS) - 1;
+        long top = (bucket & ((1 << SUB_BITS) - 1)) | 1 << SUB_BITS;
+        return ((top + 1) << shift) - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of a turn, from the move to the draw that ends it.
+ */
+@Name("game.Turn")
+@Label("Turn")
+@Category("Game")
+@Description("A turn of a player, from the move to the draw that ends it.")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class TurnEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(TurnEvent.class);
+
+    @Label("Player")
+    public String player;
+
+    @Label("Turn")
+    @Description("Number of turns played before this one.")
+    public int turn;
+
+    @Label("Discard")
+    @Description("True if the player discarded a card instead of playing one.")
+    public boolean discard;
+
+    /**
+     * Begins the event of a turn if the event is enabled in a recording. Nothing is
+     * allocated otherwise, so the event costs one check when Flight Recorder is off.
+     *
+     * @return The begun event, or null if the event is not enabled.
+     */
+    public static TurnEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        return event;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package Model;
+
+/**
+ * Ariadne card with a number of steps (steps = +2).
+ */
+public class AriadneCard extends Card {
+    private static final int steps =+ 2;
+
+    /**
+     * Creates a new Ariadne card.
+     *
+     * Preconditions:
+     * - `palace` is not null and not empty.
+     *
+     * Postconditions:
+     * - An Ariadne card is initialized with the given palace and fixed steps.
+     *
+     * @param palace The name of the palace the card belongs to.
+     */
+    public AriadneCard(String palace) {
+        super(palace, 10);
+    }
+
+    /**
+     * Gets the number of steps the card has.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the number of steps as a constant value (2).
+     *
+     * @return card's steps.
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    @Override
+    public boolean isPlayable(Card previousCard) {
+        //Ariadne card can be played every time
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return getPalace() + " Ariadne";
+    }
+}
\ No newline at end of file
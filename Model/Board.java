@@ -1,17 +1,30 @@
 package Model;
 
-import java.util.HashMap;
+import Metrics.BoardSetupEvent;
+import Metrics.Meters;
+
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the board of the game.
  */
 public class Board {
     private final List<Path> paths;
-    private final Map<String, RareFinding> rareFindings;
+    private final RareFinding[] rareFindings; //rare finding of each palace, by palace ordinal
     private final Deck deck;
     private final Card[] lastPlayedCards; //contains the last played cards for each path
+    private final int[] pathPalaces; //palace index of each path
+    private final int[] palacePaths; //path index of each palace, -1 if the palace has no path
+    private final long[] playableMasks; //card kinds that can be played on each path
+    private final RandomGenerator random; //places the findings
+    private final FindingPosition[][] findingSlots; //finding positions of each path
+    private final FindingPosition[][] freeSlots; //empty finding positions of each path, used while placing
+    private final int[] freeCounts; //number of empty finding positions of each path, used while placing
+    private int completedPaths; //number of completed paths, kept up to date by Path.setCompleted
+    private final ZobristHash hash; //hash of the position, kept up to date by the pieces
 
     /**
      * Creates a new board with the given paths and deck.
@@ -23,16 +36,89 @@ public class Board {
      * Postconditions:
      * - `paths` is initialized with the provided list.
      * - `deck` is initialized with the provided deck.
-     * - `rareFindings` is an empty map.
+     * - `rareFindings` contains the rare finding of each palace.
      *
      * @param paths The list of paths on the board.
      * @param deck The deck of cards.
      */
     public Board(List<Path> paths, Deck deck) {
+        this(paths, deck, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new board that places the findings with the given generator.
+     *
+     * Preconditions:
+     * - `paths` is not null and contains valid Path objects.
+     * - `deck` is not null and contains a valid deck of cards.
+     * - `random` is not null and is not shared with another thread.
+     *
+     * Postconditions:
+     * - Same as `Board(paths, deck)`.
+     * - The same generator state always gives the same placement of findings.
+     *
+     * @param paths The list of paths on the board.
+     * @param deck The deck of cards.
+     * @param random The random generator of the board.
+     */
+    public Board(List<Path> paths, Deck deck, RandomGenerator random) {
+        if (random == null) {
+            throw new IllegalArgumentException("random cannot be null.");
+        }
+        if (paths.size() > ZobristHash.MAX_PATHS) {
+            throw new IllegalArgumentException("A board has at most " + ZobristHash.MAX_PATHS + " paths.");
+        }
+        for (Path path : paths) {
+            if (path.getLength() > ZobristHash.MAX_POSITIONS) {
+                throw new IllegalArgumentException("A path has at most " + ZobristHash.MAX_POSITIONS + " positions.");
+            }
+        }
+        this.random = random;
         this.paths = paths;
+        this.hash = new ZobristHash();
         this.deck = deck;
-        this.rareFindings = new HashMap<>();
+        this.rareFindings = new RareFinding[Palace.count()];
         this.lastPlayedCards = new Card[paths.size()];
+        this.pathPalaces = new int[paths.size()];
+        this.palacePaths = new int[Palace.count()];
+        this.playableMasks = new long[paths.size()];
+        Arrays.fill(palacePaths, -1);
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            path.setBoard(this, i);
+            if (path.isCompleted()) {
+                completedPaths++;
+            }
+            int palace = path.getPalace() == null ? -1 : path.getPalace().ordinal();
+            pathPalaces[i] = palace;
+            if (palace >= 0) {
+                palacePaths[palace] = i;
+            }
+            playableMasks[i] = playableMask(palace, null);
+        }
+
+        this.findingSlots = new FindingPosition[paths.size()][];
+        this.freeSlots = new FindingPosition[paths.size()][];
+        this.freeCounts = new int[paths.size()];
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            int count = Integer.bitCount(path.getBoxMask());
+            findingSlots[i] = new FindingPosition[count];
+            freeSlots[i] = new FindingPosition[count];
+            count = 0;
+            for (int boxes = path.getBoxMask(); boxes != 0; boxes &= boxes - 1) {
+                int j = Integer.numberOfTrailingZeros(boxes);
+                FindingPosition position = (FindingPosition) path.getPosition(j);
+                position.attachHash(hash, i, j);
+                findingSlots[i][count++] = position;
+            }
+        }
+
+        // one rare finding per palace
+        for (int i = 0; i < rareFindings.length; i++) {
+            rareFindings[i] = Pieces.rareFinding(i);
+        }
+        hash.set(ZobristHash.compute(this, null, null));
     }
 
     /**
@@ -47,8 +133,23 @@ public class Board {
      * - Findings are distributed across the paths.
      */
     public void initializeBoard() {
+        BoardSetupEvent event = BoardSetupEvent.start();
         deck.shuffle();
         addFindingsToPaths();
+        if (event != null && event.shouldCommit()) {
+            int findings = 0;
+            for (FindingPosition[] slots : findingSlots) {
+                for (FindingPosition slot : slots) {
+                    if (slot.getFinding() != null) {
+                        findings++;
+                    }
+                }
+            }
+            event.paths = paths.size();
+            event.cards = deck.getRemainingCards();
+            event.findings = findings;
+            event.commit();
+        }
     }
 
 
@@ -59,18 +160,51 @@ public class Board {
      * - `palace` is a valid non-null string.
      *
      * Postconditions:
-     * - Returns the Path associated with the given palace name, or null if not found.
+     * - Returns the Path associated with the given palace name (ignoring case), or null if not found.
      *
      * @param palace The name of the palace.
      * @return The path associated with the palace.
      */
     public Path getPath(String palace) {
-        for (Path path : paths) {
-            if (path.getPalaceName().equalsIgnoreCase(palace)) {
-                return path;
-            }
+        Palace known = Palace.of(palace);
+        return known == null ? null : getPath(known);
+    }
+
+    /**
+     * Gets the path of a palace in O(1).
+     *
+     * Preconditions:
+     * - `palace` is not null.
+     *
+     * Postconditions:
+     * - Returns the path of the palace, or null if the board has none.
+     *
+     * @param palace The palace.
+     * @return The path of the palace.
+     */
+    public Path getPath(Palace palace) {
+        int pathIndex = palacePaths[palace.ordinal()];
+        return pathIndex < 0 ? null : paths.get(pathIndex);
+    }
+
+
+    /**
+     * Gets the path at the given index.
+     *
+     * Preconditions:
+     * - `pathIndex` is a valid index (0 <= pathIndex < paths.size()).
+     *
+     * Postconditions:
+     * - Returns the Path object at the specified index.
+     *
+     * @param pathIndex The index of the path.
+     * @return The path at the given index.
+     */
+    public Path getPathByIndex(int pathIndex) {
+        if (pathIndex < 0 || pathIndex >= paths.size()) {
+            throw new IllegalArgumentException("Invalid path index.");
         }
-        return null;
+        return paths.get(pathIndex);
     }
 
 
@@ -89,6 +223,81 @@ public class Board {
         return paths;
     }
 
+    /**
+     * Gets the number of completed paths in O(1).
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns how many paths of the board are completed.
+     *
+     * @return The number of completed paths.
+     */
+    public int getCompletedPaths() {
+        return completedPaths;
+    }
+
+    /**
+     * Checks in O(1) if every path of the board is completed.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns true if all paths are completed, false otherwise.
+     *
+     * @return True if all paths are completed.
+     */
+    public boolean allPathsCompleted() {
+        return completedPaths == paths.size();
+    }
+
+    /**
+     * Updates the count of completed paths when a path changes.
+     *
+     * @param pathIndex The index of the path.
+     * @param completed True if a path became completed, false if it was reset.
+     */
+    void pathCompletionChanged(int pathIndex, boolean completed) {
+        completedPaths += completed ? 1 : -1;
+        hash.completedChanged(pathIndex);
+    }
+
+    /**
+     * Attaches the players of the game to the hash of the board.
+     *
+     * Preconditions:
+     * - `player1` and `player2` are not null and play on this board.
+     *
+     * Postconditions:
+     * - `getHash()` covers the board and both players, and follows every later change
+     *   of their hands, findings and pawns in O(1).
+     *
+     * @param player1 The first player.
+     * @param player2 The second player.
+     */
+    public void attachPlayers(Player player1, Player player2) {
+        player1.attachHash(hash, 0);
+        player2.attachHash(hash, 1);
+        hash.set(ZobristHash.compute(this, player1, player2));
+    }
+
+    /**
+     * Gets the Zobrist hash of the position, see `ZobristHash`.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the same hash for equal positions, without the side to move.
+     *
+     * @return The hash of the position.
+     */
+    public long getHash() {
+        return hash.get();
+    }
+
 
     /**
      * Gets the deck of the game.
@@ -115,16 +324,21 @@ public class Board {
      *
      * Postconditions:
      * - Findings are distributed across the paths based on predefined rules.
+     * - Every empty finding position is as likely as before to receive a regular finding:
+     *   a random path, then a random position of that path, among the empty ones.
+     *
+     * @throws IllegalStateException if there are more regular findings than empty finding positions.
      */
     public void addFindingsToPaths() {
+        long start = Meters.ADD_FINDINGS.start();
         // place rare findings
         for (Path path : paths) {
-            String palaceName = path.getPalaceName();
-            RareFinding rareFinding = rareFindings.get(palaceName);
+            Palace palace = path.getPalace();
+            RareFinding rareFinding = palace == null ? null : rareFindings[palace.ordinal()];
 
             // randomly select a valid position for the rare finding
             int[] validPositions = {2, 4, 6, 8, 9};
-            int randomIndex = (int) (Math.random() * validPositions.length);
+            int randomIndex = random.nextInt(validPositions.length);
             int positionIndex = validPositions[randomIndex];
 
             // check if the position is available
@@ -136,25 +350,50 @@ public class Board {
 
         // place regular findings (statues and frescoes)
         List<Finding> regularFindings = deck.generateRegularFindings(); // statues and frescoes
+
+        // index the empty finding positions of each path
+        int free = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            int count = 0;
+            for (FindingPosition position : findingSlots[i]) {
+                if (position.getFinding() == null) {
+                    freeSlots[i][count++] = position;
+                }
+            }
+            freeCounts[i] = count;
+            free += count;
+        }
+        if (free < regularFindings.size()) {
+            throw new IllegalStateException("Cannot place " + regularFindings.size()
+                    + " findings in " + free + " empty finding positions.");
+        }
+
+        // sample without replacement: a position of path i is picked with weight 1 / length of path i,
+        // the same as picking a random path and a random position until an empty box is hit
         for (Finding finding : regularFindings) {
-            boolean placed = false;
-            while (!placed) {
-                // select a random path
-                int randomPathIndex = (int) (Math.random() * paths.size());
-                Path randomPath = paths.get(randomPathIndex);
-
-                // select a random position
-                int randomPositionIndex = (int) (Math.random() * randomPath.getLength());
-                if (randomPath.getPosition(randomPositionIndex) instanceof FindingPosition) {
-                    FindingPosition position = (FindingPosition) randomPath.getPosition(randomPositionIndex);
-                    // check if the position is empty
-                    if (position.getFinding() == null) {
-                        position.setFinding(finding);
-                        placed = true;
-                    }
+            double total = 0;
+            for (int i = 0; i < paths.size(); i++) {
+                total += (double) freeCounts[i] / paths.get(i).getLength();
+            }
+            double target = random.nextDouble() * total;
+            int pathIndex = 0;
+            while (pathIndex < paths.size() - 1) {
+                target -= (double) freeCounts[pathIndex] / paths.get(pathIndex).getLength();
+                if (target < 0 && freeCounts[pathIndex] > 0) {
+                    break;
                 }
+                pathIndex++;
+            }
+            while (freeCounts[pathIndex] == 0) { // rounding left us on a full path
+                pathIndex--;
             }
+
+            FindingPosition[] slots = freeSlots[pathIndex];
+            int slot = random.nextInt(freeCounts[pathIndex]);
+            slots[slot].setFinding(finding);
+            slots[slot] = slots[--freeCounts[pathIndex]];
         }
+        Meters.ADD_FINDINGS.stop(start);
     }
 
 
@@ -175,7 +414,67 @@ public class Board {
         if (pathIndex < 0 || pathIndex >= paths.size()) {
             throw new IllegalArgumentException("Invalid path index.");
         }
+        Card before = lastPlayedCards[pathIndex];
         lastPlayedCards[pathIndex] = card;
+        playableMasks[pathIndex] = playableMask(pathPalaces[pathIndex], card);
+        hash.topCardChanged(pathIndex, before == null ? -1 : before.getKind(), card == null ? -1 : card.getKind());
+    }
+
+    /**
+     * Gets the card kinds that can be played on a path.
+     *
+     * Preconditions:
+     * - `pathIndex` is a valid index (0 <= pathIndex < paths.size()).
+     *
+     * Postconditions:
+     * - Returns a mask with bit `k` set if a card of kind `k` (see `Card.getKind`)
+     *   is playable after the last played card of the path.
+     *
+     * @param pathIndex The index of the path.
+     * @return The mask of playable card kinds.
+     */
+    public long getPlayableMask(int pathIndex) {
+        return playableMasks[pathIndex];
+    }
+
+    /**
+     * Gets the path of a palace.
+     *
+     * Preconditions:
+     * - `palace` is a valid index of `GameSetup.PALACES`.
+     *
+     * Postconditions:
+     * - Returns the index of the path of the palace, or -1 if the board has none.
+     *
+     * @param palace The index of the palace.
+     * @return The index of the path of the palace.
+     */
+    public int getPalacePath(int palace) {
+        return palacePaths[palace];
+    }
+
+    /**
+     * Computes the card kinds of a palace that can be played after a card,
+     * following `Card.isPlayable`.
+     *
+     * @param palace The index of the palace, or -1 for an unknown palace.
+     * @param top The last played card, or null.
+     * @return The mask of playable card kinds.
+     */
+    private static long playableMask(int palace, Card top) {
+        if (palace < 0) {
+            return 0L;
+        }
+        long numbers; // bit v - 1 for the number card of value v
+        if (top == null) {
+            numbers = 0x3FFL;
+        } else if (top instanceof NumberCard) {
+            numbers = 0x3FFL & -1L << (((NumberCard) top).getValue() - 1);
+        } else {
+            numbers = 0L;
+        }
+        // Ariadne and Minotaur cards can be played every time
+        return (numbers | 0xC00L) << (palace * GameState.KINDS_PER_PALACE);
     }
 
     /**
@@ -198,18 +497,21 @@ public class Board {
     }
 
     /**
-     * Gets the path by its index.
+     * Gets the index of a path.
      *
      * Preconditions:
-     * - `pathIndex` is a valid index (0 <= pathIndex < paths.size()).
+     * - `path` is a path of this board.
      *
      * Postconditions:
-     * - Returns the Path object at the specified index.
+     * - Returns the index of the path, in O(1) for the paths attached to this board.
      *
-     * @param path The index of the path.
-     * @return The Path object.
+     * @param path The path.
+     * @return The index of the path.
      */
     public int getPathIndex(Path path) {
+        if (path.getBoard() == this) {
+            return path.getIndex();
+        }
         for (int i = 0; i < paths.size(); i++) {
             if (paths.get(i).equals(path)) {
                 return i;
@@ -5,6 +5,8 @@ package Model;
  */
 public abstract class Card {
     private final String palace;
+    private final Palace palaceType; // null for an unknown palace
+    private final int kind;
 
     /**
      * Creates a new card.
@@ -18,198 +20,87 @@ public abstract class Card {
      * @param palace The name of the palace the card belongs to.
      */
     public Card(String palace) {
-        this.palace = palace;
-    }
-
-    /**
-     * Gets the name of the palace the card belongs to.
-     *
-     * Preconditions:
-     * - None.
-     *
-     * Postconditions:
-     * - Returns the name of the palace as a non-null, non-empty string.
-     *
-     * @return the name of the palace.
-     */
-    public String getPalace() {
-        return palace;
-    }
-
-    /**
-     * Checks if the card is playable.
-     *
-     * Preconditions:
-     * - `previousCard` is not null.
-     *
-     * Postconditions:
-     * - Returns true if the card can be played after `previousCard`.
-     *
-     * @param previousCard The previous card played.
-     * @return True if the card is playable, false otherwise.
-     */
-    public boolean isPlayable(Card previousCard) {
-        return true;
+        this(palace, -1);
     }
-}
-
-/**
- * Number card with a value between 1 and 10.
- */
-public class NumberCard extends Card {
-    private final int value;
 
     /**
-     * Creates a new number card.
+     * Creates a new card of a known kind.
      *
      * Preconditions:
-     * - `value` is between 1 and 10.
      * - `palace` is not null and not empty.
+     * - `type` is the index of the card inside its palace (0-9 number cards, 10 Ariadne, 11 Minotaur).
      *
      * Postconditions:
-     * - A number card is initialized with the given palace and value.
+     * - The kind of the card is `palace index * 12 + type`, or -1 for an unknown palace.
      *
      * @param palace The name of the palace the card belongs to.
-     * @param value The value of the card.
+     * @param type The index of the card inside its palace.
      */
-    public NumberCard(String palace, int value) {
-        super(palace);
-        this.value = value;
+    protected Card(String palace, int type) {
+        this.palace = palace;
+        this.palaceType = Palace.of(palace);
+        this.kind = palaceType == null || type < 0 ? -1 : palaceType.ordinal() * GameState.KINDS_PER_PALACE + type;
     }
 
     /**
-     * Gets the value of the card.
+     * Gets the kind of the card, a small integer that identifies cards with the same
+     * palace, type and value.
      *
      * Preconditions:
      * - None.
      *
      * Postconditions:
-     * - Returns the value of the card as an integer between 1 and 10.
+     * - Returns a kind between 0 and `GameState.CARD_KINDS` - 1, or -1 for an unknown palace.
      *
-     * @return card's value.
+     * @return The kind of the card.
      */
-    public int getValue() {
-        return value;
+    public int getKind() {
+        return kind;
     }
 
-    @Override
-    public boolean isPlayable(Card previousCard) {
-        //check if the previous card is a number card
-        if (previousCard instanceof NumberCard) {
-            //if yes ,then check if the value of the previous card is greater than the value of the current card
-            return this.value >= ((NumberCard) previousCard).getValue();
-        }
-        return false;
-    }
-}
-
-/**
- * Ariadne card with a number of steps (steps = +2).
- */
-public class AriadneCard extends Card {
-    private static final int steps =+ 2;
-
     /**
-     * Creates a new Ariadne card.
-     *
-     * Preconditions:
-     * - `palace` is not null and not empty.
-     *
-     * Postconditions:
-     * - An Ariadne card is initialized with the given palace and fixed steps.
-     *
-     * @param palace The name of the palace the card belongs to.
-     */
-    public AriadneCard(String palace) {
-        super(palace);
-    }
-
-    /**
-     * Gets the number of steps the card has.
+     * Gets the name of the palace the card belongs to.
      *
      * Preconditions:
      * - None.
      *
      * Postconditions:
-     * - Returns the number of steps as a constant value (2).
+     * - Returns the name of the palace as a non-null, non-empty string.
      *
-     * @return card's steps.
+     * @return the name of the palace.
      */
-    public int getSteps() {
-        return steps;
-    }
-
-    @Override
-    public boolean isPlayable(Card previousCard) {
-        //Ariadne card can be played every time
-        return true;
+    public String getPalace() {
+        return palace;
     }
-}
-
-/**
- * Minotaur card with a method to attack a player and a path.
- */
-public class MinotaurCard extends Card {
-    private static final int damage =- 2;
 
     /**
-     * Creates a new Minotaur card.
+     * Gets the palace the card belongs to.
      *
      * Preconditions:
-     * - `palace` is not null and not empty.
+     * - None.
      *
      * Postconditions:
-     * - A Minotaur card is initialized with the given palace and fixed damage value.
+     * - Returns the palace, or null if the name of the palace is unknown.
      *
-     * @param palace The name of the palace the card belongs to.
+     * @return The palace of the card.
      */
-    public MinotaurCard(String palace) {
-        super(palace);
+    public Palace getPalaceType() {
+        return palaceType;
     }
 
     /**
-     * Attacks a player and a path.
+     * Checks if the card is playable.
      *
      * Preconditions:
-     * - `player` is not null.
-     * - `path` is not null.
+     * - `previousCard` is not null.
      *
      * Postconditions:
-     * - Decreases the target player's progress on the given path.
+     * - Returns true if the card can be played after `previousCard`.
      *
-     * @param player The player to attack.
-     * @param path   The path to attack.
+     * @param previousCard The previous card played.
+     * @return True if the card is playable, false otherwise.
      */
-    public void attack(Player player, Path path) {
-        //at first ,we have to get the type of pawn the attack is made on
-        Pawn pawn = player.getPawnOnPath(path); //recognise the pawn on the path
-        if (pawn == null) {
-            System.out.println("There is no pawn on the path");
-            return;
-        }
-        //check the position of the pawn
-        int pawnPosition = pawn.getCurrentPosition();
-        if (pawnPosition >= 7) {
-            System.out.println("Cannot attack. Opponent is past the checkpoint.");
-            return;
-        }
-        if (pawnPosition == 0) {
-            System.out.println("Cannot attack. Opponent is at the start.");
-            return;
-        }
-        //check if the pawn is Theseus
-        if (pawn instanceof Theseus) {
-            System.out.println("Theseus blocks the attack.");
-            return;
-        }
-        //in every other case
-        pawn.move(-2);
-        System.out.println("Attack successful. The pawn has been moved back 2 steps.");
-    }
-
-    @Override
     public boolean isPlayable(Card previousCard) {
-        //Minotaur card can be played every time
         return true;
     }
 }
\ No newline at end of file
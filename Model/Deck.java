@@ -1,19 +1,34 @@
 package Model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import Metrics.Meters;
+
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Stack;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the deck of the game.
+ *
+ * The draw pile and the discard pile share one array: the draw pile grows up from
+ * index 0 with its top card at `drawCount - 1`, and the discard pile grows down from
+ * the end of the array with its top card at `slots.length - discardCount`. Drawing and
+ * discarding are O(1) and reshuffling moves the discards next to the draw pile and
+ * shuffles in place, without allocating.
  */
 public class Deck {
-    private final List<Card> cards;
-    private final Stack<Card> discards;
+    private Card[] slots;
+    private Card[] initial; // the cards before the first shuffle or draw, null until then
+    private int drawCount;
+    private int discardCount;
+    private final RandomGenerator random;
+    private final List<Card> cardList;
+    private final List<Card> discardList;
+    private EventLog log; // null when the game is not logged
 
     /**
-     * Creates a new empty deck.
+     * Creates a new empty deck with an unseeded random generator.
      *
      * Preconditions:
      * - None.
@@ -23,8 +38,48 @@ public class Deck {
      * - The discard pile is empty.
      */
     public Deck() {
-        this.cards = new ArrayList<>();
-        this.discards = new Stack<>();
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a new empty deck that shuffles with the given generator.
+     *
+     * Preconditions:
+     * - `random` is not null and is not shared with another thread.
+     *
+     * Postconditions:
+     * - The deck is initialized with an empty list of cards.
+     * - The discard pile is empty.
+     * - The same generator state always gives the same shuffles.
+     *
+     * @param random The random generator of the deck.
+     */
+    public Deck(RandomGenerator random) {
+        if (random == null) {
+            throw new IllegalArgumentException("random cannot be null.");
+        }
+        this.slots = new Card[0];
+        this.random = random;
+        this.cardList = new Pile(true);
+        this.discardList = new Pile(false);
+    }
+
+    /**
+     * Adds a card to the deck.
+     *
+     * Preconditions:
+     * - `card` is not null.
+     *
+     * Postconditions:
+     * - The card is placed on top of the deck.
+     *
+     * @param card The card to add.
+     */
+    public void addCard(Card card) {
+        if (card == null) {
+            throw new IllegalArgumentException("Card cannot be null.");
+        }
+        push(card);
     }
 
     /**
@@ -37,7 +92,16 @@ public class Deck {
      * - The order of the cards in the deck is randomized.
      */
     public void shuffle() {
-        Collections.shuffle(cards);
+        long start = Meters.DECK_SHUFFLE.start();
+        keepInitialOrder();
+        // Fisher-Yates on the deck's own generator
+        for (int i = drawCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Card card = slots[i];
+            slots[i] = slots[j];
+            slots[j] = card;
+        }
+        Meters.DECK_SHUFFLE.stop(start);
     }
 
     /**
@@ -54,10 +118,12 @@ public class Deck {
      * @throws IllegalStateException if the deck is empty.
      */
     public Card draw() {
-        if (cards.isEmpty()) {
+        if (drawCount == 0) {
             throw new IllegalStateException("Cannot draw from an empty deck.");
         }
-        return cards.remove(cards.size() - 1);
+        keepInitialOrder();
+        Meters.DECK_DRAW.increment();
+        return slots[--drawCount];
     }
 
     /**
@@ -75,7 +141,30 @@ public class Deck {
         if (card == null) {
             throw new IllegalArgumentException("Card cannot be null.");
         }
-        discards.push(card);
+        if (drawCount + discardCount == slots.length) {
+            grow();
+        }
+        slots[slots.length - ++discardCount] = card;
+    }
+
+    /**
+     * Takes the top card back from the discard pile when a move is undone.
+     *
+     * Preconditions:
+     * - The discard pile is not empty.
+     *
+     * Postconditions:
+     * - The top card of the discard pile is removed and returned.
+     *
+     * @return The card that was on top of the discard pile.
+     */
+    Card undiscard() {
+        if (discardCount == 0) {
+            throw new IllegalStateException("The discard pile is empty.");
+        }
+        Card card = slots[slots.length - discardCount];
+        slots[slots.length - discardCount--] = null;
+        return card;
     }
 
     /**
@@ -90,7 +179,7 @@ public class Deck {
      * @return The number of cards left in the deck.
      */
     public int getRemainingCards() {
-        return cards.size();
+        return drawCount;
     }
 
     /**
@@ -104,39 +193,173 @@ public class Deck {
      * - The deck is shuffled.
      */
     public void reshuffleDiscards() {
-        while (!discards.isEmpty()) {
-            cards.add(discards.pop());
+        long start = Meters.DECK_RESHUFFLE.start();
+        // the discards, top first, become the top of the deck as if popped one by one
+        for (int i = 0; i < discardCount; i++) {
+            slots[drawCount + i] = slots[slots.length - discardCount + i];
         }
+        drawCount += discardCount;
+        discardCount = 0;
         shuffle();
+        if (log != null) {
+            // the order comes from the generator of the deck, which the log does not keep
+            log.reshuffle(cardList);
+        }
+        Meters.DECK_RESHUFFLE.stop(start);
     }
 
     /**
-     * Generates the regular findings (statues and frescoes).
+     * Records the reshuffles of the deck in an event log.
      *
      * Preconditions:
      * - None.
      *
      * Postconditions:
-     * - Returns a list of regular findings (statues and frescoes).
+     * - Every reshuffle of the discards is logged with the new order of the deck,
+     *   or nothing is logged if `log` is null.
      *
-     * @return A list of regular findings.
+     * @param log The log to write to, or null to stop logging.
      */
-    public List<Finding> generateRegularFindings() {
-        List<Finding> findings = new ArrayList<>();
+    public void setEventLog(EventLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Puts the deck back as it was before it was first shuffled or drawn from, so that
+     * the deck can be reused for another game without allocating.
+     *
+     * Preconditions:
+     * - The players no longer hold cards of this deck.
+     *
+     * Postconditions:
+     * - The deck holds its initial cards in their initial order and the discard pile is empty.
+     */
+    public void reset() {
+        if (initial == null) {
+            return; // never used
+        }
+        if (slots.length < initial.length) {
+            slots = new Card[initial.length];
+        }
+        System.arraycopy(initial, 0, slots, 0, initial.length);
+        drawCount = initial.length;
+        discardCount = 0;
+    }
+
+    /**
+     * Gets the cards of the deck, the top card being the last one.
+     * The list is a view that can only grow and shrink at its end.
+     *
+     * @return The list of cards in the deck.
+     */
+    List<Card> getCardList() {
+        return cardList;
+    }
+
+    /**
+     * Gets the discard pile, the top card being the last one.
+     * The list is a view that can only grow and shrink at its end.
+     *
+     * @return The discard pile.
+     */
+    List<Card> getDiscardPile() {
+        return discardList;
+    }
+
+    /**
+     * Remembers the cards of the deck the first time it is shuffled or drawn from.
+     */
+    private void keepInitialOrder() {
+        if (initial == null) {
+            initial = Arrays.copyOf(slots, drawCount);
+        }
+    }
+
+    private void push(Card card) {
+        if (drawCount + discardCount == slots.length) {
+            grow();
+        }
+        slots[drawCount++] = card;
+    }
+
+    /**
+     * Makes room for more cards, keeping the discard pile at the end of the array.
+     */
+    private void grow() {
+        Card[] larger = Arrays.copyOf(slots, Math.max(8, slots.length * 2));
+        System.arraycopy(slots, slots.length - discardCount, larger, larger.length - discardCount, discardCount);
+        slots = larger;
+    }
+
+    /**
+     * A list view of one of the two piles.
+     */
+    private final class Pile extends AbstractList<Card> {
+        private final boolean drawPile;
 
-        // add statues (10 statues)
-        for (int i = 0; i < 10; i++) {
-            findings.add(new SnakeGoddess("Statue " + (i + 1), 10)); // example value of 10
+        Pile(boolean drawPile) {
+            this.drawPile = drawPile;
         }
 
-        // add frescoes (6 frescoes with varying values)
-        findings.add(new Fresco("Fresco 1", 20));
-        findings.add(new Fresco("Fresco 2", 20));
-        findings.add(new Fresco("Fresco 3", 15));
-        findings.add(new Fresco("Fresco 4", 15));
-        findings.add(new Fresco("Fresco 5", 15));
-        findings.add(new Fresco("Fresco 6", 20));
+        @Override
+        public Card get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            return drawPile ? slots[index] : slots[slots.length - 1 - index];
+        }
+
+        @Override
+        public int size() {
+            return drawPile ? drawCount : discardCount;
+        }
 
-        return findings;
+        @Override
+        public void add(int index, Card card) {
+            if (index != size()) {
+                throw new UnsupportedOperationException("Cards can only be added on top of a pile.");
+            }
+            if (drawPile) {
+                push(card);
+            } else {
+                discard(card);
+            }
+        }
+
+        @Override
+        public Card remove(int index) {
+            if (index != size() - 1) {
+                throw new UnsupportedOperationException("Only the top card of a pile can be removed.");
+            }
+            if (drawPile) {
+                return draw();
+            }
+            return slots[slots.length - discardCount--];
+        }
+
+        @Override
+        public void clear() {
+            if (drawPile) {
+                drawCount = 0;
+            } else {
+                discardCount = 0;
+            }
+        }
+    }
+
+    /**
+     * Generates the regular findings (statues and frescoes).
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the shared, unmodifiable list of regular findings (statues and frescoes)
+     *   of `Pieces`, without allocating.
+     *
+     * @return A list of regular findings.
+     */
+    public List<Finding> generateRegularFindings() {
+        return Pieces.regularFindings();
     }
 }
\ No newline at end of file
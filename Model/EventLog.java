@@ -0,0 +1,237 @@
+package Model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only binary log of the events of a game.
+ *
+ * The file starts with a header (magic, version and the packed `GameState` the
+ * log starts from) followed by one record per event: a tag byte
+ * (`type << 1 | player`) and the arguments of the event as varints.
+ * Records are collected in a direct buffer and written to the file channel
+ * when the buffer is full, so logging an event is a few byte stores.
+ *
+ * `GameReplayer` reads the log back.
+ */
+public final class EventLog implements AutoCloseable {
+    static final int MAGIC = 0x4B4E4C47; // "KNLG"
+    static final int VERSION = 1;
+
+    // event types
+    static final int DRAW = 0;     // player, card kind
+    static final int PLAY = 1;     // player, card kind, path
+    static final int DISCARD = 2;  // player, card kind
+    static final int DEPLOY = 3;   // player, pawn, path
+    static final int MOVE = 4;     // player, pawn, position
+    static final int ATTACK = 5;   // attacked player, pawn, position
+    static final int OPEN = 6;     // player, pawn, path, position, finding id
+    static final int DESTROY = 7;  // player, pawn, path, position
+    static final int REVEAL = 8;   // player, pawn
+    static final int COMPLETE = 9; // path
+    static final int TURN = 10;    // player who ends the turn
+    static final int RESHUFFLE = 11; // number of cards, then the kind of every card of the deck, bottom first
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD = 32;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long events;
+
+    private EventLog(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.events = 0;
+    }
+
+    /**
+     * Creates a new log file that starts from a state.
+     *
+     * Preconditions:
+     * - `file` is a writable path; an existing file is replaced.
+     * - `start` is not null.
+     *
+     * Postconditions:
+     * - The header of the log holds `start`.
+     *
+     * @param file The path of the log file.
+     * @param start The state of the game when logging starts.
+     * @return The new log.
+     * @throws IOException if the file cannot be created.
+     */
+    public static EventLog create(String file, GameState start) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        EventLog log = new EventLog(channel);
+        log.buffer.putInt(MAGIC);
+        log.writeVarint(VERSION);
+        int[] data = start.getData();
+        log.writeVarint(data.length);
+        for (int word : data) {
+            log.ensureRoom();
+            log.writeVarint(zigzag(word));
+        }
+        return log;
+    }
+
+    /**
+     * Gets the number of events logged.
+     *
+     * @return The number of events.
+     */
+    public long getEventCount() {
+        return events;
+    }
+
+    void draw(int player, int kind) {
+        begin(DRAW, player);
+        writeVarint(kind);
+    }
+
+    void play(int player, int kind, int path) {
+        begin(PLAY, player);
+        writeVarint(kind);
+        writeVarint(path);
+    }
+
+    void discard(int player, int kind) {
+        begin(DISCARD, player);
+        writeVarint(kind);
+    }
+
+    void deploy(int player, int pawn, int path) {
+        begin(DEPLOY, player);
+        writeVarint(pawn);
+        writeVarint(path);
+    }
+
+    void move(int player, int pawn, int position) {
+        begin(MOVE, player);
+        writeVarint(pawn);
+        writeVarint(position);
+    }
+
+    void attack(int player, int pawn, int position) {
+        begin(ATTACK, player);
+        writeVarint(pawn);
+        writeVarint(position);
+    }
+
+    void open(int player, int pawn, int path, int position, int finding) {
+        begin(OPEN, player);
+        writeVarint(pawn);
+        writeVarint(path);
+        writeVarint(position);
+        writeVarint(finding);
+    }
+
+    void destroy(int player, int pawn, int path, int position) {
+        begin(DESTROY, player);
+        writeVarint(pawn);
+        writeVarint(path);
+        writeVarint(position);
+    }
+
+    void reveal(int player, int pawn) {
+        begin(REVEAL, player);
+        writeVarint(pawn);
+    }
+
+    void complete(int path) {
+        begin(COMPLETE, 0);
+        writeVarint(path);
+    }
+
+    void reshuffle(List<Card> deck) {
+        begin(RESHUFFLE, 0);
+        writeVarint(deck.size());
+        for (int i = 0; i < deck.size(); i++) {
+            ensureRoom();
+            writeVarint(deck.get(i).getKind());
+        }
+    }
+
+    /**
+     * Logs the end of a turn.
+     *
+     * Preconditions:
+     * - `player` is 0 or 1.
+     *
+     * Postconditions:
+     * - A turn event is appended to the log.
+     *
+     * @param player The index of the player whose turn ends.
+     */
+    public void turn(int player) {
+        begin(TURN, player);
+    }
+
+    private void begin(int type, int player) {
+        ensureRoom();
+        buffer.put((byte) (type << 1 | player));
+        events++;
+    }
+
+    private void ensureRoom() {
+        if (buffer.remaining() < MAX_RECORD) {
+            flush();
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    /**
+     * Writes the buffered events to the file.
+     *
+     * Preconditions:
+     * - The log is open.
+     *
+     * Postconditions:
+     * - Every event logged so far is in the file.
+     *
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes and closes the log.
+     *
+     * @throws IOException if the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+}
\ No newline at end of file
@@ -6,6 +6,7 @@ package Model;
 public class Finding {
     private final String name;
     private final int value;
+    private int id = -1; // set once by the Pieces registry
 
     /**
      * Creates a new finding.
@@ -54,6 +55,30 @@ public class Finding {
     public int getValue() {
         return value;
     }
+
+    /**
+     * Gets the id of the finding in the `Pieces` registry.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the id of a shared finding, or -1 for a finding built outside the registry.
+     *
+     * @return The id of the finding.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of a shared finding.
+     *
+     * @param id The id of the finding.
+     */
+    void setId(int id) {
+        this.id = id;
+    }
 }
 
 /**
@@ -0,0 +1,268 @@
+package Model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads an `EventLog` file and rebuilds the game after any number of its events.
+ *
+ * A log whose last record was cut off, as when the game crashed while the record was
+ * written, is read up to its last complete record.
+ */
+public final class GameReplayer {
+    private final ByteBuffer bytes;
+    private final GameState start;
+    private final int[] offsets; // start of every event in `bytes`
+    private int currentPlayer;
+    private int turns;
+
+    /**
+     * Reads a log file.
+     *
+     * Preconditions:
+     * - `file` was written by `EventLog`.
+     *
+     * Postconditions:
+     * - The start state and the position of every complete event are known.
+     *
+     * @param file The path of the log file.
+     * @throws IOException if the file cannot be read, is not an event log or its header is cut off.
+     */
+    public GameReplayer(String file) throws IOException {
+        this.bytes = ByteBuffer.wrap(Files.readAllBytes(Paths.get(file)));
+        if (bytes.remaining() < 4 || bytes.getInt() != EventLog.MAGIC) {
+            throw new IOException("Not an event log: " + file);
+        }
+        this.start = new GameState();
+        try {
+            int version = readVarint();
+            if (version != EventLog.VERSION) {
+                throw new IOException("Unsupported event log version " + version + ".");
+            }
+            int size = readVarint();
+            if (size != GameState.SIZE) {
+                throw new IOException("The state of the log has " + size + " words, expected " + GameState.SIZE + ".");
+            }
+            int[] data = start.getData();
+            for (int i = 0; i < size; i++) {
+                int value = readVarint();
+                data[i] = value >>> 1 ^ -(value & 1);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated event log header: " + file);
+        }
+
+        // index the events, up to the last complete one
+        int count = 0;
+        int[] found = new int[1024];
+        while (bytes.hasRemaining()) {
+            int at = bytes.position();
+            try {
+                int type = (bytes.get() & 0xFF) >>> 1;
+                for (int i = type == EventLog.RESHUFFLE ? readVarint() : argumentCount(type); i > 0; i--) {
+                    readVarint();
+                }
+            } catch (BufferUnderflowException e) {
+                break;
+            }
+            if (count == found.length) {
+                found = Arrays.copyOf(found, count * 2);
+            }
+            found[count++] = at;
+        }
+        this.offsets = Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Gets the number of events in the log.
+     *
+     * @return The number of events.
+     */
+    public int getEventCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Gets the state the log starts from.
+     *
+     * @return The start state (not a copy).
+     */
+    public GameState getStart() {
+        return start;
+    }
+
+    /**
+     * Rebuilds the game after the first `events` events of the log.
+     *
+     * Preconditions:
+     * - 0 <= `events` <= `getEventCount()`.
+     * - The board and the players were created by `GameSetup`.
+     *
+     * Postconditions:
+     * - The board, the deck and both players are as they were after `events` events.
+     * - `getCurrentPlayer` and `getTurns` describe the same moment.
+     *
+     * @param events The number of events to apply.
+     * @param board The board to rebuild.
+     * @param player1 The first player to rebuild.
+     * @param player2 The second player to rebuild.
+     */
+    public void replay(int events, Board board, Player player1, Player player2) {
+        if (events < 0 || events > offsets.length) {
+            throw new IllegalArgumentException("Invalid number of events.");
+        }
+        start.restore(board, player1, player2);
+        currentPlayer = start.getCurrentPlayer();
+        turns = start.getTurns();
+        Deck deck = board.getDeck();
+        List<Path> paths = board.getPaths();
+
+        for (int e = 0; e < events; e++) {
+            bytes.position(offsets[e]);
+            int tag = bytes.get() & 0xFF;
+            int type = tag >>> 1;
+            Player player = (tag & 1) == 0 ? player1 : player2;
+            switch (type) {
+                case EventLog.DRAW: {
+                    readVarint();
+                    List<Card> cards = deck.getCardList();
+                    player.getCards().add(cards.remove(cards.size() - 1));
+                    break;
+                }
+                case EventLog.PLAY: {
+                    Card card = removeFromHand(player, readVarint());
+                    int path = readVarint();
+                    deck.discard(card);
+                    if (!(card instanceof MinotaurCard)) {
+                        board.setLastPlayedCard(path, card);
+                    }
+                    break;
+                }
+                case EventLog.DISCARD:
+                    deck.discard(removeFromHand(player, readVarint()));
+                    break;
+                case EventLog.DEPLOY: {
+                    Pawn pawn = player.getPawns().get(readVarint());
+                    pawn.restore(0, paths.get(readVarint()), pawn.isHidden());
+                    break;
+                }
+                case EventLog.MOVE:
+                case EventLog.ATTACK: {
+                    Pawn pawn = player.getPawns().get(readVarint());
+                    pawn.restore(readVarint(), pawn.getCurrentPath(), pawn.isHidden());
+                    break;
+                }
+                case EventLog.OPEN: {
+                    readVarint();
+                    FindingPosition box = box(paths, readVarint(), readVarint());
+                    Finding finding = GameState.finding(readVarint());
+                    box.setFinding(null);
+                    player.getFindings().add(finding);
+                    player.addScore(finding.getValue());
+                    break;
+                }
+                case EventLog.DESTROY: {
+                    Pawn pawn = player.getPawns().get(readVarint());
+                    box(paths, readVarint(), readVarint()).setFinding(null);
+                    if (pawn instanceof Theseus) {
+                        Theseus theseus = (Theseus) pawn;
+                        theseus.setRemainingDestroys(theseus.getRemainingDestroys() - 1);
+                    }
+                    break;
+                }
+                case EventLog.REVEAL:
+                    player.getPawns().get(readVarint()).reveal();
+                    break;
+                case EventLog.COMPLETE:
+                    paths.get(readVarint()).setCompleted(true);
+                    break;
+                case EventLog.TURN:
+                    currentPlayer = 1 - (tag & 1);
+                    turns++;
+                    break;
+                case EventLog.RESHUFFLE: {
+                    deck.getDiscardPile().clear();
+                    List<Card> cards = deck.getCardList();
+                    cards.clear();
+                    for (int i = readVarint(); i > 0; i--) {
+                        cards.add(GameState.card(readVarint()));
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unknown event type " + type + ".");
+            }
+        }
+    }
+
+    /**
+     * Gets the index of the player whose turn it is after the last replay.
+     *
+     * @return 0 for the first player, 1 for the second.
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Gets the number of turns played after the last replay.
+     *
+     * @return The number of turns.
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    private static Card removeFromHand(Player player, int kind) {
+        List<Card> cards = player.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i).getKind() == kind) {
+                return cards.remove(i);
+            }
+        }
+        throw new IllegalStateException("The log plays a card that is not in the hand.");
+    }
+
+    private static FindingPosition box(List<Path> paths, int path, int position) {
+        return (FindingPosition) paths.get(path).getPosition(position);
+    }
+
+    private static int argumentCount(int type) {
+        switch (type) {
+            case EventLog.DRAW:
+            case EventLog.DISCARD:
+            case EventLog.REVEAL:
+            case EventLog.COMPLETE:
+                return 1;
+            case EventLog.PLAY:
+            case EventLog.DEPLOY:
+            case EventLog.MOVE:
+            case EventLog.ATTACK:
+                return 2;
+            case EventLog.DESTROY:
+                return 3;
+            case EventLog.OPEN:
+                return 4;
+            case EventLog.TURN:
+                return 0;
+            default:
+                throw new IllegalStateException("Unknown event type " + type + ".");
+        }
+    }
+
+    private int readVarint() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
\ No newline at end of file
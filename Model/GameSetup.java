@@ -0,0 +1,214 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds the standard pieces of a game: paths, deck and players.
+ */
+public final class GameSetup {
+    public static final String[] PALACES = Palace.names(); // in the order of Palace
+    public static final int PATH_LENGTH = 10; // start position + 9 squares
+    public static final int HAND_SIZE = 8;
+
+    private static final int[] POSITION_SCORES = {0, -20, -15, -10, 5, 10, 15, 30, 35, 50};
+    private static final int[] FINDING_POSITIONS = {2, 4, 6, 8, 9};
+    private static final String[] RARE_FINDING_NAMES = {"Ring of Minos", "Jewel of Malia", "Phaistos Disc", "Rhyton of Zakros"};
+    private static final int[] RARE_FINDING_VALUES = {25, 25, 35, 25};
+
+    private GameSetup() {
+    }
+
+    /**
+     * Creates the four palace paths.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns one empty path per palace, in the order of `PALACES`.
+     *
+     * @return The paths of the board.
+     */
+    public static List<Path> createPaths() {
+        List<Path> paths = new ArrayList<>(PALACES.length);
+        for (String palace : PALACES) {
+            List<Position> positions = new ArrayList<>(PATH_LENGTH);
+            for (int i = 0; i < PATH_LENGTH; i++) {
+                if (isFindingPosition(i)) {
+                    positions.add(new FindingPosition(POSITION_SCORES[i]));
+                } else {
+                    positions.add(new SimplePosition(POSITION_SCORES[i]));
+                }
+            }
+            paths.add(new Path(palace, positions));
+        }
+        return paths;
+    }
+
+    /**
+     * Creates the full, unshuffled deck.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns a deck with, for every palace, two number cards of each value 1-10,
+     *   three Ariadne cards and two Minotaur cards.
+     * - The cards are the shared instances of `Pieces`, so no card is allocated.
+     *
+     * @return The deck of the game.
+     */
+    public static Deck createDeck() {
+        return createDeck(new SplittableRandom());
+    }
+
+    /**
+     * Creates the full, unshuffled deck that shuffles with the given generator.
+     *
+     * Preconditions:
+     * - `random` is not null.
+     *
+     * Postconditions:
+     * - Returns the same cards as `createDeck()`.
+     *
+     * @param random The random generator of the deck.
+     * @return The deck of the game.
+     */
+    public static Deck createDeck(RandomGenerator random) {
+        Deck deck = new Deck(random);
+        for (String palace : PALACES) {
+            int base = palaceIndex(palace) * GameState.KINDS_PER_PALACE;
+            for (int value = 1; value <= 10; value++) {
+                deck.addCard(Pieces.card(base + value - 1));
+                deck.addCard(Pieces.card(base + value - 1));
+            }
+            for (int i = 0; i < 3; i++) {
+                deck.addCard(Pieces.card(base + 10));
+            }
+            for (int i = 0; i < 2; i++) {
+                deck.addCard(Pieces.card(base + 11));
+            }
+        }
+        return deck;
+    }
+
+    /**
+     * Creates a new board with the standard paths and deck.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns a board that is not initialized yet.
+     *
+     * @return The board of the game.
+     */
+    public static Board createBoard() {
+        return createBoard(new SplittableRandom());
+    }
+
+    /**
+     * Creates a new board whose randomness all comes from one generator,
+     * so that a game can be replayed from its seed.
+     *
+     * Preconditions:
+     * - `random` is not null.
+     *
+     * Postconditions:
+     * - The deck and the board each get an independent generator split from `random`.
+     *
+     * @param random The random generator of the game.
+     * @return The board of the game.
+     */
+    public static Board createBoard(SplittableRandom random) {
+        return new Board(createPaths(), createDeck(random.split()), random.split());
+    }
+
+    /**
+     * Creates a player with three archaeologists and one Theseus.
+     *
+     * Preconditions:
+     * - `name` is not null and not empty.
+     *
+     * Postconditions:
+     * - Returns a player with no cards and four pawns off the board.
+     *
+     * @param name The name of the player.
+     * @return The new player.
+     */
+    public static Player createPlayer(String name) {
+        return new Player(name, createPawns());
+    }
+
+    /**
+     * Creates the pawns of a player: three archaeologists and one Theseus.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns four hidden pawns that are not on a path.
+     *
+     * @return The pawns of a player.
+     */
+    public static List<Pawn> createPawns() {
+        List<Pawn> pawns = new ArrayList<>(4);
+        pawns.add(new Archaeologist());
+        pawns.add(new Archaeologist());
+        pawns.add(new Archaeologist());
+        pawns.add(new Theseus());
+        return pawns;
+    }
+
+    /**
+     * Creates the rare finding of a palace. Only used to fill the `Pieces` registry;
+     * games use the shared instance of `Pieces.rareFinding`.
+     *
+     * Preconditions:
+     * - `palace` is a valid index of `PALACES`.
+     *
+     * Postconditions:
+     * - Returns a new rare finding for the palace.
+     *
+     * @param palace The index of the palace.
+     * @return The rare finding of the palace.
+     */
+    static RareFinding createRareFinding(int palace) {
+        return new RareFinding(RARE_FINDING_NAMES[palace], RARE_FINDING_VALUES[palace]);
+    }
+
+    /**
+     * Gets the index of a palace in `PALACES`, which is its `Palace` ordinal.
+     *
+     * Preconditions:
+     * - `palace` is not null.
+     *
+     * Postconditions:
+     * - Returns the index of the palace, or -1 if it is not a known palace.
+     *
+     * @param palace The name of the palace.
+     * @return The index of the palace.
+     */
+    public static int palaceIndex(String palace) {
+        Palace known = Palace.of(palace);
+        return known == null ? -1 : known.ordinal();
+    }
+
+    /**
+     * Checks if the position at the given index holds a box.
+     *
+     * @param index The index of the position in the path.
+     * @return True if the position is a finding position.
+     */
+    static boolean isFindingPosition(int index) {
+        for (int findingPosition : FINDING_POSITIONS) {
+            if (findingPosition == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,672 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Packed representation of a two-player game state in a single int array.
+ * Copying or hashing a state is one array operation instead of a walk over
+ * the object graph of Board, Deck, Player and Pawn.
+ *
+ * Layout of the array:
+ * - header: current player (0 or 1), number of turns played.
+ * - per player: score, hand (2-bit count per card kind), collected findings (bitmask),
+ *   one word per pawn (position, path, revealed, Theseus, remaining destroys).
+ * - per path: top card kind + 1 (0 = none) and the completed flag.
+ * - per path and position: finding id + 1 (0 = empty box or no box).
+ * - deck: number of cards, then card kinds bottom to top.
+ * - discard pile: number of cards, then card kinds bottom to top.
+ */
+public final class GameState {
+    public static final int PLAYERS = 2;
+    public static final int PAWNS = 4;
+    public static final int KINDS_PER_PALACE = 12; // number cards 1-10, Ariadne, Minotaur
+    public static final int CARD_KINDS = GameSetup.PALACES.length * KINDS_PER_PALACE;
+    public static final int MAX_CARDS = 100;
+
+    // offsets of the header
+    private static final int CURRENT = 0;
+    private static final int TURNS = 1;
+
+    // offsets inside a player block
+    private static final int SCORE = 0;
+    private static final int HAND = 1;
+    private static final int HAND_WORDS = (CARD_KINDS * 2 + 31) / 32;
+    private static final int FOUND = HAND + HAND_WORDS;
+    private static final int PAWN = FOUND + 1;
+    private static final int PLAYER_SIZE = PAWN + PAWNS;
+
+    // offsets of the sections
+    private static final int PLAYER_BASE = 2;
+    private static final int PATH_BASE = PLAYER_BASE + PLAYERS * PLAYER_SIZE;
+    private static final int SLOT_BASE = PATH_BASE + GameSetup.PALACES.length;
+    private static final int DECK_BASE = SLOT_BASE + GameSetup.PALACES.length * GameSetup.PATH_LENGTH;
+    private static final int DISCARD_BASE = DECK_BASE + 1 + MAX_CARDS;
+    public static final int SIZE = DISCARD_BASE + 1 + MAX_CARDS;
+
+    // bits of a pawn word
+    private static final int POSITION_MASK = 0xF;
+    private static final int PATH_SHIFT = 4;
+    private static final int PATH_MASK = 0x7;
+    private static final int REVEALED = 1 << 7;
+    private static final int THESEUS = 1 << 8;
+    private static final int DESTROYS_SHIFT = 9;
+
+    private static final int COMPLETED = 1 << 8;
+
+    private final int[] data;
+
+    /**
+     * Creates an empty state.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - All the words of the state are 0.
+     */
+    public GameState() {
+        this.data = new int[SIZE];
+    }
+
+    /**
+     * Copies another state into this one.
+     *
+     * Preconditions:
+     * - `other` is not null.
+     *
+     * Postconditions:
+     * - This state is equal to `other`.
+     *
+     * @param other The state to copy.
+     */
+    public void copyFrom(GameState other) {
+        System.arraycopy(other.data, 0, data, 0, SIZE);
+    }
+
+    /**
+     * Creates a copy of this state.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns a new state equal to this one.
+     *
+     * @return The copy of the state.
+     */
+    public GameState copy() {
+        GameState copy = new GameState();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Gets the packed words of the state.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the backing array (not a copy).
+     *
+     * @return The packed state.
+     */
+    public int[] getData() {
+        return data;
+    }
+
+    /**
+     * Stores the state of a game.
+     *
+     * Preconditions:
+     * - The board and the players were created by `GameSetup`.
+     * - `currentPlayer` is 0 for `player1` and 1 for `player2`.
+     *
+     * Postconditions:
+     * - This state describes the given game; the game objects are not modified.
+     *
+     * @param board The board of the game.
+     * @param player1 The first player.
+     * @param player2 The second player.
+     * @param currentPlayer The index of the player whose turn it is.
+     * @param turns The number of turns played.
+     */
+    public void capture(Board board, Player player1, Player player2, int currentPlayer, int turns) {
+        Arrays.fill(data, 0);
+        data[CURRENT] = currentPlayer;
+        data[TURNS] = turns;
+        capturePlayer(board, player1, PLAYER_BASE);
+        capturePlayer(board, player2, PLAYER_BASE + PLAYER_SIZE);
+
+        List<Path> paths = board.getPaths();
+        for (int p = 0; p < paths.size(); p++) {
+            Path path = paths.get(p);
+            Card top = board.getLastPlayedCard(p);
+            data[PATH_BASE + p] = (top == null ? 0 : cardKind(top) + 1) | (path.isCompleted() ? COMPLETED : 0);
+            for (int boxes = path.getBoxMask(); boxes != 0; boxes &= boxes - 1) {
+                int i = Integer.numberOfTrailingZeros(boxes);
+                Finding finding = ((FindingPosition) path.getPosition(i)).getFinding();
+                data[SLOT_BASE + p * GameSetup.PATH_LENGTH + i] = finding == null ? 0 : findingId(finding) + 1;
+            }
+        }
+
+        Deck deck = board.getDeck();
+        captureCards(deck.getCardList(), DECK_BASE);
+        captureCards(deck.getDiscardPile(), DISCARD_BASE);
+    }
+
+    /**
+     * Restores a game to this state.
+     *
+     * Preconditions:
+     * - The board and the players were created by `GameSetup`, with the pawns in the
+     *   same order as when the state was captured.
+     *
+     * Postconditions:
+     * - The board, the deck and both players match this state.
+     * - Hands are rebuilt ordered by card kind.
+     *
+     * @param board The board of the game.
+     * @param player1 The first player.
+     * @param player2 The second player.
+     */
+    public void restore(Board board, Player player1, Player player2) {
+        List<Path> paths = board.getPaths();
+        restorePlayer(paths, player1, PLAYER_BASE);
+        restorePlayer(paths, player2, PLAYER_BASE + PLAYER_SIZE);
+
+        for (int p = 0; p < paths.size(); p++) {
+            Path path = paths.get(p);
+            int word = data[PATH_BASE + p];
+            int top = (word & 0xFF) - 1;
+            board.setLastPlayedCard(p, top < 0 ? null : Pieces.card(top));
+            path.setCompleted((word & COMPLETED) != 0);
+            for (int boxes = path.getBoxMask(); boxes != 0; boxes &= boxes - 1) {
+                int i = Integer.numberOfTrailingZeros(boxes);
+                int id = data[SLOT_BASE + p * GameSetup.PATH_LENGTH + i] - 1;
+                ((FindingPosition) path.getPosition(i)).setFinding(id < 0 ? null : Pieces.finding(id));
+            }
+        }
+
+        Deck deck = board.getDeck();
+        restoreCards(deck.getCardList(), DECK_BASE);
+        restoreCards(deck.getDiscardPile(), DISCARD_BASE);
+    }
+
+    private void capturePlayer(Board board, Player player, int base) {
+        data[base + SCORE] = player.getScore();
+        for (Card card : player.getCards()) {
+            int kind = cardKind(card);
+            data[base + HAND + (kind >>> 4)] += 1 << ((kind & 15) << 1);
+        }
+        for (Finding finding : player.getFindings()) {
+            data[base + FOUND] |= 1 << findingId(finding);
+        }
+        List<Pawn> pawns = player.getPawns();
+        for (int i = 0; i < pawns.size(); i++) {
+            Pawn pawn = pawns.get(i);
+            Path path = pawn.getCurrentPath();
+            int word = pawn.getCurrentPosition() & POSITION_MASK;
+            if (path != null) {
+                word |= (board.getPathIndex(path) + 1) << PATH_SHIFT;
+            }
+            if (!pawn.isHidden()) {
+                word |= REVEALED;
+            }
+            if (pawn instanceof Theseus) {
+                word |= THESEUS | ((Theseus) pawn).getRemainingDestroys() << DESTROYS_SHIFT;
+            }
+            data[base + PAWN + i] = word;
+        }
+    }
+
+    private void restorePlayer(List<Path> paths, Player player, int base) {
+        player.setScore(data[base + SCORE]);
+        List<Card> cards = player.getCards();
+        cards.clear();
+        for (int kind = 0; kind < CARD_KINDS; kind++) {
+            for (int n = handCount(base, kind); n > 0; n--) {
+                cards.add(Pieces.card(kind));
+            }
+        }
+        List<Finding> findings = player.getFindings();
+        findings.clear();
+        for (int id = 0; id < Pieces.findingCount(); id++) {
+            if ((data[base + FOUND] & 1 << id) != 0) {
+                findings.add(Pieces.finding(id));
+            }
+        }
+        List<Pawn> pawns = player.getPawns();
+        for (int i = 0; i < pawns.size(); i++) {
+            Pawn pawn = pawns.get(i);
+            int word = data[base + PAWN + i];
+            int path = (word >>> PATH_SHIFT & PATH_MASK) - 1;
+            pawn.restore(word & POSITION_MASK, path < 0 ? null : paths.get(path), (word & REVEALED) == 0);
+            if (pawn instanceof Theseus) {
+                ((Theseus) pawn).setRemainingDestroys(word >>> DESTROYS_SHIFT);
+            }
+        }
+    }
+
+    /**
+     * Replaces everything a player cannot see by a random guess that is consistent with
+     * what they have seen, for searches that must not cheat (determinization).
+     *
+     * Preconditions:
+     * - `viewer` is 0 or 1.
+     * - `random` is not null.
+     *
+     * Postconditions:
+     * - The opponent's hand and the order of the deck are dealt at random from the cards
+     *   the viewer has not seen (the opponent's hand plus the deck); the hand keeps its size.
+     * - If the opponent's Theseus is hidden, it is swapped with a random hidden pawn of the
+     *   opponent, deployed or not, so any of them may be Theseus. Pawns whose identity an
+     *   attack has shown are revealed (see `MinotaurCard.strike`), so they are never swapped.
+     * - The findings of the closed boxes are shuffled among them; a rare finding stays on
+     *   the path of its palace.
+     * - Everything the viewer can see (their hand, the revealed pawns, the top cards,
+     *   the discard pile, the scores and collected findings) is unchanged.
+     *
+     * @param viewer The index of the player whose knowledge is kept.
+     * @param random The generator of the guess.
+     */
+    public void determinize(int viewer, RandomGenerator random) {
+        int opponent = PLAYER_BASE + (1 - viewer) * PLAYER_SIZE;
+        dealUnseenCards(opponent, random);
+        hideTheseus(opponent, random);
+        shuffleBoxes(random);
+    }
+
+    /**
+     * Puts the opponent's hand on top of the deck, shuffles the deck and deals the hand back.
+     */
+    private void dealUnseenCards(int opponent, RandomGenerator random) {
+        int deck = data[DECK_BASE];
+        int cards = deck;
+        for (int kind = 0; kind < CARD_KINDS; kind++) {
+            for (int n = handCount(opponent, kind); n > 0; n--) {
+                data[DECK_BASE + 1 + cards++] = kind;
+            }
+        }
+        Arrays.fill(data, opponent + HAND, opponent + HAND + HAND_WORDS, 0);
+        for (int i = cards - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int kind = data[DECK_BASE + 1 + i];
+            data[DECK_BASE + 1 + i] = data[DECK_BASE + 1 + j];
+            data[DECK_BASE + 1 + j] = kind;
+        }
+        for (int i = deck; i < cards; i++) {
+            int kind = data[DECK_BASE + 1 + i];
+            data[opponent + HAND + (kind >>> 4)] += 1 << ((kind & 15) << 1);
+            data[DECK_BASE + 1 + i] = 0;
+        }
+    }
+
+    /**
+     * Swaps the place of the opponent's hidden Theseus with a random hidden pawn.
+     * A hidden Theseus has destroyed nothing and blocked no attack, since both reveal it.
+     */
+    private void hideTheseus(int opponent, RandomGenerator random) {
+        int theseus = -1;
+        int hidden = 0;
+        for (int i = 0; i < PAWNS; i++) {
+            int word = data[opponent + PAWN + i];
+            if ((word & REVEALED) == 0) {
+                hidden++;
+                if ((word & THESEUS) != 0) {
+                    theseus = i;
+                }
+            }
+        }
+        if (theseus < 0 || hidden < 2) {
+            return;
+        }
+        int pick = random.nextInt(hidden);
+        for (int i = 0; i < PAWNS; i++) {
+            if ((data[opponent + PAWN + i] & REVEALED) == 0 && pick-- == 0) {
+                int place = POSITION_MASK | PATH_MASK << PATH_SHIFT;
+                int word = data[opponent + PAWN + i];
+                int theseusWord = data[opponent + PAWN + theseus];
+                data[opponent + PAWN + i] = word & ~place | theseusWord & place;
+                data[opponent + PAWN + theseus] = theseusWord & ~place | word & place;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Shuffles the findings of the closed boxes, keeping every rare finding on its path.
+     */
+    private void shuffleBoxes(RandomGenerator random) {
+        int paths = GameSetup.PALACES.length;
+        int[] regular = new int[paths * GameSetup.PATH_LENGTH];
+        int count = 0;
+        for (int p = 0; p < paths; p++) {
+            int base = SLOT_BASE + p * GameSetup.PATH_LENGTH;
+            int closed = 0;
+            int rare = -1;
+            for (int i = 0; i < GameSetup.PATH_LENGTH; i++) {
+                int id = data[base + i] - 1;
+                if (id >= 0) {
+                    closed++;
+                    if (id < paths) {
+                        rare = i;
+                    }
+                }
+            }
+            if (rare >= 0) {
+                // move the rare finding to a random closed box of its path
+                int pick = random.nextInt(closed);
+                for (int i = 0; i < GameSetup.PATH_LENGTH; i++) {
+                    if (data[base + i] != 0 && pick-- == 0) {
+                        int id = data[base + i];
+                        data[base + i] = data[base + rare];
+                        data[base + rare] = id;
+                        break;
+                    }
+                }
+            }
+            for (int i = 0; i < GameSetup.PATH_LENGTH; i++) {
+                if (data[base + i] > paths) {
+                    regular[count++] = base + i;
+                }
+            }
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int id = data[regular[i]];
+            data[regular[i]] = data[regular[j]];
+            data[regular[j]] = id;
+        }
+    }
+
+    private void captureCards(List<Card> cards, int base) {
+        data[base] = cards.size();
+        for (int i = 0; i < cards.size(); i++) {
+            data[base + 1 + i] = cardKind(cards.get(i));
+        }
+    }
+
+    private void restoreCards(List<Card> cards, int base) {
+        cards.clear();
+        for (int i = 0; i < data[base]; i++) {
+            cards.add(Pieces.card(data[base + 1 + i]));
+        }
+    }
+
+    private int handCount(int base, int kind) {
+        return data[base + HAND + (kind >>> 4)] >>> ((kind & 15) << 1) & 3;
+    }
+
+    /**
+     * Gets the index of the player whose turn it is.
+     *
+     * @return 0 for the first player, 1 for the second.
+     */
+    public int getCurrentPlayer() {
+        return data[CURRENT];
+    }
+
+    /**
+     * Gets the number of turns played.
+     *
+     * @return The number of turns played.
+     */
+    public int getTurns() {
+        return data[TURNS];
+    }
+
+    /**
+     * Gets the score of a player.
+     *
+     * @param player The index of the player (0 or 1).
+     * @return The score of the player.
+     */
+    public int getScore(int player) {
+        return data[PLAYER_BASE + player * PLAYER_SIZE + SCORE];
+    }
+
+    /**
+     * Gets how many cards of a kind a player holds.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param kind The card kind.
+     * @return The number of cards of that kind in the player's hand.
+     */
+    public int getHandCount(int player, int kind) {
+        return handCount(PLAYER_BASE + player * PLAYER_SIZE, kind);
+    }
+
+    /**
+     * Gets the position of a pawn.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return The position of the pawn on its path.
+     */
+    public int getPawnPosition(int player, int pawn) {
+        return data[PLAYER_BASE + player * PLAYER_SIZE + PAWN + pawn] & POSITION_MASK;
+    }
+
+    /**
+     * Gets the path of a pawn.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return The index of the path of the pawn, or -1 if it is off the board.
+     */
+    public int getPawnPath(int player, int pawn) {
+        return (data[PLAYER_BASE + player * PLAYER_SIZE + PAWN + pawn] >>> PATH_SHIFT & PATH_MASK) - 1;
+    }
+
+    /**
+     * Checks if a pawn has been revealed.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return True if the pawn is revealed.
+     */
+    public boolean isPawnRevealed(int player, int pawn) {
+        return (data[PLAYER_BASE + player * PLAYER_SIZE + PAWN + pawn] & REVEALED) != 0;
+    }
+
+    /**
+     * Checks if a pawn is Theseus.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return True if the pawn is Theseus.
+     */
+    public boolean isTheseus(int player, int pawn) {
+        return (data[PLAYER_BASE + player * PLAYER_SIZE + PAWN + pawn] & THESEUS) != 0;
+    }
+
+    /**
+     * Gets how many boxes Theseus can still destroy.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return The remaining destroys, or 0 if the pawn is not Theseus.
+     */
+    public int getRemainingDestroys(int player, int pawn) {
+        return data[PLAYER_BASE + player * PLAYER_SIZE + PAWN + pawn] >>> DESTROYS_SHIFT;
+    }
+
+    /**
+     * Checks if a path is completed.
+     *
+     * @param path The index of the path.
+     * @return True if a pawn reached the end of the path.
+     */
+    public boolean isPathCompleted(int path) {
+        return (data[PATH_BASE + path] & COMPLETED) != 0;
+    }
+
+    /**
+     * Gets the number of cards left in the deck.
+     *
+     * @return The number of cards that can still be drawn.
+     */
+    public int getDeckSize() {
+        return data[DECK_BASE];
+    }
+
+    /**
+     * Gets a card of the deck.
+     *
+     * @param index The index of the card, from 0 (bottom) to `getDeckSize()` - 1 (top, drawn first).
+     * @return The kind of the card.
+     */
+    public int getDeckCard(int index) {
+        return data[DECK_BASE + 1 + index];
+    }
+
+    /**
+     * Gets the top card of a path.
+     *
+     * @param path The index of the path.
+     * @return The kind of the last played card, or -1 if no card has been played.
+     */
+    public int getTopCard(int path) {
+        return (data[PATH_BASE + path] & 0xFF) - 1;
+    }
+
+    /**
+     * Gets the finding in a box.
+     *
+     * @param path The index of the path.
+     * @param position The index of the position on the path.
+     * @return The id of the finding, or -1 if there is none.
+     */
+    public int getFinding(int path, int position) {
+        return data[SLOT_BASE + path * GameSetup.PATH_LENGTH + position] - 1;
+    }
+
+    /**
+     * Gets a 64-bit key of everything that decides the rest of the game: the player to move,
+     * both players, the paths, the boxes and the order of the deck. The turn count and the
+     * discard pile, which is never drawn from, are left out.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Equal positions have equal keys, in every run of the program.
+     *
+     * @return The key of the position.
+     */
+    public long positionKey() {
+        long key = mix(0L, data[CURRENT]);
+        int end = DECK_BASE + 1 + data[DECK_BASE];
+        for (int i = PLAYER_BASE; i < end; i++) {
+            key = mix(key, data[i]);
+        }
+        return finish(key);
+    }
+
+    /**
+     * Gets a 64-bit key of an early position as the player to move knows it: their hand,
+     * the layout of the findings, the paths, the pawns and the scores. The hand of the
+     * opponent and the order of the deck are left out.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Positions that only differ by the opponent's hand or the deck have equal keys.
+     *
+     * @return The key of the position for the player to move.
+     */
+    public long openingKey() {
+        int mover = PLAYER_BASE + data[CURRENT] * PLAYER_SIZE;
+        long key = mix(mix(0L, data[CURRENT]), data[TURNS]);
+        for (int i = mover + HAND; i < mover + FOUND; i++) {
+            key = mix(key, data[i]);
+        }
+        for (int player = 0; player < PLAYERS; player++) {
+            int base = PLAYER_BASE + player * PLAYER_SIZE;
+            key = mix(mix(key, data[base + SCORE]), data[base + FOUND]);
+            for (int i = 0; i < PAWNS; i++) {
+                int word = data[base + PAWN + i];
+                // only the owner knows a hidden Theseus
+                key = mix(key, base == mover || (word & REVEALED) != 0 ? word : word & ~(THESEUS | -1 << DESTROYS_SHIFT));
+            }
+        }
+        for (int i = PATH_BASE; i < DECK_BASE; i++) {
+            key = mix(key, data[i]);
+        }
+        return finish(key);
+    }
+
+    private static long mix(long key, int word) {
+        return (Long.rotateLeft(key, 23) ^ word) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static long finish(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        return key ^ key >>> 33;
+    }
+
+    /**
+     * Gets the kind of a card: its palace index times `KINDS_PER_PALACE` plus
+     * the value - 1 of a number card, 10 for Ariadne or 11 for Minotaur.
+     *
+     * Preconditions:
+     * - `card` belongs to one of `GameSetup.PALACES`.
+     *
+     * Postconditions:
+     * - Returns a kind between 0 and `CARD_KINDS` - 1.
+     *
+     * @param card The card.
+     * @return The kind of the card.
+     */
+    public static int cardKind(Card card) {
+        return card.getKind();
+    }
+
+    /**
+     * Gets the shared card instance of a kind.
+     *
+     * @param kind The card kind.
+     * @return The card of that kind.
+     */
+    public static Card card(int kind) {
+        return Pieces.card(kind);
+    }
+
+    /**
+     * Gets the id of a finding: rare findings first (in palace order),
+     * then the regular findings in the order of `Deck.generateRegularFindings`.
+     *
+     * @param finding The finding.
+     * @return The id of the finding.
+     */
+    public static int findingId(Finding finding) {
+        return Pieces.findingId(finding);
+    }
+
+    /**
+     * Gets the shared finding instance of an id.
+     *
+     * @param id The id of the finding.
+     * @return The finding with that id.
+     */
+    public static Finding finding(int id) {
+        return Pieces.finding(id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameState && Arrays.equals(data, ((GameState) o).data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,246 @@
+package Model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped file of saved games.
+ *
+ * The file is a header (magic, format version, words per state, number of slots)
+ * followed by fixed-size slots. A slot holds a length word (0 while the slot is
+ * empty), a checksum and the words of a packed `GameState`. Words are little-endian
+ * whatever the platform, so a file can be copied between machines. Saving or loading
+ * a game is one bulk copy between the mapped file and the state array, and slots
+ * can be used by different threads at the same time.
+ */
+public final class GameStore implements AutoCloseable {
+    private static final int MAGIC = 0x4B4E5356; // "KNSV"
+    private static final int VERSION = 1;
+    private static final int HEADER_WORDS = 4;
+    private static final int SLOT_WORDS = 2 + GameState.SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final IntBuffer words;
+    private final int slots;
+    private final boolean writable;
+
+    /**
+     * Opens a store file, creating it with the given number of slots if it does not exist.
+     *
+     * Preconditions:
+     * - `slots` is greater than 0.
+     *
+     * Postconditions:
+     * - The file is mapped in memory; a new file has only empty slots.
+     *
+     * @param file The path of the store file.
+     * @param slots The number of slots of the file.
+     * @throws IOException if the file cannot be opened, was written by another format version
+     *                     or has another number of slots.
+     */
+    public GameStore(String file, int slots) throws IOException {
+        if (slots <= 0 || (long) slots * SLOT_WORDS + HEADER_WORDS > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("Invalid number of slots.");
+        }
+        this.channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.writable = true;
+        boolean created = channel.size() == 0;
+        long bytes = created ? ((long) slots * SLOT_WORDS + HEADER_WORDS) * 4 : channel.size();
+        this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        this.words = mapped.asIntBuffer();
+
+        if (created) {
+            words.put(0, MAGIC);
+            words.put(1, VERSION);
+            words.put(2, GameState.SIZE);
+            words.put(3, slots);
+            this.slots = slots;
+        } else {
+            this.slots = readHeader(channel, words, bytes, file);
+            if (this.slots != slots) {
+                channel.close();
+                throw new IOException("The game store " + file + " has " + this.slots + " slots, not " + slots + ".");
+            }
+        }
+    }
+
+    private GameStore(FileChannel channel, String file) throws IOException {
+        this.channel = channel;
+        this.writable = false;
+        long bytes = channel.size();
+        this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        this.words = mapped.asIntBuffer();
+        this.slots = readHeader(channel, words, bytes, file);
+    }
+
+    /**
+     * Opens an existing store file for reading.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The file is mapped read-only; it is never created or changed.
+     *
+     * @param file The path of the store file.
+     * @return The read-only store.
+     * @throws IOException if the file does not exist, is not a game store, was written by
+     *                     another format version or is truncated.
+     */
+    public static GameStore open(String file) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        try {
+            return new GameStore(channel, file);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks the header of an existing file, closing the channel if the file cannot be used.
+     *
+     * @param channel The channel of the file.
+     * @param words The mapped file.
+     * @param bytes The size of the file.
+     * @param file The path of the file.
+     * @return The number of slots of the file.
+     * @throws IOException if the file is not a game store of this version, or is shorter than its slots.
+     */
+    private static int readHeader(FileChannel channel, IntBuffer words, long bytes, String file) throws IOException {
+        if (bytes < HEADER_WORDS * 4 || words.get(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a game store: " + file);
+        }
+        if (words.get(1) != VERSION || words.get(2) != GameState.SIZE) {
+            channel.close();
+            throw new IOException("Unsupported game store version " + words.get(1) + ".");
+        }
+        int slots = words.get(3);
+        if (slots <= 0 || bytes < ((long) slots * SLOT_WORDS + HEADER_WORDS) * 4) {
+            channel.close();
+            throw new IOException("Truncated game store: " + file);
+        }
+        return slots;
+    }
+
+    /**
+     * Gets the number of slots of the store.
+     *
+     * @return The number of slots.
+     */
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Saves a state in a slot.
+     *
+     * Preconditions:
+     * - The store was not opened read-only.
+     * - 0 <= `slot` < `getSlots()`.
+     * - No other thread uses the same slot.
+     *
+     * Postconditions:
+     * - The slot holds `state`; it reads as empty until the copy is complete.
+     *
+     * @param slot The slot to write.
+     * @param state The state to save.
+     */
+    public void save(int slot, GameState state) {
+        checkWritable();
+        int base = offset(slot);
+        int[] data = state.getData();
+        words.put(base, 0); // empty while the copy is in progress
+        words.put(base + 1, Arrays.hashCode(data));
+        words.put(base + 2, data);
+        words.put(base, data.length);
+    }
+
+    /**
+     * Loads the state of a slot.
+     *
+     * Preconditions:
+     * - 0 <= `slot` < `getSlots()`.
+     *
+     * Postconditions:
+     * - If the slot holds a game, `state` is equal to the saved state.
+     * - If the slot is empty or corrupted, `state` is unchanged.
+     *
+     * @param slot The slot to read.
+     * @param state The state to load into.
+     * @return True if the slot held a game, false if it is empty.
+     * @throws IllegalStateException if the slot is corrupted.
+     */
+    public boolean load(int slot, GameState state) {
+        int base = offset(slot);
+        int length = words.get(base);
+        if (length == 0) {
+            return false;
+        }
+        if (length != GameState.SIZE) {
+            throw new IllegalStateException("Saved game " + slot + " is corrupted.");
+        }
+        int[] data = new int[GameState.SIZE];
+        words.get(base + 2, data);
+        if (Arrays.hashCode(data) != words.get(base + 1)) {
+            throw new IllegalStateException("Saved game " + slot + " is corrupted.");
+        }
+        System.arraycopy(data, 0, state.getData(), 0, GameState.SIZE);
+        return true;
+    }
+
+    /**
+     * Empties a slot.
+     *
+     * Preconditions:
+     * - The store was not opened read-only.
+     *
+     * @param slot The slot to empty.
+     */
+    public void clear(int slot) {
+        checkWritable();
+        words.put(offset(slot), 0);
+    }
+
+    /**
+     * Writes the mapped pages to the disk.
+     */
+    public void force() {
+        mapped.force();
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new IllegalStateException("The game store is read-only.");
+        }
+    }
+
+    private int offset(int slot) {
+        if (slot < 0 || slot >= slots) {
+            throw new IllegalArgumentException("Invalid slot.");
+        }
+        return HEADER_WORDS + slot * SLOT_WORDS;
+    }
+
+    /**
+     * Writes the mapped pages to the disk and closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        mapped.force();
+        channel.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,196 @@
+package Model;
+
+import Metrics.Meters;
+import Metrics.MinotaurAttackEvent;
+
+/**
+ * Minotaur card with a method to attack a player and a path.
+ */
+public class MinotaurCard extends Card {
+    private static final int damage =- 2;
+
+    /**
+     * Creates a new Minotaur card.
+     *
+     * Preconditions:
+     * - `palace` is not null and not empty.
+     *
+     * Postconditions:
+     * - A Minotaur card is initialized with the given palace and fixed damage value.
+     *
+     * @param palace The name of the palace the card belongs to.
+     */
+    public MinotaurCard(String palace) {
+        super(palace, 11);
+    }
+
+    /**
+     * Gets the number of steps a successful attack moves a pawn back.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the damage as a constant positive value (2).
+     *
+     * @return card's damage.
+     */
+    public int getDamage() {
+        return -damage;
+    }
+
+    /**
+     * Attacks a player and a path.
+     *
+     * Preconditions:
+     * - `player` is not null.
+     * - `path` is not null.
+     *
+     * Postconditions:
+     * - Decreases the target player's progress on the given path.
+     * - Reveals the pawn if the outcome shows who it is (see `strike`).
+     *
+     * @param player The player to attack.
+     * @param path   The path to attack.
+     */
+    public void attack(Player player, Path path) {
+        Meters.MINOTAUR_ATTACKS.increment();
+        MinotaurAttackEvent event = MinotaurAttackEvent.start();
+        //at first ,we have to get the type of pawn the attack is made on
+        Pawn pawn = player.getPawnOnPath(path); //recognise the pawn on the path
+        int position = pawn == null ? -1 : pawn.getCurrentPosition();
+        boolean identified = showsIdentity(pawn);
+        String blocked = blockReason(pawn);
+        if (blocked != null) {
+            Meters.MINOTAUR_BLOCKED.increment();
+            if (identified) {
+                player.pawnIdentified(pawn);
+            }
+            commit(event, player, path, position, false);
+            System.out.println(blocked);
+            return;
+        }
+        //in every other case
+        pushBack(player, pawn);
+        player.pawnIdentified(pawn);
+        commit(event, player, path, position, true);
+        System.out.println("Attack successful. The pawn has been moved back 2 steps.");
+    }
+
+    /**
+     * Attacks a player and a path without printing anything.
+     *
+     * Preconditions:
+     * - `player` is not null.
+     * - `path` is not null.
+     *
+     * Postconditions:
+     * - Applies the same rules as `attack`, silently.
+     * - A pawn past the start and before the checkpoint is revealed whatever the outcome:
+     *   only Theseus blocks the attack there and an archaeologist is moved back.
+     *
+     * @param player The player to attack.
+     * @param path   The path to attack.
+     * @return True if the pawn was moved back, false if the attack was blocked.
+     */
+    public boolean strike(Player player, Path path) {
+        Meters.MINOTAUR_ATTACKS.increment();
+        MinotaurAttackEvent event = MinotaurAttackEvent.start();
+        Pawn pawn = player.getPawnOnPath(path);
+        int position = pawn == null ? -1 : pawn.getCurrentPosition();
+        boolean identified = showsIdentity(pawn);
+        if (blockReason(pawn) != null) {
+            Meters.MINOTAUR_BLOCKED.increment();
+            if (identified) {
+                player.pawnIdentified(pawn);
+            }
+            commit(event, player, path, position, false);
+            return false;
+        }
+        pushBack(player, pawn);
+        player.pawnIdentified(pawn);
+        commit(event, player, path, position, true);
+        return true;
+    }
+
+    /**
+     * Commits the Flight Recorder event of an attack, if it is recorded.
+     *
+     * @param event The event, begun before the attack, or null if it is not recorded.
+     * @param player The attacked player.
+     * @param path The attacked path.
+     * @param position The position of the attacked pawn before the attack, or -1.
+     * @param successful True if the pawn was moved back.
+     */
+    private static void commit(MinotaurAttackEvent event, Player player, Path path, int position, boolean successful) {
+        if (event != null && event.shouldCommit()) {
+            event.player = player.getName();
+            event.path = path.getIndex();
+            event.position = position;
+            event.successful = successful;
+            event.commit();
+        }
+    }
+
+    /**
+     * Checks whether an attack on the given pawn is blocked.
+     *
+     * @param pawn The attacked pawn, or null if there is none.
+     * @return The reason the attack is blocked, or null if it succeeds.
+     */
+    private static String blockReason(Pawn pawn) {
+        if (pawn == null) {
+            return "There is no pawn on the path";
+        }
+        //check the position of the pawn
+        int pawnPosition = pawn.getCurrentPosition();
+        if (Path.isPastCheckpoint(pawnPosition)) {
+            return "Cannot attack. Opponent is past the checkpoint.";
+        }
+        if (pawnPosition == 0) {
+            return "Cannot attack. Opponent is at the start.";
+        }
+        //check if the pawn is Theseus
+        if (pawn instanceof Theseus) {
+            return "Theseus blocks the attack.";
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the outcome of an attack on the given pawn shows who the pawn is:
+     * past the start and before the checkpoint, only Theseus blocks an attack.
+     *
+     * @param pawn The attacked pawn, or null if there is none.
+     * @return True if the attack blocks or moves back the pawn because of what it is.
+     */
+    private static boolean showsIdentity(Pawn pawn) {
+        if (pawn == null) {
+            return false;
+        }
+        int pawnPosition = pawn.getCurrentPosition();
+        return pawnPosition > 0 && !Path.isPastCheckpoint(pawnPosition);
+    }
+
+    /**
+     * Moves the pawn back by the card's damage, never past the start.
+     *
+     * @param player The owner of the pawn.
+     * @param pawn The attacked pawn.
+     */
+    private static void pushBack(Player player, Pawn pawn) {
+        pawn.move(Math.max(damage, -pawn.getCurrentPosition()));
+        player.pawnAttacked(pawn);
+    }
+
+    @Override
+    public boolean isPlayable(Card previousCard) {
+        //Minotaur card can be played every time
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return getPalace() + " Minotaur";
+    }
+}
\ No newline at end of file
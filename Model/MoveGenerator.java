@@ -0,0 +1,117 @@
+package Model;
+
+import java.util.List;
+
+/**
+ * Lists the legal moves of a player without exceptions or boxing.
+ * A move is packed in an int as `cardIndex << 8 | pathIndex`.
+ *
+ * Legality is read from the playable masks of the board, which are updated
+ * every time `Board.setLastPlayedCard` changes the top card of a path, so the
+ * check of a card is a few bit operations.
+ */
+public final class MoveGenerator {
+    private int[] moves;
+    private int count;
+
+    /**
+     * Creates a new move generator.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The buffer holds no moves.
+     */
+    public MoveGenerator() {
+        this.moves = new int[GameSetup.HAND_SIZE];
+        this.count = 0;
+    }
+
+    /**
+     * Lists the legal moves of a player.
+     *
+     * Preconditions:
+     * - `player` and `board` are not null.
+     *
+     * Postconditions:
+     * - The buffer holds every (card, path) pair that `Player.tryPlayCard` accepts.
+     * - Returns the number of legal moves.
+     *
+     * @param player The player to move.
+     * @param board The board of the game.
+     * @return The number of legal moves.
+     */
+    public int generate(Player player, Board board) {
+        // paths where the player already has a pawn, and whether a pawn is still free
+        int pawnPaths = 0;
+        boolean freePawn = false;
+        for (Pawn pawn : player.getPawns()) {
+            Path path = pawn.getCurrentPath();
+            if (path == null) {
+                freePawn = true;
+            } else {
+                pawnPaths |= 1 << board.getPathIndex(path);
+            }
+        }
+
+        List<Card> cards = player.getCards();
+        if (moves.length < cards.size()) {
+            moves = new int[cards.size()];
+        }
+        count = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            int kind = cards.get(i).getKind();
+            if (kind < 0) {
+                continue;
+            }
+            int path = board.getPalacePath(kind / GameState.KINDS_PER_PALACE);
+            if (path < 0 || (board.getPlayableMask(path) >>> kind & 1L) == 0) {
+                continue;
+            }
+            // a Minotaur needs no pawn, other cards need a pawn on the path or a free one
+            if (kind % GameState.KINDS_PER_PALACE == 11 || freePawn || (pawnPaths >>> path & 1) != 0) {
+                moves[count++] = i << 8 | path;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of moves listed by the last call to `generate`.
+     *
+     * @return The number of legal moves.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the buffer of moves; only the first `getCount()` entries are valid.
+     *
+     * @return The buffer of moves.
+     */
+    public int[] getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the card index of a move.
+     *
+     * @param move The packed move.
+     * @return The index of the card in the player's hand.
+     */
+    public static int cardIndex(int move) {
+        return move >>> 8;
+    }
+
+    /**
+     * Gets the path index of a move.
+     *
+     * @param move The packed move.
+     * @return The index of the path.
+     */
+    public static int pathIndex(int move) {
+        return move & 0xFF;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package Model;
+
+/**
+ * Number card with a value between 1 and 10.
+ */
+public class NumberCard extends Card {
+    private final int value;
+
+    /**
+     * Creates a new number card.
+     *
+     * Preconditions:
+     * - `value` is between 1 and 10.
+     * - `palace` is not null and not empty.
+     *
+     * Postconditions:
+     * - A number card is initialized with the given palace and value.
+     *
+     * @param palace The name of the palace the card belongs to.
+     * @param value The value of the card.
+     */
+    public NumberCard(String palace, int value) {
+        super(palace, value - 1);
+        this.value = value;
+    }
+
+    /**
+     * Gets the value of the card.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the value of the card as an integer between 1 and 10.
+     *
+     * @return card's value.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isPlayable(Card previousCard) {
+        //the first card of a path can always be played
+        if (previousCard == null) {
+            return true;
+        }
+        //check if the previous card is a number card
+        if (previousCard instanceof NumberCard) {
+            //if yes ,then check if the value of the previous card is greater than the value of the current card
+            return this.value >= ((NumberCard) previousCard).getValue();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getPalace() + " " + value;
+    }
+}
\ No newline at end of file
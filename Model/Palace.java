@@ -0,0 +1,95 @@
+package Model;
+
+/**
+ * The four palaces of the game. The ordinal of a palace indexes the arrays of the
+ * board (paths, rare findings, last played cards) and the card kinds, so routing a
+ * card to its path needs no string comparison.
+ */
+public enum Palace {
+    KNOSSOS("Knossos"),
+    MALIA("Malia"),
+    PHAISTOS("Phaistos"),
+    ZAKROS("Zakros");
+
+    private static final Palace[] VALUES = values();
+
+    private final String name;
+
+    Palace(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the name of the palace as shown to the players.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the name of the palace, e.g. "Knossos".
+     *
+     * @return The name of the palace.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the palace of an ordinal without copying `values()`.
+     *
+     * Preconditions:
+     * - `ordinal` is between 0 and `count()` - 1.
+     *
+     * Postconditions:
+     * - Returns the palace with that ordinal.
+     *
+     * @param ordinal The ordinal of the palace.
+     * @return The palace.
+     */
+    public static Palace of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Gets the palace of a name, ignoring case.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the palace with that name, or null if there is none.
+     *
+     * @param name The name of the palace.
+     * @return The palace, or null.
+     */
+    public static Palace of(String name) {
+        for (Palace palace : VALUES) {
+            if (palace.name.equalsIgnoreCase(name)) {
+                return palace;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of palaces.
+     *
+     * @return The number of palaces.
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * Gets the names of all palaces in ordinal order.
+     *
+     * @return A new array with the names of the palaces.
+     */
+    static String[] names() {
+        String[] names = new String[VALUES.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = VALUES[i].name;
+        }
+        return names;
+    }
+}
\ No newline at end of file
@@ -4,28 +4,64 @@ import java.util.List;
 
 /**
  * Represents a path in the game.
+ *
+ * Besides its positions, the path keeps a bitboard of them: bit `i` of a mask stands
+ * for position `i`. The box mask marks the finding positions, the closed mask the boxes
+ * that still hold a finding (kept up to date by `FindingPosition.setFinding`), and the
+ * scores of the positions are copied in a table. Questions such as "the next closed box
+ * ahead of a pawn" or "are all boxes opened" are then a few bit operations instead of a
+ * walk over the positions with `instanceof` checks.
  */
 public class Path {
+    public static final int CHECKPOINT = 7; // from this position on, Minotaur attacks no longer apply
+    public static final int MAX_LENGTH = 32; // one bit per position in an int
+
     private final String palaceName;
+    private final Palace palace; // null for an unknown palace
     private final List<Position> positions;
+    private final int[] scores;
+    private final int boxMask; // bit i: position i is a finding position
+    private int closedMask; // bit i: the box at position i holds a finding
     private boolean completed;
+    private Board board; // counts the completed paths, null while the path is not on a board
+    private int index = -1; // index of the path on its board
 
     /**
      * Creates a new path.
      *
      * Preconditions:
      * - `palaceName` is not null or empty.
-     * - `positions` is not null and contains valid Position objects.
+     * - `positions` is not null, contains valid Position objects that belong to no
+     *   other path, has at most `MAX_LENGTH` positions and is not modified afterwards.
      *
      * Postconditions:
      * - The path is initialized with a palace name and a list of positions.
+     * - The finding positions report their changes to this path.
      *
      * @param palaceName The name of the palace this path belongs to.
      * @param positions The positions in this path.
      */
     public Path(String palaceName, List<Position> positions) {
+        if (positions.size() > MAX_LENGTH) {
+            throw new IllegalArgumentException("A path has at most " + MAX_LENGTH + " positions.");
+        }
         this.palaceName = palaceName;
+        this.palace = Palace.of(palaceName);
         this.positions = positions;
+        this.scores = new int[positions.size()];
+        int boxes = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            Position position = positions.get(i);
+            scores[i] = position.getScore();
+            if (position instanceof FindingPosition) {
+                boxes |= 1 << i;
+                ((FindingPosition) position).setPath(this, i);
+                if (((FindingPosition) position).getFinding() != null) {
+                    closedMask |= 1 << i;
+                }
+            }
+        }
+        this.boxMask = boxes;
         this.completed = false;
     }
 
@@ -80,6 +116,146 @@ public class Path {
         return positions.get(index);
     }
 
+    /**
+     * Gets the score of a position without going through the position.
+     *
+     * Preconditions:
+     * - `index` is a valid index (0 <= index < length of positions).
+     *
+     * Postconditions:
+     * - Returns the same as `getPosition(index).getScore()`.
+     *
+     * @param index The index of the position.
+     * @return The score of the position.
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Gets the finding positions of the path.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns a mask with bit `i` set if position `i` is a `FindingPosition`.
+     *
+     * @return The mask of the boxes.
+     */
+    public int getBoxMask() {
+        return boxMask;
+    }
+
+    /**
+     * Gets the boxes of the path that still hold a finding.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns a mask with bit `i` set if the box at position `i` holds a finding.
+     *
+     * @return The mask of the closed boxes.
+     */
+    public int getClosedBoxMask() {
+        return closedMask;
+    }
+
+    /**
+     * Gets the boxes of the path that are empty: once the findings are placed,
+     * the boxes an archaeologist opened or Theseus destroyed.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns a mask with bit `i` set if position `i` is a box without a finding.
+     *
+     * @return The mask of the opened boxes.
+     */
+    public int getOpenedBoxMask() {
+        return boxMask & ~closedMask;
+    }
+
+    /**
+     * Checks if the box at a position still holds a finding.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns false for a position that is not a box or is out of the path.
+     *
+     * @param index The index of the position.
+     * @return True if the position is a box with a finding.
+     */
+    public boolean hasClosedBox(int index) {
+        return index >= 0 && index < MAX_LENGTH && (closedMask >>> index & 1) != 0;
+    }
+
+    /**
+     * Finds the first box that still holds a finding strictly ahead of a position.
+     *
+     * Preconditions:
+     * - `from` is between -1 and the length of the path - 1.
+     *
+     * Postconditions:
+     * - Returns the index of the box, or -1 if every box ahead is empty.
+     *
+     * @param from The position to look ahead of, for example the position of a pawn.
+     * @return The index of the next closed box.
+     */
+    public int nextClosedBox(int from) {
+        int ahead = from >= MAX_LENGTH - 1 ? 0 : closedMask & -1 << (from + 1);
+        return ahead == 0 ? -1 : Integer.numberOfTrailingZeros(ahead);
+    }
+
+    /**
+     * Checks if every box of the path has been emptied.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns true if no box of the path holds a finding.
+     *
+     * @return True if all boxes are opened.
+     */
+    public boolean allBoxesOpened() {
+        return closedMask == 0;
+    }
+
+    /**
+     * Checks if a position is at or past the checkpoint, where pawns are safe from the Minotaur.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns true if `index` >= `CHECKPOINT`.
+     *
+     * @param index The index of the position.
+     * @return True if the position is past the checkpoint.
+     */
+    public static boolean isPastCheckpoint(int index) {
+        return index >= CHECKPOINT;
+    }
+
+    /**
+     * Records that a box of the path was filled or emptied.
+     *
+     * @param index The index of the box.
+     * @param closed True if the box now holds a finding.
+     */
+    void boxChanged(int index, boolean closed) {
+        if (closed) {
+            closedMask |= 1 << index;
+        } else {
+            closedMask &= ~(1 << index);
+        }
+    }
+
     /**
      * Checks if the path is completed.
      *
@@ -87,22 +263,13 @@ public class Path {
      * - none
      *
      * postconditions:
-     * - returns true if the path is completed, false otherwise
+     * - returns true if a pawn has reached the end of the path, false otherwise
      *
      * @return true if the path is completed, false otherwise
      */
     public boolean isCompleted() {
-        // assume the path is completed if all positions are occupied or pawns have reached the end
-        for (Position position : positions) {
-            if (position instanceof SimplePosition || position instanceof FindingPosition) {
-                // check if there are any pawns left to move
-                assert position instanceof FindingPosition;
-                if (!((FindingPosition) position).isOccupied()) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        // a path is completed once a pawn has reached its end
+        return completed;
     }
 
 
@@ -118,6 +285,55 @@ public class Path {
      * @param completed true if the path should be marked as completed, false otherwise
      */
     public void setCompleted(boolean completed) {
-        this.completed = completed;
+        if (this.completed != completed) {
+            this.completed = completed;
+            if (board != null) {
+                board.pathCompletionChanged(index, completed);
+            }
+        }
+    }
+
+    /**
+     * Gets the palace of the path.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the palace, or null if the name of the palace is unknown.
+     *
+     * @return The palace of the path.
+     */
+    public Palace getPalace() {
+        return palace;
+    }
+
+    /**
+     * Attaches the path to the board that keeps count of its completed paths.
+     *
+     * @param board The board of the path.
+     * @param index The index of the path on the board.
+     */
+    void setBoard(Board board, int index) {
+        this.board = board;
+        this.index = index;
+    }
+
+    /**
+     * Gets the board the path is on.
+     *
+     * @return The board, or null if the path is not on a board.
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the index of the path on its board.
+     *
+     * @return The index of the path, or -1 if the path is not on a board.
+     */
+    int getIndex() {
+        return index;
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package Model;
 
+import Metrics.BoxEvent;
+
 /**
  * Represents a pawn in the game.
  */
@@ -7,6 +9,7 @@ public abstract class Pawn {
     private boolean isHidden;
     private int currentPosition;
     private Path currentPath;
+    private Player owner; // keeps the position score and the hash of its pawns, null if the pawn has no player
 
     /**
      * Creates a new pawn.
@@ -37,7 +40,10 @@ public abstract class Pawn {
      * @param steps The number of steps to move the pawn.
      */
     public void move(int steps) {
+        int score = positionScore();
+        int code = code();
         this.currentPosition += steps;
+        changed(score, code);
     }
 
     /**
@@ -65,7 +71,9 @@ public abstract class Pawn {
      * - The pawn is no longer hidden.
      */
     public void reveal() {
+        int code = code();
         this.isHidden = false;
+        changed(positionScore(), code);
     }
 
     /**
@@ -113,12 +121,118 @@ public abstract class Pawn {
         if (path == null) {
             throw new IllegalArgumentException("Path cannot be null.");
         }
+        int score = positionScore();
+        int code = code();
         this.currentPath = path;
+        changed(score, code);
+    }
+
+    /**
+     * Restores the state of the pawn from a saved game state.
+     *
+     * Preconditions:
+     * - `currentPosition` is a valid position on `currentPath`, or 0 if `currentPath` is null.
+     *
+     * Postconditions:
+     * - The pawn has the given position, path and hidden flag.
+     *
+     * @param currentPosition The position of the pawn.
+     * @param currentPath The path of the pawn, or null if it is off the board.
+     * @param hidden True if the pawn is hidden.
+     */
+    void restore(int currentPosition, Path currentPath, boolean hidden) {
+        int score = positionScore();
+        int code = code();
+        this.currentPosition = currentPosition;
+        this.currentPath = currentPath;
+        this.isHidden = hidden;
+        changed(score, code);
+    }
+
+    /**
+     * Sets the player that keeps the position score and the hash of this pawn.
+     *
+     * @param owner The player of the pawn.
+     */
+    void setOwner(Player owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Gets the player of this pawn.
+     *
+     * @return The player, or null if the pawn has no player.
+     */
+    Player getOwner() {
+        return owner;
+    }
+
+    /**
+     * Gets the score of the position the pawn stands on.
+     *
+     * @return The score of the position, or 0 if the pawn is off the board.
+     */
+    private int positionScore() {
+        return currentPath == null ? 0 : currentPath.getScore(currentPosition);
+    }
+
+    /**
+     * Encodes the path, position and revealed flag of the pawn for `ZobristHash`.
+     *
+     * @return 0 if the pawn is off the board, else (path + 1) << 5 | position << 1 | revealed.
+     */
+    int code() {
+        if (currentPath == null) {
+            return 0;
+        }
+        return (currentPath.getIndex() + 1) << 5 | currentPosition << 1 | (isHidden ? 0 : 1);
+    }
+
+    /**
+     * Tells the owner how the position score and the code changed since a mutation started.
+     */
+    private void changed(int scoreBefore, int codeBefore) {
+        if (owner != null) {
+            owner.pawnChanged(this, positionScore() - scoreBefore, codeBefore, code());
+        }
+    }
+
+    /**
+     * Tells the owner that the remaining destroys of the pawn changed.
+     *
+     * @param before The remaining destroys before the change.
+     * @param after The remaining destroys after the change.
+     */
+    void destroysChanged(int before, int after) {
+        if (owner != null) {
+            owner.destroysChanged(this, before, after);
+        }
     }
 
     public abstract boolean destroyBox(FindingPosition findingPosition);
 
     public abstract Finding openBox(FindingPosition findingPosition);
+
+    /**
+     * Commits the Flight Recorder event of a box, if it is recorded.
+     *
+     * @param event The event, begun before the box was resolved, or null if it is not recorded.
+     * @param action "open" or "destroy".
+     * @param position The position of the box.
+     * @param finding The finding that was in the box, or null.
+     * @param successful True if the finding was taken or the box destroyed.
+     */
+    void commit(BoxEvent event, String action, FindingPosition position, Finding finding, boolean successful) {
+        if (event != null && event.shouldCommit()) {
+            event.player = owner == null ? null : owner.getName();
+            event.action = action;
+            event.path = position.getPathIndex();
+            event.position = position.getIndex();
+            event.finding = finding == null ? null : finding.getName();
+            event.successful = successful;
+            event.commit();
+        }
+    }
 }
 
 
@@ -150,8 +264,11 @@ class Archaeologist extends Pawn {
         if (findingPosition == null) {
             throw new IllegalArgumentException("Finding position cannot be null.");
         }
+        BoxEvent event = BoxEvent.start();
         // reveal and return the finding
-        return findingPosition.revealFinding();
+        Finding finding = findingPosition.revealFinding();
+        commit(event, "open", findingPosition, finding, finding != null);
+        return finding;
     }
 
 }
@@ -160,7 +277,8 @@ class Archaeologist extends Pawn {
  * Represents the Theseus pawn.
  */
 class Theseus extends Pawn {
-    private int remainingDestroys = 3;
+    static final int MAX_DESTROYS = 3;
+    private int remainingDestroys = MAX_DESTROYS;
 
     /**
      * Destroys a box in the specified position, removing its finding.
@@ -181,11 +299,16 @@ class Theseus extends Pawn {
         if (findingPosition == null) {
             throw new IllegalArgumentException("Finding position cannot be null.");
         }
+        BoxEvent event = BoxEvent.start();
+        Finding finding = findingPosition.getFinding();
         if (remainingDestroys <= 0) {
+            commit(event, "destroy", findingPosition, finding, false);
             return false; // No destroys left
         }
         remainingDestroys--;
+        destroysChanged(remainingDestroys + 1, remainingDestroys);
         findingPosition.setFinding(null); // destroy the finding
+        commit(event, "destroy", findingPosition, finding, true);
         return true;
     }
 
@@ -205,6 +328,17 @@ class Theseus extends Pawn {
         return remainingDestroys;
     }
 
+    /**
+     * Sets the number of remaining destroys when a saved game state is restored.
+     *
+     * @param remainingDestroys The number of remaining destroys.
+     */
+    void setRemainingDestroys(int remainingDestroys) {
+        int before = this.remainingDestroys;
+        this.remainingDestroys = remainingDestroys;
+        destroysChanged(before, remainingDestroys);
+    }
+
     @Override
     public Finding openBox(FindingPosition findingPosition) {
         return null;
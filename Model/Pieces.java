@@ -0,0 +1,174 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flyweight registry of the cards and findings of the game.
+ *
+ * Cards and findings carry no per-game state, so every distinct card
+ * (palace, type and value) and every finding exists exactly once and is shared by
+ * all games. A card is identified by its kind (see `Card.getKind()`) and a finding by
+ * its id (see `Finding.getId()`), so two pieces are the same if they are `==`,
+ * and a state can store them as small integers.
+ */
+public final class Pieces {
+    private static final Card[] CARDS = new Card[GameState.CARD_KINDS];
+    private static final Finding[] FINDINGS;
+    private static final List<Finding> REGULAR_FINDINGS;
+    private static final Map<String, Integer> FINDING_IDS = new HashMap<>(); // for findings built outside the registry
+
+    static {
+        for (int palace = 0; palace < GameSetup.PALACES.length; palace++) {
+            String name = GameSetup.PALACES[palace];
+            int base = palace * GameState.KINDS_PER_PALACE;
+            for (int value = 1; value <= 10; value++) {
+                CARDS[base + value - 1] = new NumberCard(name, value);
+            }
+            CARDS[base + 10] = new AriadneCard(name);
+            CARDS[base + 11] = new MinotaurCard(name);
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        for (int palace = 0; palace < GameSetup.PALACES.length; palace++) {
+            findings.add(GameSetup.createRareFinding(palace));
+        }
+        // statues (10 statues)
+        for (int i = 0; i < 10; i++) {
+            findings.add(new SnakeGoddess("Statue " + (i + 1), 10));
+        }
+        // frescoes (6 frescoes with varying values)
+        findings.add(new Fresco("Fresco 1", 20));
+        findings.add(new Fresco("Fresco 2", 20));
+        findings.add(new Fresco("Fresco 3", 15));
+        findings.add(new Fresco("Fresco 4", 15));
+        findings.add(new Fresco("Fresco 5", 15));
+        findings.add(new Fresco("Fresco 6", 20));
+
+        FINDINGS = findings.toArray(new Finding[0]);
+        for (int i = 0; i < FINDINGS.length; i++) {
+            FINDINGS[i].setId(i);
+            FINDING_IDS.put(FINDINGS[i].getName(), i);
+        }
+        REGULAR_FINDINGS = Collections.unmodifiableList(findings.subList(GameSetup.PALACES.length, findings.size()));
+    }
+
+    private Pieces() {
+    }
+
+    /**
+     * Gets the shared card of a kind.
+     *
+     * Preconditions:
+     * - `kind` is between 0 and `GameState.CARD_KINDS` - 1.
+     *
+     * Postconditions:
+     * - Returns the same instance for the same kind.
+     *
+     * @param kind The card kind.
+     * @return The card of that kind.
+     */
+    public static Card card(int kind) {
+        return CARDS[kind];
+    }
+
+    /**
+     * Gets the number of distinct findings.
+     *
+     * @return The number of findings.
+     */
+    public static int findingCount() {
+        return FINDINGS.length;
+    }
+
+    /**
+     * Gets the shared finding of an id: the rare findings first (in palace order),
+     * then the statues and the frescoes.
+     *
+     * Preconditions:
+     * - `id` is between 0 and `findingCount()` - 1.
+     *
+     * Postconditions:
+     * - Returns the same instance for the same id.
+     *
+     * @param id The id of the finding.
+     * @return The finding with that id.
+     */
+    public static Finding finding(int id) {
+        return FINDINGS[id];
+    }
+
+    /**
+     * Checks if a finding is the rare finding of a palace.
+     *
+     * @param id The id of the finding.
+     * @return True if the finding is a rare finding; its id is then the index of its palace.
+     */
+    public static boolean isRareFinding(int id) {
+        return FINDINGS[id] instanceof RareFinding;
+    }
+
+    /**
+     * Checks if a finding is a fresco.
+     *
+     * @param id The id of the finding.
+     * @return True if the finding is a fresco.
+     */
+    public static boolean isFresco(int id) {
+        return FINDINGS[id] instanceof Fresco;
+    }
+
+    /**
+     * Gets the shared rare finding of a palace.
+     *
+     * @param palace The index of the palace in `GameSetup.PALACES`.
+     * @return The rare finding of the palace.
+     */
+    static RareFinding rareFinding(int palace) {
+        return (RareFinding) FINDINGS[palace];
+    }
+
+    /**
+     * Gets the shared regular findings (statues and frescoes).
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the same unmodifiable list on every call.
+     *
+     * @return The regular findings.
+     */
+    public static List<Finding> regularFindings() {
+        return REGULAR_FINDINGS;
+    }
+
+    /**
+     * Gets the id of a finding. Findings of the registry know their id; other findings
+     * are matched by name.
+     *
+     * Preconditions:
+     * - `finding` has the name of a finding of the game.
+     *
+     * Postconditions:
+     * - Returns an id between 0 and `findingCount()` - 1.
+     *
+     * @param finding The finding.
+     * @return The id of the finding.
+     * @throws IllegalArgumentException if the finding is not a finding of the game.
+     */
+    public static int findingId(Finding finding) {
+        int id = finding.getId();
+        if (id >= 0) {
+            return id;
+        }
+        Integer named = FINDING_IDS.get(finding.getName());
+        if (named == null) {
+            throw new IllegalArgumentException("Unknown finding: " + finding.getName());
+        }
+        return named;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package Model;
 
+import Metrics.CardPlayEvent;
+import Metrics.Meters;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
@@ -12,7 +15,14 @@ public class Player {
     private final List<Card> cards;
     private final List<Pawn> pawns;
     private int score;
+    private int positionScore; // score of the positions of the pawns, updated when a pawn moves
+    private final int[] handCounts; // number of cards of each kind in the hand
+    private ZobristHash hash; // hash of the board the player is attached to, or null
+    private int hashIndex; // index of the player in the hash
     private List<Finding> findings;
+    private int successfulAttacks; // Minotaur attacks that moved a pawn back
+    private EventLog log; // null when the game is not logged
+    private int logIndex; // index of the player in the log
 
     /**
      * Creates a new player with name, cards, pawns, score, and findings.
@@ -32,10 +42,17 @@ public class Player {
      */
     public Player(String name, List<Pawn> pawns) {
         this.name = name;
-        this.cards = new ArrayList<>();
+        this.cards = new TrackedList<>(this::cardChanged);
+        this.handCounts = new int[GameState.CARD_KINDS];
         this.pawns = pawns;
         this.score = 0;
-        this.findings = new ArrayList<>();
+        this.findings = new TrackedList<>(this::findingChanged);
+        for (Pawn pawn : pawns) {
+            pawn.setOwner(this);
+            if (pawn.getCurrentPath() != null) {
+                positionScore += pawn.getCurrentPath().getScore(pawn.getCurrentPosition());
+            }
+        }
     }
 
     /**
@@ -84,6 +101,15 @@ public class Player {
         this.score += points;
     }
 
+    /**
+     * Sets the player's score when a saved game state is restored.
+     *
+     * @param score The score of the player.
+     */
+    void setScore(int score) {
+        this.score = score;
+    }
+
     /**
      * Gets the player's current score.
      *
@@ -104,49 +130,510 @@ public class Player {
      *
      * Preconditions:
      * - `card` is not null.
-     * - `path` is not null.
-     * - `card` is playable on the given path (validity checked externally).
+     * - `board` and `opponent` are not null.
      *
      * Postconditions:
-     * - The card is removed from the player's hand.
-     * - The card is played on the specified path.
+     * - The card is played like `tryPlayCard`, and logged like it.
      *
      * @param card The card to play.
      * @param pathIndex The index of the path to play the card on.
+     * @param board The board of the game.
+     * @param opponent The other player.
      * @return The card that was played.
+     * @throws IllegalArgumentException if the card is not in the hand or cannot be played on the path.
      */
-    public Card playCard(Card card, int pathIndex, Board board) {
+    public Card playCard(Card card, int pathIndex, Board board, Player opponent) {
         // check if the player holds the card
-        if (!cards.contains(card)) {
+        int cardIndex = cards.indexOf(card);
+        if (cardIndex < 0) {
             throw new IllegalArgumentException("The card is not in the player's hand");
         }
 
-        // check if the card is playable on the path
-        Card lastCard = board.getLastPlayedCard(pathIndex);
-        if (!card.isPlayable(lastCard)) {
+        // check if the card is playable on the path, and play it
+        if (!tryPlayCard(cardIndex, pathIndex, board, opponent)) {
             throw new IllegalArgumentException("The card is not playable on the path");
         }
+        return card;
+    }
 
-        // remove the card from the player's hand
-        cards.remove(card);
 
-        // update the path or move the pawn
+    /**
+     * Plays a card from the player's hand without printing or throwing.
+     *
+     * Preconditions:
+     * - `board` is not null.
+     * - `opponent` is not null.
+     *
+     * Postconditions:
+     * - If the move is legal, the card is removed from the hand and discarded.
+     * - A number or Ariadne card moves (and if needed deploys) the player's pawn on the path.
+     * - A Minotaur card attacks the opponent's pawn on the path.
+     * - If the move is illegal, nothing changes.
+     *
+     * @param cardIndex The index of the card in the player's hand.
+     * @param pathIndex The index of the path to play the card on.
+     * @param board The board of the game.
+     * @param opponent The other player.
+     * @return True if the card was played, false if the move is illegal.
+     */
+    public boolean tryPlayCard(int cardIndex, int pathIndex, Board board, Player opponent) {
+        return tryPlayCard(cardIndex, pathIndex, board, opponent, null);
+    }
+
+    /**
+     * Plays a card like `tryPlayCard` and records what it changes, so that the move can be undone.
+     *
+     * Preconditions:
+     * - `board` and `opponent` are not null.
+     * - A frame of `undo` is open, if `undo` is not null.
+     *
+     * Postconditions:
+     * - Same as `tryPlayCard`; if the card was played, `undo` holds every change it made.
+     *
+     * @param cardIndex The index of the card in the player's hand.
+     * @param pathIndex The index of the path to play the card on.
+     * @param board The board of the game.
+     * @param opponent The other player.
+     * @param undo The stack to record the changes on, or null.
+     * @return True if the card was played, false if the move is illegal.
+     */
+    public boolean tryPlayCard(int cardIndex, int pathIndex, Board board, Player opponent, UndoStack undo) {
+        if (!canPlayCard(cardIndex, pathIndex, board)) {
+            return false;
+        }
+        long start = Meters.PLAY_CARD.start();
+        CardPlayEvent event = CardPlayEvent.start();
+        Card card = cards.get(cardIndex);
         Path path = board.getPathByIndex(pathIndex);
-        Pawn pawn = getPawnOnPath(path);
-        if (pawn == null) {
-            throw new IllegalStateException("No pawn available on this path");
+        if (log != null) {
+            log.play(logIndex, card.getKind(), pathIndex);
         }
 
-        if (card instanceof NumberCard) {
-            pawn.move(((NumberCard) card).getValue());
-        } else if (card instanceof AriadneCard) {
-            pawn.move(2);
+        if (card instanceof MinotaurCard) {
+            if (undo != null) {
+                Pawn target = opponent.getPawnOnPath(path);
+                if (target != null) {
+                    undo.pawn(target);
+                }
+                undo.attacks(this);
+            }
+            if (((MinotaurCard) card).strike(opponent, path)) {
+                successfulAttacks++;
+            }
+        } else {
+            Pawn pawn = getPawnOnPath(path);
+            if (pawn == null) {
+                pawn = deployPawn(path, pathIndex, undo);
+            } else if (undo != null) {
+                undo.pawn(pawn);
+            }
+            int steps = card instanceof NumberCard ? ((NumberCard) card).getValue() : ((AriadneCard) card).getSteps();
+            advance(pawn, path, pathIndex, steps, undo);
+            if (undo != null) {
+                undo.topCard(board, pathIndex);
+            }
+            board.setLastPlayedCard(pathIndex, card);
         }
 
-        // update the last played card for the path
-        board.setLastPlayedCard(pathIndex, card);
+        cards.remove(cardIndex);
+        board.getDeck().discard(card);
+        if (undo != null) {
+            undo.handRemoved(this, card, cardIndex);
+            undo.cardDiscarded(board.getDeck());
+        }
+        Meters.PLAY_CARD.stop(start);
+        commit(event, card, pathIndex);
+        return true;
+    }
 
-        return card;
+    /**
+     * Commits the Flight Recorder event of a played card, if it is recorded.
+     *
+     * @param event The event, begun before the card was played, or null if it is not recorded.
+     * @param card The played card.
+     * @param pathIndex The index of the path the card was played on.
+     */
+    private void commit(CardPlayEvent event, Card card, int pathIndex) {
+        if (event != null && event.shouldCommit()) {
+            event.player = name;
+            event.card = card.toString();
+            event.path = pathIndex;
+            event.commit();
+        }
+    }
+
+    /**
+     * Checks if a card of the player's hand can be played on a path.
+     *
+     * Preconditions:
+     * - `board` is not null.
+     *
+     * Postconditions:
+     * - Returns true if `tryPlayCard` would play the card; nothing is modified.
+     *
+     * @param cardIndex The index of the card in the player's hand.
+     * @param pathIndex The index of the path to play the card on.
+     * @param board The board of the game.
+     * @return True if the move is legal, false otherwise.
+     */
+    public boolean canPlayCard(int cardIndex, int pathIndex, Board board) {
+        if (cardIndex < 0 || cardIndex >= cards.size()) {
+            return false;
+        }
+        List<Path> paths = board.getPaths();
+        if (pathIndex < 0 || pathIndex >= paths.size()) {
+            return false;
+        }
+        Card card = cards.get(cardIndex);
+        Path path = paths.get(pathIndex);
+        // a card can only be played on the path of its own palace
+        Palace palace = card.getPalaceType();
+        if (palace == null || board.getPalacePath(palace.ordinal()) != pathIndex) {
+            return false;
+        }
+        if (card instanceof MinotaurCard) {
+            return true;
+        }
+        if (!card.isPlayable(board.getLastPlayedCard(pathIndex))) {
+            return false;
+        }
+        // the pawn on the path moves, otherwise a new pawn is deployed
+        if (getPawnOnPath(path) != null) {
+            return true;
+        }
+        for (Pawn pawn : pawns) {
+            if (pawn.getCurrentPath() == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Discards a card from the player's hand.
+     *
+     * Preconditions:
+     * - `deck` is not null.
+     *
+     * Postconditions:
+     * - If the index is valid, the card is moved to the discard pile.
+     *
+     * @param cardIndex The index of the card in the player's hand.
+     * @param deck The deck to discard to.
+     * @return True if the card was discarded, false if the index is invalid.
+     */
+    public boolean discardCard(int cardIndex, Deck deck) {
+        return discardCard(cardIndex, deck, null);
+    }
+
+    /**
+     * Discards a card like `discardCard` and records it, so that the move can be undone.
+     *
+     * Preconditions:
+     * - `deck` is not null.
+     * - A frame of `undo` is open, if `undo` is not null.
+     *
+     * Postconditions:
+     * - Same as `discardCard`; if the card was discarded, `undo` holds the change.
+     *
+     * @param cardIndex The index of the card in the player's hand.
+     * @param deck The deck to discard to.
+     * @param undo The stack to record the change on, or null.
+     * @return True if the card was discarded, false if the index is invalid.
+     */
+    public boolean discardCard(int cardIndex, Deck deck, UndoStack undo) {
+        if (cardIndex < 0 || cardIndex >= cards.size()) {
+            return false;
+        }
+        Card card = cards.remove(cardIndex);
+        if (log != null) {
+            log.discard(logIndex, card.getKind());
+        }
+        deck.discard(card);
+        if (undo != null) {
+            undo.handRemoved(this, card, cardIndex);
+            undo.cardDiscarded(deck);
+        }
+        return true;
+    }
+
+    /**
+     * Places the first pawn that is not on a path yet at the start of the given path.
+     *
+     * @param path The path to deploy on.
+     * @param pathIndex The index of the path.
+     * @param undo The stack to record the pawn on, or null.
+     * @return The deployed pawn, or null if every pawn is already deployed.
+     */
+    private Pawn deployPawn(Path path, int pathIndex, UndoStack undo) {
+        for (int i = 0; i < pawns.size(); i++) {
+            Pawn pawn = pawns.get(i);
+            if (pawn.getCurrentPath() == null) {
+                if (undo != null) {
+                    undo.pawn(pawn);
+                }
+                pawn.setCurrentPath(path);
+                if (log != null) {
+                    log.deploy(logIndex, i, pathIndex);
+                }
+                return pawn;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves a pawn forward and resolves the box on the position it lands on.
+     *
+     * @param pawn The pawn to move.
+     * @param path The path the pawn is on.
+     * @param pathIndex The index of the path.
+     * @param steps The number of steps to move.
+     * @param undo The stack to record the box, the findings and the path on, or null.
+     */
+    private void advance(Pawn pawn, Path path, int pathIndex, int steps, UndoStack undo) {
+        int last = path.getLength() - 1;
+        int target = Math.min(pawn.getCurrentPosition() + steps, last);
+        pawn.move(target - pawn.getCurrentPosition());
+        int pawnIndex = log == null ? -1 : pawns.indexOf(pawn);
+        if (log != null) {
+            log.move(logIndex, pawnIndex, target);
+        }
+
+        if (path.hasClosedBox(target)) {
+            FindingPosition findingPosition = (FindingPosition) path.getPosition(target);
+            boolean hidden = pawn.isHidden();
+            if (undo != null) {
+                undo.box(findingPosition);
+                if (pawn instanceof Theseus) {
+                    undo.destroys((Theseus) pawn);
+                } else {
+                    undo.found(this);
+                }
+            }
+            // archaeologists take the finding, Theseus destroys the box
+            Finding finding = pawn.openBox(findingPosition);
+            if (finding != null) {
+                if (log != null) {
+                    log.open(logIndex, pawnIndex, pathIndex, target, GameState.findingId(finding));
+                }
+                findingPosition.setFinding(null);
+                findings.add(finding);
+                addScore(finding.getValue());
+                pawn.reveal();
+            } else if (pawn.destroyBox(findingPosition)) {
+                if (log != null) {
+                    log.destroy(logIndex, pawnIndex, pathIndex, target);
+                }
+                pawn.reveal();
+            }
+            if (log != null && hidden && !pawn.isHidden()) {
+                log.reveal(logIndex, pawnIndex);
+            }
+        }
+        if (target == last && !path.isCompleted()) {
+            if (undo != null) {
+                undo.completed(path);
+            }
+            path.setCompleted(true);
+            if (log != null) {
+                log.complete(pathIndex);
+            }
+        }
+    }
+
+    /**
+     * Gets the sum of the scores of the positions the player's pawns stand on.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the position score of all deployed pawns, kept up to date by the
+     *   pawns whenever they move, so this is O(1).
+     *
+     * @return The position score of the player.
+     */
+    public int getPositionScore() {
+        return positionScore;
+    }
+
+    /**
+     * Records a change of one of the player's pawns.
+     *
+     * @param pawn The pawn that changed.
+     * @param scoreDelta The score of the new position minus the score of the old one.
+     * @param before The code of the pawn before the change (see `Pawn.code`).
+     * @param after The code of the pawn after the change.
+     */
+    void pawnChanged(Pawn pawn, int scoreDelta, int before, int after) {
+        positionScore += scoreDelta;
+        if (hash != null && before != after) {
+            hash.pawnChanged(hashIndex, pawns.indexOf(pawn), before, after);
+        }
+    }
+
+    /**
+     * Reveals a pawn of the player whose identity the outcome of an attack has shown.
+     *
+     * @param pawn The attacked pawn.
+     */
+    void pawnIdentified(Pawn pawn) {
+        if (pawn.isHidden()) {
+            pawn.reveal();
+            if (log != null) {
+                log.reveal(logIndex, pawns.indexOf(pawn));
+            }
+        }
+    }
+
+    /**
+     * Records a change of the remaining destroys of one of the player's pawns.
+     */
+    void destroysChanged(Pawn pawn, int before, int after) {
+        if (hash != null) {
+            hash.destroysChanged(hashIndex, pawns.indexOf(pawn), before, after);
+        }
+    }
+
+    /**
+     * Records a card added to or removed from the hand.
+     */
+    private void cardChanged(Card card, boolean added) {
+        int kind = card == null ? -1 : card.getKind();
+        if (kind < 0) {
+            return;
+        }
+        int before = handCounts[kind];
+        handCounts[kind] += added ? 1 : -1;
+        if (hash != null) {
+            hash.handChanged(hashIndex, kind, before, handCounts[kind]);
+        }
+    }
+
+    /**
+     * Records a finding added to or removed from the collected findings.
+     */
+    private void findingChanged(Finding finding, boolean added) {
+        if (hash != null) {
+            hash.foundChanged(hashIndex, finding);
+        }
+    }
+
+    /**
+     * Attaches the player to the hash of a board, which from then on follows every
+     * change of the player's hand, findings and pawns.
+     *
+     * @param hash The hash of the board.
+     * @param index The index of the player in the game (0 or 1).
+     */
+    void attachHash(ZobristHash hash, int index) {
+        this.hash = hash;
+        this.hashIndex = index;
+    }
+
+    /**
+     * Records a pawn of the player moved back by a Minotaur.
+     *
+     * @param pawn The pawn, already moved back.
+     */
+    void pawnAttacked(Pawn pawn) {
+        if (log != null) {
+            log.attack(logIndex, pawns.indexOf(pawn), pawn.getCurrentPosition());
+        }
+    }
+
+    /**
+     * Gets the number of Minotaur attacks of this player that moved a pawn back.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the number of successful attacks played through `tryPlayCard`.
+     *
+     * @return The number of successful attacks.
+     */
+    public int getSuccessfulAttacks() {
+        return successfulAttacks;
+    }
+
+    /**
+     * Sets the number of successful attacks when a move is undone.
+     *
+     * @param successfulAttacks The number of successful attacks.
+     */
+    void setSuccessfulAttacks(int successfulAttacks) {
+        this.successfulAttacks = successfulAttacks;
+    }
+
+    /**
+     * Gets the number of boxes destroyed by the player's Theseus pawns.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the number of destroys the Theseus pawns have used.
+     *
+     * @return The number of destroyed boxes.
+     */
+    public int getDestroyedBoxes() {
+        int destroyed = 0;
+        for (Pawn pawn : pawns) {
+            if (pawn instanceof Theseus) {
+                destroyed += Theseus.MAX_DESTROYS - ((Theseus) pawn).getRemainingDestroys();
+            }
+        }
+        return destroyed;
+    }
+
+    /**
+     * Records the actions of this player in an event log.
+     *
+     * Preconditions:
+     * - `index` is 0 for the first player of the game and 1 for the second.
+     *
+     * Postconditions:
+     * - Every draw, play, discard, pawn move, box and reveal of the player is logged,
+     *   or nothing is logged if `log` is null.
+     *
+     * @param log The log to write to, or null to stop logging.
+     * @param index The index of the player in the log.
+     */
+    public void setEventLog(EventLog log, int index) {
+        this.log = log;
+        this.logIndex = index;
+    }
+
+    /**
+     * Gets the player's pawns.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the list of pawns of the player.
+     *
+     * @return The pawns of the player.
+     */
+    public List<Pawn> getPawns() {
+        return pawns;
+    }
+
+    /**
+     * Gets the findings the player has collected.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the list of findings of the player.
+     *
+     * @return The findings of the player.
+     */
+    public List<Finding> getFindings() {
+        return findings;
     }
 
 
@@ -165,11 +652,35 @@ public class Player {
      * @return The card that was drawn.
      */
     public Card drawCard(Deck deck) {
+        return drawCard(deck, null);
+    }
+
+    /**
+     * Draws a card like `drawCard` and records it, so that the draw can be undone.
+     *
+     * Preconditions:
+     * - `deck` is not null and contains at least one card.
+     * - A frame of `undo` is open, if `undo` is not null.
+     *
+     * Postconditions:
+     * - Same as `drawCard`; `undo` holds the draw.
+     *
+     * @param deck The deck to draw from.
+     * @param undo The stack to record the draw on, or null.
+     * @return The card that was drawn.
+     */
+    public Card drawCard(Deck deck, UndoStack undo) {
         if (deck == null) {
             throw new IllegalArgumentException("deck cannot be null.");
         }
         Card drawnCard = deck.draw(); // draw a card from the deck
         cards.add(drawnCard); // add the card to the player's hand
+        if (log != null) {
+            log.draw(logIndex, drawnCard.getKind());
+        }
+        if (undo != null) {
+            undo.cardDrawn(this, deck);
+        }
         return drawnCard;
     }
 
@@ -63,6 +63,10 @@ class SimplePosition extends Position {
  */
 class FindingPosition extends Position {
     private Finding finding; // The finding in this position.
+    private ZobristHash hash; // hash of the board of the position, or null
+    private Path path; // keeps the mask of the closed boxes, null while the position is not on a path
+    private int pathIndex; // index of the path of the position on the board
+    private int index; // index of the position on its path
 
     /**
      * Creates a new finding position.
@@ -108,7 +112,56 @@ class FindingPosition extends Position {
      * @param finding The finding to set.
      */
     public void setFinding(Finding finding) {
+        Finding before = this.finding;
         this.finding = finding;
+        if (path != null && (before == null) != (finding == null)) {
+            path.boxChanged(index, finding != null);
+        }
+        if (hash != null && before != finding) {
+            hash.boxChanged(pathIndex, index, before, finding);
+        }
+    }
+
+    /**
+     * Attaches the position to its path.
+     *
+     * @param path The path of the position.
+     * @param index The index of the position on the path.
+     */
+    void setPath(Path path, int index) {
+        this.path = path;
+        this.index = index;
+    }
+
+    /**
+     * Attaches the position to the hash of its board.
+     *
+     * @param hash The hash of the board.
+     * @param pathIndex The index of the path of the position.
+     * @param index The index of the position on its path.
+     */
+    void attachHash(ZobristHash hash, int pathIndex, int index) {
+        this.hash = hash;
+        this.pathIndex = pathIndex;
+        this.index = index;
+    }
+
+    /**
+     * Gets the index of the path of this position on its board.
+     *
+     * @return The index of the path, or 0 if the position is not on a board.
+     */
+    int getPathIndex() {
+        return pathIndex;
+    }
+
+    /**
+     * Gets the index of this position on its path.
+     *
+     * @return The index of the position, or 0 if the position is not on a board.
+     */
+    int getIndex() {
+        return index;
     }
 
     /**
@@ -0,0 +1,87 @@
+package Model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An array list that reports every element added or removed, so that the owner can
+ * keep derived data (such as a hash) up to date however the list is changed.
+ * All the mutators of `AbstractList` go through `add(int, E)`, `remove(int)` and `set`.
+ *
+ * @param <E> The type of the elements.
+ */
+final class TrackedList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Receives the changes of a tracked list.
+     *
+     * @param <E> The type of the elements.
+     */
+    interface Listener<E> {
+        void changed(E element, boolean added);
+    }
+
+    private Object[] elements;
+    private int size;
+    private final Listener<E> listener;
+
+    TrackedList(Listener<E> listener) {
+        this.elements = new Object[8];
+        this.listener = listener;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E old = get(index);
+        elements[index] = element;
+        listener.changed(old, false);
+        listener.changed(element, true);
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        modCount++;
+        listener.changed(element, true);
+    }
+
+    @Override
+    public E remove(int index) {
+        E old = get(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        listener.changed(old, false);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        while (size > 0) {
+            remove(size - 1);
+        }
+    }
+}
\ No newline at end of file
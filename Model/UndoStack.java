@@ -0,0 +1,238 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Journal of the changes made by moves, so that a search can play a move and take
+ * it back without copying the board.
+ *
+ * Each move opens a frame and records only what it changes: the card taken from the
+ * hand, the card drawn and discarded, the previous state of every pawn it moves, the
+ * box it opens or destroys, the previous top card of the path and the counters of
+ * the player. `undo` restores the entries of the last frame in reverse order through
+ * the same setters the game uses, so the position scores and the hash of the board
+ * follow automatically.
+ *
+ * The entries live in parallel arrays allocated up front; they only grow if a search
+ * goes deeper than the capacity it was created with.
+ */
+public final class UndoStack {
+    static final int ENTRIES_PER_MOVE = 12; // more than any move records
+
+    private static final byte HAND_REMOVED = 0; // target: player, object: card, value: index
+    private static final byte CARD_DRAWN = 1; // target: player, object: deck
+    private static final byte CARD_DISCARDED = 2; // target: deck
+    private static final byte PAWN = 3; // target: pawn, object: path, value: position << 1 | hidden
+    private static final byte BOX = 4; // target: position, object: finding
+    private static final byte FOUND = 5; // target: player, value: score
+    private static final byte DESTROYS = 6; // target: Theseus, value: remaining destroys
+    private static final byte COMPLETED = 7; // target: path
+    private static final byte TOP_CARD = 8; // target: board, object: card, value: path index
+    private static final byte ATTACKS = 9; // target: player, value: successful attacks
+
+    private byte[] ops;
+    private Object[] targets;
+    private Object[] objects;
+    private int[] values;
+    private int size;
+    private int[] frames; // index of the first entry of each frame
+    private int[] tags;
+    private int depth;
+
+    /**
+     * Creates an empty undo stack.
+     *
+     * Preconditions:
+     * - `moves` is greater than 0.
+     *
+     * Postconditions:
+     * - `moves` moves can be made without allocating.
+     *
+     * @param moves The number of moves the stack holds before growing.
+     */
+    public UndoStack(int moves) {
+        if (moves <= 0) {
+            throw new IllegalArgumentException("moves must be greater than 0.");
+        }
+        int entries = moves * ENTRIES_PER_MOVE;
+        this.ops = new byte[entries];
+        this.targets = new Object[entries];
+        this.objects = new Object[entries];
+        this.values = new int[entries];
+        this.frames = new int[moves];
+        this.tags = new int[moves];
+    }
+
+    /**
+     * Opens the frame of a new move.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The next entries belong to the new frame, which `undo` closes.
+     *
+     * @param tag A value kept with the frame and returned by `undo`,
+     *            for the state the caller restores itself.
+     */
+    public void begin(int tag) {
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth * 2);
+            tags = Arrays.copyOf(tags, depth * 2);
+        }
+        frames[depth] = size;
+        tags[depth++] = tag;
+    }
+
+    /**
+     * Takes back the last move.
+     *
+     * Preconditions:
+     * - A frame is open and the game has not changed since its move,
+     *   other than through moves undone before it.
+     *
+     * Postconditions:
+     * - Every change recorded in the last frame is reverted and the frame is closed.
+     *
+     * @return The tag given to `begin`.
+     */
+    public int undo() {
+        if (depth == 0) {
+            throw new IllegalStateException("There is no move to undo.");
+        }
+        int start = frames[--depth];
+        while (size > start) {
+            revert(--size);
+            targets[size] = null;
+            objects[size] = null;
+        }
+        return tags[depth];
+    }
+
+    /**
+     * Gets the number of moves that can be undone.
+     *
+     * @return The number of open frames.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Forgets every frame without reverting it, for example after a state is loaded.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - `depth()` is 0.
+     */
+    public void clear() {
+        Arrays.fill(targets, 0, size, null);
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        depth = 0;
+    }
+
+    void handRemoved(Player player, Card card, int index) {
+        push(HAND_REMOVED, player, card, index);
+    }
+
+    void cardDrawn(Player player, Deck deck) {
+        push(CARD_DRAWN, player, deck, 0);
+    }
+
+    void cardDiscarded(Deck deck) {
+        push(CARD_DISCARDED, deck, null, 0);
+    }
+
+    void pawn(Pawn pawn) {
+        push(PAWN, pawn, pawn.getCurrentPath(), pawn.getCurrentPosition() << 1 | (pawn.isHidden() ? 1 : 0));
+    }
+
+    void box(FindingPosition position) {
+        push(BOX, position, position.getFinding(), 0);
+    }
+
+    void found(Player player) {
+        push(FOUND, player, null, player.getScore());
+    }
+
+    void destroys(Theseus theseus) {
+        push(DESTROYS, theseus, null, theseus.getRemainingDestroys());
+    }
+
+    void completed(Path path) {
+        push(COMPLETED, path, null, 0);
+    }
+
+    void topCard(Board board, int pathIndex) {
+        push(TOP_CARD, board, board.getLastPlayedCard(pathIndex), pathIndex);
+    }
+
+    void attacks(Player player) {
+        push(ATTACKS, player, null, player.getSuccessfulAttacks());
+    }
+
+    private void push(byte op, Object target, Object object, int value) {
+        if (size == ops.length) {
+            int capacity = size * 2;
+            ops = Arrays.copyOf(ops, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        ops[size] = op;
+        targets[size] = target;
+        objects[size] = object;
+        values[size++] = value;
+    }
+
+    /**
+     * Reverts one entry.
+     *
+     * @param i The index of the entry.
+     */
+    private void revert(int i) {
+        Object target = targets[i];
+        int value = values[i];
+        switch (ops[i]) {
+            case HAND_REMOVED:
+                ((Player) target).getCards().add(value, (Card) objects[i]);
+                break;
+            case CARD_DRAWN:
+                List<Card> hand = ((Player) target).getCards();
+                ((Deck) objects[i]).addCard(hand.remove(hand.size() - 1));
+                break;
+            case CARD_DISCARDED:
+                ((Deck) target).undiscard();
+                break;
+            case PAWN:
+                ((Pawn) target).restore(value >> 1, (Path) objects[i], (value & 1) != 0);
+                break;
+            case BOX:
+                ((FindingPosition) target).setFinding((Finding) objects[i]);
+                break;
+            case FOUND:
+                List<Finding> findings = ((Player) target).getFindings();
+                findings.remove(findings.size() - 1);
+                ((Player) target).setScore(value);
+                break;
+            case DESTROYS:
+                ((Theseus) target).setRemainingDestroys(value);
+                break;
+            case COMPLETED:
+                ((Path) target).setCompleted(false);
+                break;
+            case TOP_CARD:
+                ((Board) target).setLastPlayedCard(value, (Card) objects[i]);
+                break;
+            case ATTACKS:
+                ((Player) target).setSuccessfulAttacks(value);
+                break;
+            default:
+                throw new IllegalStateException("Unknown undo entry " + ops[i]);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package Model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hash of a game: the XOR of one random key per feature of the position.
+ * Features are the pawns (path, position and revealed flag), the remaining destroys
+ * of each pawn, the top card and the completed flag of every path, the finding in every
+ * box, the number of cards of each kind in every hand and the findings of every player.
+ *
+ * The hash is owned by a `Board` and kept up to date by the pieces themselves: every
+ * setter that changes a feature XORs out the old key and XORs in the new one, so a move
+ * and its undo both cost O(1). The keys are fixed, so equal positions have equal hashes
+ * in every game and every thread.
+ */
+public final class ZobristHash {
+    static final int MAX_PATHS = 8;
+    static final int MAX_POSITIONS = 16;
+    static final int PAWN_CODES = (MAX_PATHS + 1) << 5; // (path + 1) << 5 | position << 1 | revealed
+    private static final int PLAYER_PAWNS = GameState.PAWNS;
+    private static final int MAX_HAND = 16;
+    private static final int DESTROY_STATES = Theseus.MAX_DESTROYS + 1;
+
+    private static final long SIDE;
+    private static final long[] PAWN_KEYS = new long[GameState.PLAYERS * PLAYER_PAWNS * PAWN_CODES];
+    private static final long[] DESTROY_KEYS = new long[GameState.PLAYERS * PLAYER_PAWNS * DESTROY_STATES];
+    private static final long[] TOP_KEYS = new long[MAX_PATHS * (GameState.CARD_KINDS + 1)];
+    private static final long[] COMPLETED_KEYS = new long[MAX_PATHS];
+    private static final long[] BOX_KEYS = new long[MAX_PATHS * MAX_POSITIONS * (Pieces.findingCount() + 1)];
+    private static final long[] HAND_KEYS = new long[GameState.PLAYERS * GameState.CARD_KINDS * MAX_HAND];
+    private static final long[] FOUND_KEYS = new long[GameState.PLAYERS * Pieces.findingCount()];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x4B4E5A42L);
+        SIDE = random.nextLong();
+        for (long[] keys : new long[][]{PAWN_KEYS, DESTROY_KEYS, TOP_KEYS, COMPLETED_KEYS, BOX_KEYS, HAND_KEYS, FOUND_KEYS}) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+    }
+
+    private long value;
+
+    /**
+     * Gets the current hash.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the XOR of the keys of all features of the position.
+     *
+     * @return The hash of the position.
+     */
+    public long get() {
+        return value;
+    }
+
+    /**
+     * Gets the key XORed into the hash of a game when the second player is to move.
+     *
+     * @return The side to move key.
+     */
+    public static long side() {
+        return SIDE;
+    }
+
+    /**
+     * Computes the hash of a game from scratch.
+     *
+     * Preconditions:
+     * - `board` is not null.
+     *
+     * Postconditions:
+     * - Returns the value the incremental hash has for the same position.
+     *
+     * @param board The board of the game.
+     * @param player1 The first player, or null to hash the board only.
+     * @param player2 The second player, or null to hash the board only.
+     * @return The hash of the position.
+     */
+    public static long compute(Board board, Player player1, Player player2) {
+        long hash = 0;
+        List<Path> paths = board.getPaths();
+        for (int p = 0; p < paths.size(); p++) {
+            Path path = paths.get(p);
+            Card top = board.getLastPlayedCard(p);
+            hash ^= TOP_KEYS[topIndex(p, top == null ? -1 : top.getKind())];
+            if (path.isCompleted()) {
+                hash ^= COMPLETED_KEYS[p];
+            }
+            for (int boxes = path.getBoxMask(); boxes != 0; boxes &= boxes - 1) {
+                int i = Integer.numberOfTrailingZeros(boxes);
+                hash ^= BOX_KEYS[boxIndex(p, i, findingCode(((FindingPosition) path.getPosition(i)).getFinding()))];
+            }
+        }
+        Player[] players = {player1, player2};
+        for (int player = 0; player < players.length; player++) {
+            if (players[player] != null) {
+                hash ^= computePlayer(players[player], player);
+            }
+        }
+        return hash;
+    }
+
+    private static long computePlayer(Player player, int index) {
+        long hash = 0;
+        List<Pawn> pawns = player.getPawns();
+        for (int i = 0; i < pawns.size(); i++) {
+            Pawn pawn = pawns.get(i);
+            hash ^= PAWN_KEYS[pawnIndex(index, i, pawn.code())];
+            if (pawn instanceof Theseus) {
+                hash ^= DESTROY_KEYS[destroyIndex(index, i, ((Theseus) pawn).getRemainingDestroys())];
+            }
+        }
+        int[] counts = new int[GameState.CARD_KINDS];
+        for (Card card : player.getCards()) {
+            if (card.getKind() >= 0) {
+                counts[card.getKind()]++;
+            }
+        }
+        for (int kind = 0; kind < counts.length; kind++) {
+            hash ^= HAND_KEYS[handIndex(index, kind, counts[kind])];
+        }
+        for (Finding finding : player.getFindings()) {
+            hash ^= FOUND_KEYS[index * Pieces.findingCount() + Pieces.findingId(finding)];
+        }
+        return hash;
+    }
+
+    /**
+     * Replaces the hash, e.g. after players were attached to the board.
+     *
+     * @param value The new hash.
+     */
+    void set(long value) {
+        this.value = value;
+    }
+
+    void pawnChanged(int player, int pawn, int before, int after) {
+        value ^= PAWN_KEYS[pawnIndex(player, pawn, before)] ^ PAWN_KEYS[pawnIndex(player, pawn, after)];
+    }
+
+    void destroysChanged(int player, int pawn, int before, int after) {
+        value ^= DESTROY_KEYS[destroyIndex(player, pawn, before)] ^ DESTROY_KEYS[destroyIndex(player, pawn, after)];
+    }
+
+    void topCardChanged(int path, int before, int after) {
+        value ^= TOP_KEYS[topIndex(path, before)] ^ TOP_KEYS[topIndex(path, after)];
+    }
+
+    void completedChanged(int path) {
+        value ^= COMPLETED_KEYS[path];
+    }
+
+    void boxChanged(int path, int position, Finding before, Finding after) {
+        value ^= BOX_KEYS[boxIndex(path, position, findingCode(before))] ^ BOX_KEYS[boxIndex(path, position, findingCode(after))];
+    }
+
+    void handChanged(int player, int kind, int before, int after) {
+        value ^= HAND_KEYS[handIndex(player, kind, before)] ^ HAND_KEYS[handIndex(player, kind, after)];
+    }
+
+    void foundChanged(int player, Finding finding) {
+        value ^= FOUND_KEYS[player * Pieces.findingCount() + Pieces.findingId(finding)];
+    }
+
+    private static int pawnIndex(int player, int pawn, int code) {
+        return (player * PLAYER_PAWNS + pawn) * PAWN_CODES + code;
+    }
+
+    private static int destroyIndex(int player, int pawn, int remaining) {
+        return (player * PLAYER_PAWNS + pawn) * DESTROY_STATES + remaining;
+    }
+
+    private static int topIndex(int path, int kind) {
+        return path * (GameState.CARD_KINDS + 1) + kind + 1;
+    }
+
+    private static int boxIndex(int path, int position, int code) {
+        return (path * MAX_POSITIONS + position) * (Pieces.findingCount() + 1) + code;
+    }
+
+    private static int handIndex(int player, int kind, int count) {
+        return (player * GameState.CARD_KINDS + kind) * MAX_HAND + count;
+    }
+
+    private static int findingCode(Finding finding) {
+        return finding == null ? 0 : Pieces.findingId(finding) + 1;
+    }
+}
\ No newline at end of file
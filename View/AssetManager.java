@@ -0,0 +1,341 @@
+package View;
+
+import Model.Card;
+import Model.Finding;
+import Model.GameSetup;
+import Model.Pieces;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the images of the game from the class path.
+ *
+ * Every image is decoded once. The decoded full resolution images are kept in a
+ * least recently used cache bounded by their size in bytes, and the images scaled to
+ * their size on screen are kept for the life of the manager. The cards, the card back
+ * and the findings are packed into one `TextureAtlas`, built on a background thread
+ * by `prefetch()` so that the first frame does not wait for JPEG decoding.
+ */
+public class AssetManager {
+    public static final int CARD_WIDTH = 70;
+    public static final int CARD_HEIGHT = 105;
+    public static final int FINDING_SIZE = 60;
+
+    private static final String IMAGES = "images/";
+    private static final String CARD_BACK = "cards/backCard.jpg";
+    private static final String[] RARE_FINDING_IMAGES = {"ring.jpg", "kosmima.jpg", "diskos.jpg", "ruto.jpg"};
+    private static final String STATUE_IMAGE = "snakes.jpg";
+    private static final String[] FRESCO_IMAGES = {"fresco1_20.jpg", "fresco2_20.jpg", "fresco3_15.jpg",
+            "fresco4_20.jpg", "fresco5_15.jpg", "fresco6_15.jpg"}; // number_value.jpg
+    private static final String[] FINDING_IMAGES = findingImages(); // by finding id
+
+    private final ClassLoader loader;
+    private final long maxCacheBytes;
+    private final LinkedHashMap<String, BufferedImage> originals; // in access order
+    private long cacheBytes;
+    private final Map<String, BufferedImage> scaled;
+    private volatile CompletableFuture<TextureAtlas> atlas;
+
+    /**
+     * Creates an asset manager.
+     *
+     * Preconditions:
+     * - `loader` is not null.
+     * - `maxCacheBytes` is greater than 0.
+     *
+     * Postconditions:
+     * - No image is loaded yet.
+     *
+     * @param loader The class loader to load the images with.
+     * @param maxCacheBytes The maximum size of the cached full resolution images.
+     */
+    public AssetManager(ClassLoader loader, long maxCacheBytes) {
+        this.loader = loader;
+        this.maxCacheBytes = maxCacheBytes;
+        this.originals = new LinkedHashMap<>(32, 0.75f, true);
+        this.scaled = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Starts building the texture atlas on a background thread.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - The atlas is built at most once; later calls do nothing.
+     */
+    public synchronized void prefetch() {
+        if (atlas == null) {
+            atlas = CompletableFuture.supplyAsync(this::buildAtlas, runnable -> {
+                Thread thread = new Thread(runnable, "asset-prefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                thread.start();
+            });
+        }
+    }
+
+    /**
+     * Gets the texture atlas, waiting for the prefetch if it has not finished.
+     *
+     * Preconditions:
+     * - None.
+     *
+     * Postconditions:
+     * - Returns the atlas with every card, the card back and every finding.
+     *
+     * @return The texture atlas.
+     */
+    public TextureAtlas getAtlas() {
+        prefetch();
+        return atlas.join();
+    }
+
+    /**
+     * Gets the icon of a card, at `CARD_WIDTH` x `CARD_HEIGHT`.
+     *
+     * Preconditions:
+     * - `card` is not null.
+     *
+     * Postconditions:
+     * - Returns an icon that shares the raster of the atlas.
+     *
+     * @param card The card.
+     * @return The icon of the card.
+     */
+    public ImageIcon getCardIcon(Card card) {
+        return getCardIcon(card.getKind());
+    }
+
+    /**
+     * Gets the icon of a card kind, at `CARD_WIDTH` x `CARD_HEIGHT`.
+     *
+     * Preconditions:
+     * - `kind` is between 0 and `GameState.CARD_KINDS` - 1.
+     *
+     * Postconditions:
+     * - Returns an icon that shares the raster of the atlas.
+     *
+     * @param kind The card kind, as returned by `Card.getKind()`.
+     * @return The icon of the card.
+     */
+    public ImageIcon getCardIcon(int kind) {
+        return getAtlas().getIcon(cardImage(kind));
+    }
+
+    /**
+     * Gets the icon of the back of a card.
+     *
+     * @return The icon of the card back.
+     */
+    public ImageIcon getCardBackIcon() {
+        return getAtlas().getIcon(CARD_BACK);
+    }
+
+    /**
+     * Gets the icon of a finding, at `FINDING_SIZE` x `FINDING_SIZE`.
+     *
+     * Preconditions:
+     * - `finding` is one of the findings of the game.
+     *
+     * Postconditions:
+     * - Returns an icon that shares the raster of the atlas.
+     *
+     * @param finding The finding.
+     * @return The icon of the finding.
+     */
+    public ImageIcon getFindingIcon(Finding finding) {
+        return getAtlas().getIcon(findingImage(finding));
+    }
+
+    /**
+     * Gets an image scaled to the given size. Scaled images are kept for the life of the manager.
+     *
+     * Preconditions:
+     * - `resource` names an image below `images/`, e.g. `paths/knossos.jpg`.
+     * - `width` and `height` are greater than 0.
+     *
+     * Postconditions:
+     * - Returns the same image for the same arguments.
+     *
+     * @param resource The name of the image.
+     * @param width The width on screen.
+     * @param height The height on screen.
+     * @return The scaled image.
+     * @throws UncheckedIOException if the image cannot be read.
+     */
+    public BufferedImage getImage(String resource, int width, int height) {
+        return scaled.computeIfAbsent(resource + "@" + width + "x" + height,
+                key -> scale(getOriginal(resource), width, height));
+    }
+
+    /**
+     * Gets an image at full resolution, decoding it if it is not in the cache.
+     *
+     * Preconditions:
+     * - `resource` names an image below `images/`.
+     *
+     * Postconditions:
+     * - The image is the most recently used entry of the cache.
+     * - The least recently used images are evicted while the cache is over its size.
+     *
+     * @param resource The name of the image.
+     * @return The decoded image.
+     * @throws UncheckedIOException if the image cannot be read.
+     */
+    public BufferedImage getOriginal(String resource) {
+        synchronized (originals) {
+            BufferedImage image = originals.get(resource);
+            if (image != null) {
+                return image;
+            }
+        }
+        BufferedImage image = decode(resource);
+        synchronized (originals) {
+            if (originals.put(resource, image) == null) {
+                cacheBytes += bytes(image);
+            }
+            Iterator<BufferedImage> oldest = originals.values().iterator();
+            while (cacheBytes > maxCacheBytes && originals.size() > 1) {
+                cacheBytes -= bytes(oldest.next());
+                oldest.remove();
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Decodes the cards and findings, scales them and packs them into a new atlas.
+     */
+    private TextureAtlas buildAtlas() {
+        int kinds = GameSetup.PALACES.length * 12;
+        int findings = RARE_FINDING_IMAGES.length + 1 + FRESCO_IMAGES.length;
+        int columns = 16;
+        int cardRows = (kinds + 1 + columns - 1) / columns;
+        int findingRows = (findings * FINDING_SIZE + columns * CARD_WIDTH - 1) / (columns * CARD_WIDTH);
+        TextureAtlas result = new TextureAtlas(columns * CARD_WIDTH, cardRows * CARD_HEIGHT + findingRows * FINDING_SIZE);
+        for (int kind = 0; kind < kinds; kind++) {
+            addScaled(result, cardImage(kind), CARD_WIDTH, CARD_HEIGHT);
+        }
+        addScaled(result, CARD_BACK, CARD_WIDTH, CARD_HEIGHT);
+        for (String image : RARE_FINDING_IMAGES) {
+            addScaled(result, "findings/" + image, FINDING_SIZE, FINDING_SIZE);
+        }
+        addScaled(result, "findings/" + STATUE_IMAGE, FINDING_SIZE, FINDING_SIZE);
+        for (String image : FRESCO_IMAGES) {
+            addScaled(result, "findings/" + image, FINDING_SIZE, FINDING_SIZE);
+        }
+        return result;
+    }
+
+    /**
+     * Adds an image to the atlas. The full resolution image is not cached, since only
+     * the scaled copy in the atlas is drawn.
+     */
+    private void addScaled(TextureAtlas target, String resource, int width, int height) {
+        if (!target.contains(resource)) {
+            target.add(resource, scale(decode(resource), width, height));
+        }
+    }
+
+    /**
+     * Gets the image name of a card kind, e.g. `cards/knossos7.jpg` or `cards/maliaAri.jpg`.
+     */
+    private static String cardImage(int kind) {
+        int type = kind % 12;
+        String name = type < 10 ? String.valueOf(type + 1) : type == 10 ? "Ari" : "Min";
+        return "cards/" + GameSetup.PALACES[kind / 12].toLowerCase() + name + ".jpg";
+    }
+
+    /**
+     * Gets the image name of a finding, e.g. `findings/ring.jpg`.
+     *
+     * @throws IllegalArgumentException if the finding is not a finding of the game.
+     */
+    static String findingImage(Finding finding) {
+        return FINDING_IMAGES[Pieces.findingId(finding)];
+    }
+
+    /**
+     * Matches the findings of `Pieces` with their images. Rare findings are in palace order,
+     * and every fresco gets an image printed with its value; the numbers of the fresco
+     * images do not follow the numbers of the frescoes.
+     */
+    private static String[] findingImages() {
+        String[] images = new String[Pieces.findingCount()];
+        boolean[] used = new boolean[FRESCO_IMAGES.length];
+        for (int id = 0; id < images.length; id++) {
+            if (Pieces.isRareFinding(id)) {
+                images[id] = "findings/" + RARE_FINDING_IMAGES[id];
+            } else if (!Pieces.isFresco(id)) {
+                images[id] = "findings/" + STATUE_IMAGE;
+            } else {
+                int value = Pieces.finding(id).getValue();
+                for (int i = 0; i < FRESCO_IMAGES.length && images[id] == null; i++) {
+                    String image = FRESCO_IMAGES[i];
+                    if (!used[i] && image.endsWith("_" + value + ".jpg")) {
+                        used[i] = true;
+                        images[id] = "findings/" + image;
+                    }
+                }
+                if (images[id] == null) {
+                    throw new IllegalStateException("No image for fresco: " + Pieces.finding(id).getName());
+                }
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Reads an image from the class path. A few files of the asset pack start with a
+     * capital letter, so the capitalized name is tried when the exact one is missing.
+     */
+    private BufferedImage decode(String resource) {
+        URL url = loader.getResource(IMAGES + resource);
+        if (url == null) {
+            int slash = resource.lastIndexOf('/') + 1;
+            url = loader.getResource(IMAGES + resource.substring(0, slash)
+                    + Character.toUpperCase(resource.charAt(slash)) + resource.substring(slash + 1));
+        }
+        if (url == null) {
+            throw new UncheckedIOException(new IOException("Image not found: " + IMAGES + resource));
+        }
+        try (InputStream in = url.openStream()) {
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                throw new IOException("Unknown image format: " + url);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return result;
+    }
+
+    private static long bytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,297 @@
+package View;
+
+import Model.Card;
+import Model.GameSetup;
+import Model.GameState;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable picture of the game as one player sees it. The game loop publishes
+ * snapshots to the `RenderPipeline`, which compares them to find what to redraw.
+ * The `with` methods return a changed copy and leave this snapshot untouched.
+ */
+public final class BoardSnapshot {
+    public static final int PAWNS = 4; // pawns per player
+
+    /**
+     * The snapshot of a game that has not started: no cards and no pawns on the board.
+     */
+    public static final BoardSnapshot EMPTY = new BoardSnapshot();
+
+    private final int viewer;
+    private final int[] hand; // card kinds in hand order
+    private final int[] topCards; // per path, -1 if no card was played
+    private final int[] pawnPaths; // per player and pawn, -1 if off the board
+    private final int[] pawnPositions;
+    private final boolean[] revealed;
+    private final boolean[] theseus;
+    private final int[] scores;
+    private final int turns;
+    private final String message;
+
+    private BoardSnapshot() {
+        this.viewer = 0;
+        this.hand = new int[0];
+        this.topCards = new int[GameSetup.PALACES.length];
+        Arrays.fill(topCards, -1);
+        this.pawnPaths = new int[2 * PAWNS];
+        Arrays.fill(pawnPaths, -1);
+        this.pawnPositions = new int[2 * PAWNS];
+        this.revealed = new boolean[2 * PAWNS];
+        this.theseus = new boolean[2 * PAWNS];
+        for (int player = 0; player < 2; player++) {
+            theseus[player * PAWNS + PAWNS - 1] = true;
+        }
+        this.scores = new int[2];
+        this.turns = 0;
+        this.message = "";
+    }
+
+    private BoardSnapshot(BoardSnapshot other, int[] hand, int[] pawnPaths, int[] pawnPositions, String message) {
+        this.viewer = other.viewer;
+        this.hand = hand;
+        this.topCards = other.topCards;
+        this.pawnPaths = pawnPaths;
+        this.pawnPositions = pawnPositions;
+        this.revealed = other.revealed;
+        this.theseus = other.theseus;
+        this.scores = other.scores;
+        this.turns = other.turns;
+        this.message = message;
+    }
+
+    /**
+     * Creates a snapshot of a game.
+     *
+     * Preconditions:
+     * - `state` was captured from the game of `hand`.
+     * - `viewer` is 0 or 1.
+     *
+     * Postconditions:
+     * - Later changes to `state` or `hand` do not change the snapshot.
+     *
+     * @param state The state of the game.
+     * @param viewer The index of the player the board is shown to.
+     * @param hand The cards of the viewer, in the order of the hand.
+     * @param message The message of the infobox.
+     */
+    public BoardSnapshot(GameState state, int viewer, List<Card> hand, String message) {
+        this.viewer = viewer;
+        this.hand = kinds(hand);
+        this.topCards = new int[GameSetup.PALACES.length];
+        for (int p = 0; p < topCards.length; p++) {
+            topCards[p] = state.getTopCard(p);
+        }
+        this.pawnPaths = new int[2 * PAWNS];
+        this.pawnPositions = new int[2 * PAWNS];
+        this.revealed = new boolean[2 * PAWNS];
+        this.theseus = new boolean[2 * PAWNS];
+        for (int player = 0; player < 2; player++) {
+            for (int pawn = 0; pawn < PAWNS; pawn++) {
+                int i = player * PAWNS + pawn;
+                pawnPaths[i] = state.getPawnPath(player, pawn);
+                pawnPositions[i] = state.getPawnPosition(player, pawn);
+                revealed[i] = state.isPawnRevealed(player, pawn);
+                theseus[i] = state.isTheseus(player, pawn);
+            }
+        }
+        this.scores = new int[]{state.getScore(0), state.getScore(1)};
+        this.turns = state.getTurns();
+        this.message = message;
+    }
+
+    /**
+     * Returns a copy with another hand.
+     *
+     * @param cards The cards of the viewer.
+     * @return The changed snapshot.
+     */
+    public BoardSnapshot withHand(List<Card> cards) {
+        return new BoardSnapshot(this, kinds(cards), pawnPaths, pawnPositions, message);
+    }
+
+    /**
+     * Returns a copy with one card of the hand replaced.
+     *
+     * Preconditions:
+     * - `position` is between 0 and `GameSetup.HAND_SIZE` - 1.
+     *
+     * Postconditions:
+     * - The hand grows with empty slots if `position` is past its end.
+     *
+     * @param card The new card, or null to empty the slot.
+     * @param position The index of the card in the hand.
+     * @return The changed snapshot.
+     */
+    public BoardSnapshot withCard(Card card, int position) {
+        int[] cards = Arrays.copyOf(hand, Math.max(hand.length, position + 1));
+        for (int i = hand.length; i < cards.length; i++) {
+            cards[i] = -1;
+        }
+        cards[position] = card == null ? -1 : card.getKind();
+        return new BoardSnapshot(this, cards, pawnPaths, pawnPositions, message);
+    }
+
+    /**
+     * Returns a copy where a pawn of the viewer is at another place of the board.
+     *
+     * Preconditions:
+     * - `path` is -1 or the index of a path, `position` a position on that path.
+     *
+     * @param pawn The index of the pawn of the viewer.
+     * @param path The path of the pawn, or -1 to take it off the board.
+     * @param position The position of the pawn on its path.
+     * @return The changed snapshot.
+     */
+    public BoardSnapshot withPawn(int pawn, int path, int position) {
+        int[] paths = pawnPaths.clone();
+        int[] positions = pawnPositions.clone();
+        paths[viewer * PAWNS + pawn] = path;
+        positions[viewer * PAWNS + pawn] = position;
+        return new BoardSnapshot(this, hand, paths, positions, message);
+    }
+
+    /**
+     * Returns a copy with another infobox message.
+     *
+     * @param message The message.
+     * @return The changed snapshot.
+     */
+    public BoardSnapshot withMessage(String message) {
+        return new BoardSnapshot(this, hand, pawnPaths, pawnPositions, message);
+    }
+
+    /**
+     * Gets the index of the player the board is shown to.
+     *
+     * @return 0 or 1.
+     */
+    public int getViewer() {
+        return viewer;
+    }
+
+    /**
+     * Gets the number of cards in the hand.
+     *
+     * @return The number of cards of the viewer.
+     */
+    public int getHandSize() {
+        return hand.length;
+    }
+
+    /**
+     * Gets a card of the hand.
+     *
+     * @param position The index of the card in the hand.
+     * @return The kind of the card, or -1 if the slot is empty.
+     */
+    public int getCard(int position) {
+        return position < hand.length ? hand[position] : -1;
+    }
+
+    /**
+     * Gets the top card of a path.
+     *
+     * @param path The index of the path.
+     * @return The kind of the last played card, or -1 if no card has been played.
+     */
+    public int getTopCard(int path) {
+        return topCards[path];
+    }
+
+    /**
+     * Gets the path of a pawn.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return The index of the path, or -1 if the pawn is off the board.
+     */
+    public int getPawnPath(int player, int pawn) {
+        return pawnPaths[player * PAWNS + pawn];
+    }
+
+    /**
+     * Gets the position of a pawn on its path.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return The position of the pawn.
+     */
+    public int getPawnPosition(int player, int pawn) {
+        return pawnPositions[player * PAWNS + pawn];
+    }
+
+    /**
+     * Checks if the viewer can see what a pawn is: its own pawns and revealed pawns.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return True if the kind of the pawn is shown.
+     */
+    public boolean isPawnVisible(int player, int pawn) {
+        return player == viewer || revealed[player * PAWNS + pawn];
+    }
+
+    /**
+     * Checks if a pawn is Theseus.
+     *
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return True if the pawn is Theseus.
+     */
+    public boolean isTheseus(int player, int pawn) {
+        return theseus[player * PAWNS + pawn];
+    }
+
+    /**
+     * Checks if a pawn looks the same in both snapshots.
+     *
+     * @param other The other snapshot.
+     * @param player The index of the player (0 or 1).
+     * @param pawn The index of the pawn of the player.
+     * @return True if the pawn has not changed.
+     */
+    public boolean samePawn(BoardSnapshot other, int player, int pawn) {
+        int i = player * PAWNS + pawn;
+        return pawnPaths[i] == other.pawnPaths[i] && pawnPositions[i] == other.pawnPositions[i]
+                && isPawnVisible(player, pawn) == other.isPawnVisible(player, pawn) && theseus[i] == other.theseus[i];
+    }
+
+    /**
+     * Gets the score of a player.
+     *
+     * @param player The index of the player (0 or 1).
+     * @return The score of the player.
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * Gets the number of turns played.
+     *
+     * @return The number of turns played.
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets the infobox message.
+     *
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    private static int[] kinds(List<Card> cards) {
+        int[] kinds = new int[cards.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = cards.get(i).getKind();
+        }
+        return kinds;
+    }
+}
\ No newline at end of file
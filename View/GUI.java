@@ -3,6 +3,7 @@ package View;
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import Model.Card;
 
 /**
@@ -16,9 +17,11 @@ public class GUI extends JFrame {
 
     private JLayeredPane player1; // panel for player's cards
     private JLabel pawn; // label for the player's pawn
-    private JTextArea infobox; // text area for game messages
 
     private ClassLoader cldr; // class loader for resource loading
+    private AssetManager assets; // decoded and scaled images
+    private RenderPipeline pipeline; // draws the board off the Event Dispatch Thread
+    private final AtomicReference<BoardSnapshot> shown = new AtomicReference<>(BoardSnapshot.EMPTY);
     private boolean enabled = true; // flag to enable/disable GUI interactions
 
     /**
@@ -26,9 +29,10 @@ public class GUI extends JFrame {
      */
     public GUI() {
         cldr = this.getClass().getClassLoader();
+        assets = new AssetManager(cldr, 32L << 20);
+        assets.prefetch(); // decode the cards and findings while the window is being built
         this.setResizable(false);
         this.setTitle("Game Demo");
-        this.setPreferredSize(new Dimension(520, 500));
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
     }
 
@@ -76,22 +80,25 @@ public class GUI extends JFrame {
      * @param position The position in the player's hand to update.
      */
     public void updateCard(Card c, int position) {
-        //TODO: Implement updateCard method
+        show(shown.updateAndGet(snapshot -> snapshot.withCard(c, position)));
     }
 
     /**
-     * Updates the pawn's position on the board.
+     * Updates the place of a pawn of the player the board is shown to.
      *
      * Preconditions:
-     * - `position` is within the bounds of the board.
+     * - `pawn` is the index of a pawn of the player.
+     * - `path` is the index of a path and `position` is within the bounds of that path.
      *
      * Postconditions:
-     * - The pawn is moved to the specified position.
+     * - The pawn is drawn at the specified position of the path.
      *
+     * @param pawn The index of the pawn.
+     * @param path The index of the path of the pawn.
      * @param position The new position of the pawn.
      */
-    public void updatePawn(int position) {
-        //TODO: Implement updatePawn method
+    public void updatePawn(int pawn, int path, int position) {
+        show(shown.updateAndGet(snapshot -> snapshot.withPawn(pawn, path, position)));
     }
 
     /**
@@ -106,8 +113,25 @@ public class GUI extends JFrame {
      * @param message The message to display.
      */
     public void updateInfobox(String message) {
-        infobox.setText(message); // Update the text area
-        basic_panel.repaint(); // Refresh the panel
+        show(shown.updateAndGet(snapshot -> snapshot.withMessage(message)));
+    }
+
+    /**
+     * Shows a new picture of the game. Can be called from any thread, e.g. by the game
+     * loop while a computer player is searching; only the changed parts are redrawn.
+     *
+     * Preconditions:
+     * - `snapshot` is not null.
+     * - `initComponents` has been called.
+     *
+     * Postconditions:
+     * - The board shows the snapshot in one of the next frames.
+     *
+     * @param snapshot The snapshot of the game.
+     */
+    public void show(BoardSnapshot snapshot) {
+        shown.set(snapshot);
+        pipeline.publish(snapshot);
     }
 
     /**
@@ -122,7 +146,7 @@ public class GUI extends JFrame {
      * @param cards The list of cards to initialize.
      */
     public void initCards(ArrayList<Card> cards) {
-        //TODO: Implement initCards method
+        show(shown.updateAndGet(snapshot -> snapshot.withHand(cards)));
     }
 
     /**
@@ -130,14 +154,25 @@ public class GUI extends JFrame {
      *
      * Preconditions:
      * - `cards` is not null.
+     * - Called on the Event Dispatch Thread.
      *
      * Postconditions:
      * - The GUI is fully initialized and ready for use.
+     * - The board is drawn by a `RenderPipeline` on its own thread.
      *
      * @param cards The cards to initialize the GUI with.
      */
     public void initComponents(ArrayList<Card> cards) {
-        //TODO: Implement initComponents method
+        pipeline = new RenderPipeline(assets);
+        JComponent canvas = pipeline.getCanvas();
+        Dimension size = canvas.getPreferredSize();
+        basic_panel = new JLayeredPane();
+        basic_panel.setPreferredSize(size);
+        canvas.setBounds(0, 0, size.width, size.height);
+        basic_panel.add(canvas, JLayeredPane.DEFAULT_LAYER);
+        this.setContentPane(basic_panel);
+        this.pack();
+        initCards(cards);
     }
 
     /**
@@ -0,0 +1,340 @@
+package View;
+
+import Model.GameSetup;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Draws the board off the Event Dispatch Thread.
+ *
+ * The game publishes `BoardSnapshot`s from any thread. A render thread takes the
+ * latest one, compares it with the last drawn snapshot to find the dirty regions
+ * (card slots, path cells holding pawns, score and message strips), and redraws only
+ * those into an off-screen back buffer. The dirty regions are then copied to the front
+ * buffer, and the canvas is asked to repaint just those rectangles, so the EDT only
+ * copies pixels. Snapshots published faster than the frame rate are coalesced.
+ */
+public class RenderPipeline implements AutoCloseable {
+    public static final int FRAMES_PER_SECOND = 60;
+
+    private static final int MARGIN = 10;
+    private static final int CELL_WIDTH = 60;
+    private static final int PAWN_SIZE = 44;
+    private static final int CARD_WIDTH = AssetManager.CARD_WIDTH;
+    private static final int CARD_HEIGHT = AssetManager.CARD_HEIGHT;
+    private static final int PATH_X = 2 * MARGIN + CARD_WIDTH;
+    private static final int ROW_HEIGHT = CARD_HEIGHT + MARGIN;
+    private static final int STRIP_HEIGHT = 30;
+    private static final int SCORE_Y = MARGIN + GameSetup.PALACES.length * ROW_HEIGHT;
+    private static final int MESSAGE_Y = SCORE_Y + STRIP_HEIGHT;
+    private static final int HAND_Y = MESSAGE_Y + STRIP_HEIGHT + MARGIN;
+    private static final int WIDTH = PATH_X + GameSetup.PATH_LENGTH * CELL_WIDTH + MARGIN;
+    private static final int HEIGHT = HAND_Y + CARD_HEIGHT + MARGIN;
+    private static final Color BACKGROUND = new Color(0x2B2118);
+    private static final Color TEXT = new Color(0xF2E6C9);
+    private static final Color[] PLAYER_COLORS = {new Color(0x3A7BD5), new Color(0xC0392B)};
+    private static final Font FONT = new Font(Font.SANS_SERIF, Font.BOLD, 14);
+
+    private final AssetManager assets;
+    private final BufferedImage back;
+    private final BufferedImage front; // guarded by itself
+    private final Canvas canvas;
+    private final AtomicReference<BoardSnapshot> pending;
+    private final Thread thread;
+    private volatile boolean running;
+    private BoardSnapshot drawn; // only used by the render thread
+    private volatile long frames;
+
+    /**
+     * The component that shows the front buffer.
+     */
+    private final class Canvas extends JComponent {
+        private static final long serialVersionUID = 1L;
+
+        Canvas() {
+            setPreferredSize(new Dimension(WIDTH, HEIGHT));
+            setOpaque(true);
+            setDoubleBuffered(false); // the pipeline is the back buffer
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            synchronized (front) {
+                g.drawImage(front, 0, 0, null);
+            }
+        }
+    }
+
+    /**
+     * Creates a pipeline and starts its render thread.
+     *
+     * Preconditions:
+     * - `assets` is not null.
+     *
+     * Postconditions:
+     * - The first published snapshot is drawn in full.
+     *
+     * @param assets The images of the game.
+     */
+    public RenderPipeline(AssetManager assets) {
+        this.assets = assets;
+        this.back = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        this.front = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        this.canvas = new Canvas();
+        this.pending = new AtomicReference<>();
+        this.running = true;
+        this.thread = new Thread(this::run, "board-renderer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Gets the component that shows the board.
+     *
+     * @return The canvas of the board.
+     */
+    public JComponent getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Gets the number of frames drawn so far.
+     *
+     * @return The number of frames.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Publishes a new picture of the game. Can be called from any thread and never blocks.
+     *
+     * Preconditions:
+     * - `snapshot` is not null.
+     *
+     * Postconditions:
+     * - The snapshot is drawn in the next frame, unless a newer one replaces it first.
+     *
+     * @param snapshot The snapshot to draw.
+     */
+    public void publish(BoardSnapshot snapshot) {
+        pending.set(snapshot);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Finds the index of the hand slot at a point of the canvas.
+     *
+     * @param x The x coordinate on the canvas.
+     * @param y The y coordinate on the canvas.
+     * @return The index of the card in the hand, or -1 if the point is not on a slot.
+     */
+    public static int handSlotAt(int x, int y) {
+        for (int i = 0; i < GameSetup.HAND_SIZE; i++) {
+            if (handSlot(i).contains(x, y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void run() {
+        long frameNanos = 1_000_000_000L / FRAMES_PER_SECOND;
+        long nextFrame = System.nanoTime();
+        while (running) {
+            BoardSnapshot snapshot = pending.getAndSet(null);
+            if (snapshot == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            long wait = nextFrame - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait); // let newer snapshots replace this one
+                BoardSnapshot newer = pending.getAndSet(null);
+                if (newer != null) {
+                    snapshot = newer;
+                }
+            }
+            render(snapshot);
+            nextFrame = System.nanoTime() + frameNanos;
+        }
+    }
+
+    /**
+     * Draws the dirty regions of a snapshot and hands them to the EDT.
+     */
+    private void render(BoardSnapshot snapshot) {
+        List<Rectangle> dirty = dirtyRegions(drawn, snapshot);
+        Graphics2D g = back.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        for (Rectangle region : dirty) {
+            draw(g, snapshot, region);
+        }
+        g.dispose();
+        synchronized (front) {
+            Graphics2D f = front.createGraphics();
+            for (Rectangle region : dirty) {
+                f.drawImage(back.getSubimage(region.x, region.y, region.width, region.height), region.x, region.y, null);
+            }
+            f.dispose();
+        }
+        for (Rectangle region : dirty) {
+            canvas.repaint(region); // thread safe, coalesced by the repaint manager
+        }
+        drawn = snapshot;
+        frames++;
+    }
+
+    /**
+     * Finds the regions that differ between two snapshots.
+     *
+     * @param before The last drawn snapshot, or null if nothing has been drawn.
+     * @param after The snapshot to draw.
+     * @return The regions to redraw.
+     */
+    static List<Rectangle> dirtyRegions(BoardSnapshot before, BoardSnapshot after) {
+        List<Rectangle> dirty = new ArrayList<>();
+        if (before == null) {
+            dirty.add(new Rectangle(0, 0, WIDTH, HEIGHT));
+            return dirty;
+        }
+        for (int path = 0; path < GameSetup.PALACES.length; path++) {
+            if (before.getTopCard(path) != after.getTopCard(path)) {
+                dirty.add(topCardSlot(path));
+            }
+        }
+        for (int player = 0; player < 2; player++) {
+            for (int pawn = 0; pawn < BoardSnapshot.PAWNS; pawn++) {
+                if (!before.samePawn(after, player, pawn)) {
+                    addCell(dirty, before.getPawnPath(player, pawn), before.getPawnPosition(player, pawn));
+                    addCell(dirty, after.getPawnPath(player, pawn), after.getPawnPosition(player, pawn));
+                }
+            }
+        }
+        if (before.getScore(0) != after.getScore(0) || before.getScore(1) != after.getScore(1)
+                || before.getTurns() != after.getTurns()) {
+            dirty.add(new Rectangle(0, SCORE_Y, WIDTH, STRIP_HEIGHT));
+        }
+        if (!before.getMessage().equals(after.getMessage())) {
+            dirty.add(new Rectangle(0, MESSAGE_Y, WIDTH, STRIP_HEIGHT));
+        }
+        for (int i = 0; i < GameSetup.HAND_SIZE; i++) {
+            if (before.getCard(i) != after.getCard(i)) {
+                dirty.add(handSlot(i));
+            }
+        }
+        return dirty;
+    }
+
+    private static void addCell(List<Rectangle> dirty, int path, int position) {
+        if (path >= 0) {
+            Rectangle cell = cell(path, position);
+            if (!dirty.contains(cell)) {
+                dirty.add(cell);
+            }
+        }
+    }
+
+    /**
+     * Redraws everything of a snapshot that falls in a region of the back buffer.
+     */
+    private void draw(Graphics2D g, BoardSnapshot snapshot, Rectangle region) {
+        g.setClip(region);
+        g.setColor(BACKGROUND);
+        g.fillRect(region.x, region.y, region.width, region.height);
+        for (int path = 0; path < GameSetup.PALACES.length; path++) {
+            Rectangle slot = topCardSlot(path);
+            if (slot.intersects(region)) {
+                int top = snapshot.getTopCard(path);
+                drawCard(g, top, slot);
+            }
+            Rectangle strip = new Rectangle(PATH_X, slot.y, GameSetup.PATH_LENGTH * CELL_WIDTH, CARD_HEIGHT);
+            if (strip.intersects(region)) {
+                g.drawImage(assets.getImage("paths/" + GameSetup.PALACES[path].toLowerCase() + ".jpg",
+                        strip.width, strip.height), strip.x, strip.y, null);
+            }
+        }
+        for (int player = 0; player < 2; player++) {
+            for (int pawn = 0; pawn < BoardSnapshot.PAWNS; pawn++) {
+                int path = snapshot.getPawnPath(player, pawn);
+                if (path >= 0 && cell(path, snapshot.getPawnPosition(player, pawn)).intersects(region)) {
+                    drawPawn(g, snapshot, player, pawn);
+                }
+            }
+        }
+        g.setFont(FONT);
+        g.setColor(TEXT);
+        int viewer = snapshot.getViewer();
+        if (region.intersects(0, SCORE_Y, WIDTH, STRIP_HEIGHT)) {
+            g.drawString("You: " + snapshot.getScore(viewer) + "    Opponent: " + snapshot.getScore(1 - viewer)
+                    + "    Turn: " + snapshot.getTurns(), MARGIN, SCORE_Y + 20);
+        }
+        if (region.intersects(0, MESSAGE_Y, WIDTH, STRIP_HEIGHT)) {
+            g.drawString(snapshot.getMessage(), MARGIN, MESSAGE_Y + 20);
+        }
+        for (int i = 0; i < GameSetup.HAND_SIZE; i++) {
+            Rectangle slot = handSlot(i);
+            if (slot.intersects(region)) {
+                drawCard(g, snapshot.getCard(i), slot);
+            }
+        }
+        g.setClip(null);
+    }
+
+    private void drawCard(Graphics2D g, int kind, Rectangle slot) {
+        if (kind >= 0) {
+            assets.getCardIcon(kind).paintIcon(null, g, slot.x, slot.y);
+        } else {
+            g.setColor(TEXT);
+            g.drawRect(slot.x, slot.y, slot.width - 1, slot.height - 1);
+        }
+    }
+
+    /**
+     * Draws a pawn in the upper half of its cell for the first player and in the lower
+     * half for the second. Hidden pawns of the opponent show a question mark.
+     */
+    private void drawPawn(Graphics2D g, BoardSnapshot snapshot, int player, int pawn) {
+        Rectangle cell = cell(snapshot.getPawnPath(player, pawn), snapshot.getPawnPosition(player, pawn));
+        String image = !snapshot.isPawnVisible(player, pawn) ? "pionia/question.jpg"
+                : snapshot.isTheseus(player, pawn) ? "pionia/theseus.jpg" : "pionia/arch.jpg";
+        int x = cell.x + (cell.width - PAWN_SIZE) / 2;
+        int y = cell.y + (player == 0 ? 4 : cell.height - PAWN_SIZE - 4);
+        g.drawImage(assets.getImage(image, PAWN_SIZE, PAWN_SIZE), x, y, null);
+        g.setColor(PLAYER_COLORS[player]);
+        g.drawRect(x - 1, y - 1, PAWN_SIZE + 1, PAWN_SIZE + 1);
+    }
+
+    static Rectangle topCardSlot(int path) {
+        return new Rectangle(MARGIN, MARGIN + path * ROW_HEIGHT, CARD_WIDTH, CARD_HEIGHT);
+    }
+
+    static Rectangle cell(int path, int position) {
+        return new Rectangle(PATH_X + position * CELL_WIDTH, MARGIN + path * ROW_HEIGHT, CELL_WIDTH, CARD_HEIGHT);
+    }
+
+    static Rectangle handSlot(int index) {
+        return new Rectangle(MARGIN + index * (CARD_WIDTH + MARGIN), HAND_Y, CARD_WIDTH, CARD_HEIGHT);
+    }
+
+    /**
+     * Stops the render thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+}
\ No newline at end of file
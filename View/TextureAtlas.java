@@ -0,0 +1,120 @@
+package View;
+
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One image that holds many small images, so that the cards and findings on screen
+ * share a single raster instead of one decoded JPEG each.
+ * Images are packed in rows (shelves) from left to right.
+ */
+public class TextureAtlas {
+    private final BufferedImage image;
+    private final Map<String, Rectangle> regions;
+    private final Map<String, ImageIcon> icons;
+    private int x; // next free column in the current shelf
+    private int y; // top of the current shelf
+    private int shelfHeight;
+
+    /**
+     * Creates an empty atlas.
+     *
+     * Preconditions:
+     * - `width` and `height` are greater than 0.
+     *
+     * Postconditions:
+     * - The atlas has no regions.
+     *
+     * @param width The width of the atlas.
+     * @param height The height of the atlas.
+     */
+    public TextureAtlas(int width, int height) {
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.regions = new HashMap<>();
+        this.icons = new HashMap<>();
+    }
+
+    /**
+     * Copies an image into the next free region of the atlas.
+     *
+     * Preconditions:
+     * - `key` is not already in the atlas.
+     * - `tile` fits in the remaining space.
+     *
+     * Postconditions:
+     * - The image can be read back with `getIcon(key)`.
+     *
+     * @param key The name of the image.
+     * @param tile The image, already scaled to its size on screen.
+     * @throws IllegalStateException if the atlas is full.
+     */
+    public synchronized void add(String key, BufferedImage tile) {
+        if (regions.containsKey(key)) {
+            throw new IllegalArgumentException("Image already in the atlas: " + key);
+        }
+        if (x + tile.getWidth() > image.getWidth()) {
+            x = 0;
+            y += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (tile.getWidth() > image.getWidth() || y + tile.getHeight() > image.getHeight()) {
+            throw new IllegalStateException("Texture atlas is full.");
+        }
+        Graphics2D g = image.createGraphics();
+        g.drawImage(tile, x, y, null);
+        g.dispose();
+        regions.put(key, new Rectangle(x, y, tile.getWidth(), tile.getHeight()));
+        x += tile.getWidth();
+        shelfHeight = Math.max(shelfHeight, tile.getHeight());
+    }
+
+    /**
+     * Checks if an image is in the atlas.
+     *
+     * @param key The name of the image.
+     * @return True if the image was added.
+     */
+    public synchronized boolean contains(String key) {
+        return regions.containsKey(key);
+    }
+
+    /**
+     * Gets an image of the atlas as an icon. The icon shares the raster of the atlas.
+     *
+     * Preconditions:
+     * - `key` was added to the atlas.
+     *
+     * Postconditions:
+     * - Returns the same icon on every call.
+     *
+     * @param key The name of the image.
+     * @return The icon of the image.
+     */
+    public synchronized ImageIcon getIcon(String key) {
+        ImageIcon icon = icons.get(key);
+        if (icon == null) {
+            Rectangle region = regions.get(key);
+            if (region == null) {
+                throw new IllegalArgumentException("Image not in the atlas: " + key);
+            }
+            Image sub = image.getSubimage(region.x, region.y, region.width, region.height);
+            icon = new ImageIcon(sub);
+            icons.put(key, icon);
+        }
+        return icon;
+    }
+
+    /**
+     * Gets the whole atlas image.
+     *
+     * @return The atlas image.
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+}
\ No newline at end of file
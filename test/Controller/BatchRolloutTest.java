@@ -0,0 +1,66 @@
+package Controller;
+
+import Model.GameSetup;
+import Model.GameState;
+import Model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchRolloutTest {
+    @Test
+    void forcedMovesMatchSearchGame() {
+        int games = 8;
+        BatchRollout batch = new BatchRollout(games);
+        GameState[] states = new GameState[games];
+        for (int game = 0; game < games; game++) {
+            states[game] = TestGames.state(TestGames.deal(game));
+            batch.load(game, states[game]);
+        }
+        int[] moves = new int[64];
+        GameState state = new GameState();
+        for (int game = 0; game < games; game++) {
+            SearchGame search = new SearchGame();
+            search.load(states[game]);
+            SplittableRandom random = new SplittableRandom(game);
+            assertSame(search, state, batch, game);
+            while (!search.isGameOver()) {
+                int move = moves[random.nextInt(search.legalMoves(moves))];
+                search.play(move);
+                batch.playMove(game, move);
+                assertSame(search, state, batch, game);
+            }
+            assertEquals(search.getController().getWinner(), batch.getWinner(game), "winner of game " + game);
+        }
+    }
+
+    /**
+     * Checks that a game of the batch has the turns, the pawns and the scores of a search game.
+     */
+    private static void assertSame(SearchGame search, GameState state, BatchRollout batch, int game) {
+        controller rules = search.getController();
+        rules.saveState(state);
+        String turn = "game " + game + ", turn " + state.getTurns();
+        assertEquals(state.getTurns(), batch.getTurns(game), turn);
+        assertEquals(search.isGameOver(), batch.isGameOver(game), turn);
+        for (int player = 0; player < 2; player++) {
+            int[] positions = new int[GameSetup.PALACES.length];
+            Arrays.fill(positions, -1);
+            for (int pawn = 0; pawn < GameState.PAWNS; pawn++) {
+                int path = state.getPawnPath(player, pawn);
+                if (path >= 0) {
+                    positions[path] = state.getPawnPosition(player, pawn);
+                }
+            }
+            for (int path = 0; path < positions.length; path++) {
+                assertEquals(positions[path], batch.getPawnPosition(game, player, path),
+                        turn + ", player " + player + ", path " + path);
+            }
+            Player owner = player == search.getCurrentPlayer() ? rules.getCurrentPlayer() : rules.getOpponent();
+            assertEquals(rules.totalScore(owner), batch.getTotalScore(game, player), turn + ", player " + player);
+        }
+    }
+}
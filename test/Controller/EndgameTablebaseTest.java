@@ -0,0 +1,117 @@
+package Controller;
+
+import Model.Card;
+import Model.GameState;
+import Model.MoveGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EndgameTablebaseTest {
+    private static final int MAX_DECK = 3;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Plays games at random until at most `MAX_DECK` cards are left in the deck, skipping
+     * the games that end before.
+     *
+     * @param count The number of endgames.
+     * @return The endgames, not over.
+     */
+    private static GameState[] endgames(int count) {
+        GameState[] states = new GameState[count];
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0, found = 0; found < count; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver() && game.getBoard().getDeck().getRemainingCards() > MAX_DECK) {
+                TestGames.playRandomMove(game, generator, random);
+            }
+            if (!game.isGameOver()) {
+                states[(int) found++] = TestGames.state(game);
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Plain minimax over the plays and the discards of every card, with no table.
+     *
+     * @return The best final score difference the player to move can force.
+     */
+    private static int minimax(SearchGame game) {
+        controller rules = game.getController();
+        int standing = rules.totalScore(rules.getCurrentPlayer()) - rules.totalScore(rules.getOpponent());
+        if (game.isGameOver()) {
+            return standing;
+        }
+        int[] moves = new int[64];
+        int count = game.legalMoves(moves);
+        if (count == 0 || (moves[0] & 7) != SearchGame.DISCARD) {
+            for (Card card : rules.getCurrentPlayer().getCards()) {
+                moves[count++] = GameState.cardKind(card) * 8 + SearchGame.DISCARD;
+            }
+        }
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (game.make(moves[i])) {
+                best = Math.max(best, -minimax(game));
+                game.unmake();
+            }
+        }
+        return best == Integer.MIN_VALUE ? standing : best;
+    }
+
+    @Test
+    void solvedValuesMatchMinimax() throws IOException {
+        GameState[] states = endgames(6);
+        for (int i = 0; i < states.length; i++) {
+            GameState state = states[i];
+            SearchGame game = new SearchGame();
+            game.load(state);
+            int expected = minimax(game);
+            String file = dir.resolve("endgames" + i + ".tb").toString();
+            try (EndgameTablebase tablebase = EndgameTablebase.create(file, 1 << 12, MAX_DECK)) {
+                assertEquals(expected, tablebase.solve(state), "endgame " + i);
+            }
+            // a table too small for the tree keeps the rest in its overflow table
+            String small = dir.resolve("small" + i + ".tb").toString();
+            try (EndgameTablebase tablebase = EndgameTablebase.create(small, 1, MAX_DECK)) {
+                assertEquals(expected, tablebase.solve(state), "endgame " + i + " in a small table");
+            }
+        }
+    }
+
+    @Test
+    void theStoredMoveReachesTheSolvedValue() throws IOException {
+        String file = dir.resolve("endgames.tb").toString();
+        GameState[] states = endgames(4);
+        int[] values = new int[states.length];
+        try (EndgameTablebase tablebase = EndgameTablebase.create(file, 1 << 14, MAX_DECK)) {
+            for (int i = 0; i < states.length; i++) {
+                values[i] = tablebase.solve(states[i]);
+            }
+        }
+        try (EndgameTablebase tablebase = EndgameTablebase.open(file)) {
+            assertEquals(MAX_DECK, tablebase.getMaxDeck());
+            for (int i = 0; i < states.length; i++) {
+                int move = tablebase.probe(states[i]);
+                assertNotEquals(-1, move, "endgame " + i);
+                SearchGame game = new SearchGame();
+                game.load(states[i]);
+                assertTrue(game.make(move));
+                assertEquals(values[i], -minimax(game), "endgame " + i);
+            }
+        }
+    }
+
+}
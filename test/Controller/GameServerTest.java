@@ -0,0 +1,57 @@
+package Controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameServerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void idleNewSessionsArePagedOut() throws IOException {
+        String store = dir.resolve("sessions.store").toString();
+        // two loops keeping two games each
+        try (GameServer server = new GameServer(0, 2, 50, 4, store, false)) {
+            Thread acceptor = new Thread(server::serve);
+            acceptor.setDaemon(true);
+            acceptor.start();
+            try (GameClient client = new GameClient(server.getPort(), new AtomicLongArray(10000))) {
+                for (int i = 0; i < 10; i++) {
+                    assertTrue(client.send("NEW").startsWith("OK "));
+                }
+                assertEquals("OK 10 4 6", stats(client));
+
+                // a paged-out session comes back, and another one makes room for it
+                for (int id = 1; id <= 10; id++) {
+                    assertTrue(client.send("STATE " + id).startsWith("OK " + id + " "), "session " + id);
+                }
+                assertEquals("OK 10 4 6", stats(client));
+            }
+        }
+    }
+
+    @Test
+    void refusesToReplaceAFileThatIsNotAStore() throws IOException {
+        Path file = dir.resolve("notes.txt");
+        Files.writeString(file, "not a game store");
+        assertThrows(IOException.class, () -> new GameServer(0, 1, 10, 10, file.toString(), false).close());
+        assertEquals("not a game store", Files.readString(file));
+    }
+
+    /**
+     * Gets the statistics of the server without the heap size.
+     */
+    private static String stats(GameClient client) throws IOException {
+        String answer = client.send("STATS");
+        return answer.substring(0, answer.lastIndexOf(' '));
+    }
+}
@@ -0,0 +1,92 @@
+package Controller;
+
+import Model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MakeUnmakeTest {
+    @Test
+    void everyMoveIsTakenBackExactly() {
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0; seed < 30; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver()) {
+                GameState before = TestGames.state(game);
+                long hash = game.getHash();
+                int legal = generator.generate(game.getCurrentPlayer(), game.getBoard());
+                int[] moves = generator.getMoves().clone();
+                for (int i = 0; i < legal; i++) {
+                    assertTrue(game.makeMove(MoveGenerator.cardIndex(moves[i]), MoveGenerator.pathIndex(moves[i])));
+                    game.unmakeMove();
+                    assertEquals(before, TestGames.state(game), "game " + seed + ", turn " + game.getTurnCount());
+                    assertEquals(hash, game.getHash());
+                }
+                for (int card = 0; card < game.getCurrentPlayer().getCards().size(); card++) {
+                    assertTrue(game.makeDiscard(card));
+                    game.unmakeMove();
+                    assertEquals(before, TestGames.state(game), "game " + seed + ", turn " + game.getTurnCount());
+                    assertEquals(hash, game.getHash());
+                }
+                TestGames.playRandomMove(game, generator, random);
+            }
+        }
+    }
+
+    @Test
+    void aWholeGameIsUndoneTurnByTurn() {
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0; seed < 50; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            List<GameState> states = new ArrayList<>();
+            while (!game.isGameOver()) {
+                states.add(TestGames.state(game));
+                TestGames.makeRandomMove(game, generator, random);
+            }
+            assertEquals(states.size(), game.getUndoDepth());
+            for (int turn = states.size() - 1; turn >= 0; turn--) {
+                game.unmakeMove();
+                assertEquals(states.get(turn), TestGames.state(game), "game " + seed + ", turn " + turn);
+            }
+            assertThrows(IllegalStateException.class, game::unmakeMove);
+        }
+    }
+
+    @Test
+    void madeMovesMatchPlayedMoves() {
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0; seed < 50; seed++) {
+            controller made = TestGames.deal(seed);
+            controller played = TestGames.deal(seed);
+            SplittableRandom madeRandom = new SplittableRandom(seed);
+            SplittableRandom playedRandom = new SplittableRandom(seed);
+            while (!played.isGameOver()) {
+                assertFalse(made.isGameOver());
+                TestGames.makeRandomMove(made, generator, madeRandom);
+                TestGames.playRandomMove(played, generator, playedRandom);
+                assertEquals(TestGames.state(played), TestGames.state(made), "game " + seed + ", turn " + played.getTurnCount());
+            }
+            assertTrue(made.isGameOver());
+        }
+    }
+
+    @Test
+    void illegalMovesChangeNothing() {
+        controller game = TestGames.deal(0);
+        GameState before = TestGames.state(game);
+        int depth = game.getUndoDepth();
+        assertFalse(game.makeDiscard(GameSetup.HAND_SIZE));
+        assertFalse(game.makeMove(GameSetup.HAND_SIZE, 0));
+        assertEquals(before, TestGames.state(game));
+        assertEquals(depth, game.getUndoDepth());
+    }
+}
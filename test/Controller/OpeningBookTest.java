@@ -0,0 +1,69 @@
+package Controller;
+
+import Model.GameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpeningBookTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void addedMovesAreProbedBackAfterReopening() throws IOException {
+        String file = dir.resolve("openings.book").toString();
+        GameState[] states = new GameState[10];
+        int[] moves = new int[states.length];
+        int[] buffer = new int[64];
+        try (OpeningBook book = OpeningBook.create(file, 64, 2)) {
+            for (int seed = 0; seed < states.length; seed++) {
+                states[seed] = TestGames.state(TestGames.deal(seed));
+                SearchGame game = new SearchGame();
+                game.load(states[seed]);
+                int legal = game.legalMoves(buffer);
+                moves[seed] = buffer[seed % legal];
+                assertTrue(book.add(states[seed], moves[seed]));
+            }
+        }
+        try (OpeningBook book = OpeningBook.open(file)) {
+            assertEquals(2, book.getPlies());
+            assertEquals(states.length, book.getSize());
+            for (int seed = 0; seed < states.length; seed++) {
+                assertEquals(moves[seed], book.probe(states[seed]), "deal " + seed);
+            }
+            assertEquals(-1, book.probe(TestGames.state(TestGames.deal(states.length))));
+        }
+    }
+
+    @Test
+    void positionsPastThePliesOfTheBookAreNotProbed() throws IOException {
+        String file = dir.resolve("openings.book").toString();
+        controller game = TestGames.deal(4);
+        GameState state = TestGames.state(game);
+        try (OpeningBook book = OpeningBook.create(file, 16, 1)) {
+            assertTrue(book.add(state, 8));
+            assertEquals(8, book.probe(state));
+            game.discardMove(0);
+            GameState later = TestGames.state(game);
+            assertTrue(book.add(later, 16));
+            assertEquals(-1, book.probe(later));
+        }
+    }
+
+    @Test
+    void theFileIsLittleEndian() throws IOException {
+        String file = dir.resolve("openings.book").toString();
+        OpeningBook.create(file, 1, 2).close();
+        byte[] magic = Arrays.copyOf(Files.readAllBytes(Path.of(file)), 8);
+        assertArrayEquals("1BNEPONK".getBytes(StandardCharsets.US_ASCII), magic);
+    }
+}
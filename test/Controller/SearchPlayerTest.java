@@ -0,0 +1,58 @@
+package Controller;
+
+import Model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchPlayerTest {
+    @Test
+    void searchPlayersPlayWholeGames() {
+        for (long seed = 0; seed < 4; seed++) {
+            MCTSPlayer mcts = new MCTSPlayer("MCTS", GameSetup.createPawns());
+            ISMCTSPlayer ismcts = new ISMCTSPlayer("ISMCTS", GameSetup.createPawns());
+            for (SearchPlayer player : List.of(mcts, ismcts)) {
+                player.setTimeLimit(0);
+                player.setIterations(50);
+                player.setSeed(seed);
+            }
+            Board board = GameSetup.createBoard(new SplittableRandom(seed));
+            controller game = new controller(board, mcts, ismcts, new SplittableRandom(seed));
+            game.setupBoard();
+            game.dealHands();
+            game.randomStart();
+            while (!game.isGameOver()) {
+                int turns = game.getTurnCount();
+                ((SearchPlayer) game.getCurrentPlayer()).playTurn(game);
+                assertEquals(turns + 1, game.getTurnCount(), "game " + seed);
+            }
+        }
+    }
+
+    @Test
+    void anIllegalMoveIsReportedInsteadOfPlayed() {
+        controller game = TestGames.deal(3);
+        GameState before = TestGames.state(game);
+        // a card kind the player does not hold
+        int kind = 0;
+        while (before.getHandCount(before.getCurrentPlayer(), kind) > 0) {
+            kind++;
+        }
+        int move = kind * 8;
+        SearchPlayer player = new SearchPlayer("Broken", GameSetup.createPawns(), ForkJoinPool.commonPool()) {
+            @Override
+            public int chooseMove(GameState root) {
+                return move;
+            }
+        };
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> player.playTurn(game));
+        assertTrue(e.getMessage().contains("card kind " + kind + " on path 0"), e.getMessage());
+        assertEquals(before, TestGames.state(game));
+    }
+}
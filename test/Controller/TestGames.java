@@ -0,0 +1,87 @@
+package Controller;
+
+import Model.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Games for the tests: reproducible deals and random moves.
+ */
+public final class TestGames {
+    private TestGames() {
+    }
+
+    /**
+     * Deals a game on the standard board.
+     *
+     * @param seed The seed of the game.
+     * @return The game, ready for its first move.
+     */
+    public static controller deal(long seed) {
+        return deal(new SplittableRandom(seed), GameSetup.createPaths());
+    }
+
+    /**
+     * Deals a game on a board with the given paths.
+     *
+     * @param random The generator of the game.
+     * @param paths The paths of the board.
+     * @return The game, ready for its first move.
+     */
+    public static controller deal(SplittableRandom random, List<Path> paths) {
+        Board board = new Board(paths, GameSetup.createDeck(random.split()), random.split());
+        controller game = new controller(board, GameSetup.createPlayer("Player 1"),
+                GameSetup.createPlayer("Player 2"), random.split());
+        game.setupBoard();
+        game.dealHands();
+        game.randomStart();
+        return game;
+    }
+
+    /**
+     * Plays a random card that can be played, or discards a random card if there is none.
+     *
+     * @param game The game, not over.
+     * @param generator The move generator to use.
+     * @param random The generator that picks the move.
+     */
+    public static void playRandomMove(controller game, MoveGenerator generator, SplittableRandom random) {
+        int legal = generator.generate(game.getCurrentPlayer(), game.getBoard());
+        if (legal > 0) {
+            int move = generator.getMoves()[random.nextInt(legal)];
+            game.playMove(MoveGenerator.cardIndex(move), MoveGenerator.pathIndex(move));
+        } else {
+            game.discardMove(random.nextInt(game.getCurrentPlayer().getCards().size()));
+        }
+    }
+
+    /**
+     * Makes a random move like `playRandomMove`, so that it can be taken back with `unmakeMove`.
+     *
+     * @param game The game, not over.
+     * @param generator The move generator to use.
+     * @param random The generator that picks the move.
+     */
+    public static void makeRandomMove(controller game, MoveGenerator generator, SplittableRandom random) {
+        int legal = generator.generate(game.getCurrentPlayer(), game.getBoard());
+        if (legal > 0) {
+            int move = generator.getMoves()[random.nextInt(legal)];
+            game.makeMove(MoveGenerator.cardIndex(move), MoveGenerator.pathIndex(move));
+        } else {
+            game.makeDiscard(random.nextInt(game.getCurrentPlayer().getCards().size()));
+        }
+    }
+
+    /**
+     * Captures the state of a game.
+     *
+     * @param game The game.
+     * @return A new state equal to the game.
+     */
+    public static GameState state(controller game) {
+        GameState state = new GameState();
+        game.saveState(state);
+        return state;
+    }
+}
@@ -0,0 +1,89 @@
+package Controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TranspositionTableTest {
+    @Test
+    void storedResultsAreProbedBack() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+        table.store(key, -42, 513, 7, TranspositionTable.UPPER);
+        long data = table.probe(key);
+        assertEquals(-42, TranspositionTable.value(data));
+        assertEquals(513, TranspositionTable.move(data));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(data));
+        assertEquals(TranspositionTable.MISS, table.probe(key + 1));
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+    }
+
+    @Test
+    void wideDepthsDoNotOverwriteTheBound() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(1L, 5, 0, 300, TranspositionTable.LOWER);
+        long data = table.probe(1L);
+        assertEquals(255, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(5, TranspositionTable.value(data));
+    }
+
+    @Test
+    void negativeDepthsAreStoredAsZero() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(1L, -5, 3, -1, TranspositionTable.EXACT);
+        long data = table.probe(1L);
+        assertEquals(0, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.EXACT, TranspositionTable.bound(data));
+        assertEquals(-5, TranspositionTable.value(data));
+        assertEquals(3, TranspositionTable.move(data));
+    }
+
+    /**
+     * Derives the result stored for a key, so that a reader can check what it probed.
+     */
+    private static int value(long key) {
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 32);
+    }
+
+    @Test
+    void concurrentWritersNeverProduceTornEntries() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1); // small, so that threads collide
+        AtomicReference<String> error = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500_000 && error.get() == null; i++) {
+                    long key = random.nextLong(1 << 18) * 0x5DEECE66DL;
+                    if (random.nextBoolean()) {
+                        table.store(key, value(key), (int) key & 0xFFFF, (int) (key >>> 8) & 0xFF, (int) (key >>> 4 & 3) % 3);
+                    } else {
+                        long data = table.probe(key);
+                        if (data != TranspositionTable.MISS && (TranspositionTable.value(data) != value(key)
+                                || TranspositionTable.move(data) != ((int) key & 0xFFFF)
+                                || TranspositionTable.depth(data) != ((int) (key >>> 8) & 0xFF)
+                                || TranspositionTable.bound(data) != (int) (key >>> 4 & 3) % 3)) {
+                            error.compareAndSet(null, "Wrong entry for key " + key);
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(error.get());
+    }
+}
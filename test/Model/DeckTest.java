@@ -0,0 +1,128 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeckTest {
+    private static int[] kinds(List<Card> cards) {
+        int[] counts = new int[GameState.CARD_KINDS];
+        for (Card card : cards) {
+            counts[card.getKind()]++;
+        }
+        return counts;
+    }
+
+    private static int[] order(List<Card> cards) {
+        int[] order = new int[cards.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = cards.get(i).getKind();
+        }
+        return order;
+    }
+
+    @Test
+    void drawingAndDiscardingKeepsEveryCard() {
+        SplittableRandom random = new SplittableRandom(1);
+        Deck deck = GameSetup.createDeck(random.split());
+        int[] all = kinds(deck.getCardList());
+        deck.shuffle();
+        List<Card> held = new ArrayList<>();
+        for (int step = 0; step < 5000; step++) {
+            if (deck.getRemainingCards() == 0) {
+                deck.reshuffleDiscards();
+            } else if (held.isEmpty() || random.nextInt(3) > 0) {
+                held.add(deck.draw());
+            } else {
+                deck.discard(held.remove(random.nextInt(held.size())));
+            }
+            List<Card> cards = new ArrayList<>(held);
+            cards.addAll(deck.getCardList());
+            cards.addAll(deck.getDiscardPile());
+            assertArrayEquals(all, kinds(cards), "step " + step);
+        }
+    }
+
+    @Test
+    void bothPilesAreLastInFirstOut() {
+        Deck deck = new Deck(new SplittableRandom(0));
+        Card[] cards = {Pieces.card(0), Pieces.card(1), Pieces.card(2)};
+        for (Card card : cards) {
+            deck.addCard(card);
+        }
+        for (int i = cards.length - 1; i >= 0; i--) {
+            assertSame(cards[i], deck.draw());
+        }
+        assertThrows(IllegalStateException.class, deck::draw);
+
+        for (Card card : cards) {
+            deck.discard(card);
+        }
+        List<Card> pile = deck.getDiscardPile();
+        assertEquals(cards.length, pile.size());
+        assertSame(cards[cards.length - 1], pile.get(pile.size() - 1));
+        for (int i = cards.length - 1; i >= 0; i--) {
+            assertSame(cards[i], deck.undiscard());
+        }
+    }
+
+    @Test
+    void discardsSurviveTheGrowthOfTheArray() {
+        Deck deck = new Deck(new SplittableRandom(0));
+        deck.addCard(Pieces.card(5));
+        List<Card> discarded = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Card card = Pieces.card(i % GameState.CARD_KINDS);
+            deck.discard(card);
+            discarded.add(card);
+        }
+        assertEquals(discarded, deck.getDiscardPile());
+        assertEquals(1, deck.getRemainingCards());
+        assertSame(Pieces.card(5), deck.draw());
+    }
+
+    @Test
+    void reshufflingMovesTheDiscardsIntoTheDeck() {
+        Deck deck = GameSetup.createDeck(new SplittableRandom(2));
+        deck.shuffle();
+        int total = deck.getRemainingCards();
+        for (int i = 0; i < 30; i++) {
+            deck.discard(deck.draw());
+        }
+        deck.reshuffleDiscards();
+        assertEquals(total, deck.getRemainingCards());
+        assertTrue(deck.getDiscardPile().isEmpty());
+    }
+
+    @Test
+    void theSameSeedShufflesTheSameWay() {
+        Deck first = GameSetup.createDeck(new SplittableRandom(3));
+        Deck second = GameSetup.createDeck(new SplittableRandom(3));
+        first.shuffle();
+        second.shuffle();
+        assertArrayEquals(order(first.getCardList()), order(second.getCardList()));
+    }
+
+    @Test
+    void resetRestoresTheInitialOrder() {
+        Deck deck = GameSetup.createDeck(new SplittableRandom(4));
+        List<Card> initial = new ArrayList<>(deck.getCardList());
+        deck.shuffle();
+        for (int i = 0; i < 50; i++) {
+            deck.discard(deck.draw());
+        }
+        deck.reshuffleDiscards();
+        deck.draw();
+        deck.reset();
+        assertEquals(initial, deck.getCardList());
+        assertTrue(deck.getDiscardPile().isEmpty());
+    }
+}
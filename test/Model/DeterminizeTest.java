@@ -0,0 +1,205 @@
+package Model;
+
+import Controller.SearchGame;
+import Controller.TestGames;
+import Controller.controller;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that `GameState.determinize` only changes what the viewer cannot see.
+ */
+class DeterminizeTest {
+    private static final int PATH_LENGTH = GameSetup.PATH_LENGTH;
+
+    private static void assertSameView(GameState real, GameState guess, int viewer, String where) {
+        int opponent = 1 - viewer;
+        assertEquals(real.getCurrentPlayer(), guess.getCurrentPlayer(), where);
+        assertEquals(real.getTurns(), guess.getTurns(), where);
+        assertEquals(real.getDeckSize(), guess.getDeckSize(), where);
+        int realHand = 0;
+        int guessHand = 0;
+        for (int kind = 0; kind < GameState.CARD_KINDS; kind++) {
+            assertEquals(real.getHandCount(viewer, kind), guess.getHandCount(viewer, kind), where);
+            realHand += real.getHandCount(opponent, kind);
+            guessHand += guess.getHandCount(opponent, kind);
+            assertEquals(unseen(real, opponent, kind), unseen(guess, opponent, kind), where + ", kind " + kind);
+        }
+        assertEquals(realHand, guessHand, where);
+
+        for (int player = 0; player < GameState.PLAYERS; player++) {
+            assertEquals(real.getScore(player), guess.getScore(player), where);
+            List<Integer> realHidden = new ArrayList<>();
+            List<Integer> guessHidden = new ArrayList<>();
+            int theseus = 0;
+            for (int pawn = 0; pawn < GameState.PAWNS; pawn++) {
+                assertEquals(real.isPawnRevealed(player, pawn), guess.isPawnRevealed(player, pawn), where);
+                if (player == viewer || real.isPawnRevealed(player, pawn)) {
+                    assertEquals(real.getPawnPath(player, pawn), guess.getPawnPath(player, pawn), where);
+                    assertEquals(real.getPawnPosition(player, pawn), guess.getPawnPosition(player, pawn), where);
+                    assertEquals(real.isTheseus(player, pawn), guess.isTheseus(player, pawn), where);
+                    assertEquals(real.getRemainingDestroys(player, pawn), guess.getRemainingDestroys(player, pawn), where);
+                } else {
+                    // any hidden pawn may be Theseus, but the places of the hidden pawns are known
+                    realHidden.add(real.getPawnPath(player, pawn) * PATH_LENGTH + real.getPawnPosition(player, pawn));
+                    guessHidden.add(guess.getPawnPath(player, pawn) * PATH_LENGTH + guess.getPawnPosition(player, pawn));
+                }
+                theseus += guess.isTheseus(player, pawn) ? 1 : 0;
+            }
+            realHidden.sort(null);
+            guessHidden.sort(null);
+            assertEquals(realHidden, guessHidden, where);
+            assertEquals(1, theseus, where);
+        }
+
+        for (int path = 0; path < GameSetup.PALACES.length; path++) {
+            assertEquals(real.getTopCard(path), guess.getTopCard(path), where);
+            assertEquals(real.isPathCompleted(path), guess.isPathCompleted(path), where);
+            for (int position = 0; position < PATH_LENGTH; position++) {
+                int realFinding = real.getFinding(path, position);
+                int guessFinding = guess.getFinding(path, position);
+                assertEquals(realFinding < 0, guessFinding < 0, where + ", box " + path + ":" + position);
+                if (realFinding >= 0 && GameState.finding(realFinding) instanceof RareFinding) {
+                    assertTrue(onPath(guess, path, realFinding), where + ", rare finding of path " + path);
+                }
+            }
+        }
+        assertEquals(closedBoxes(real), closedBoxes(guess), where);
+    }
+
+    /**
+     * Counts the cards of a kind the viewer has not seen: the opponent's hand and the deck.
+     */
+    private static int unseen(GameState state, int opponent, int kind) {
+        int count = state.getHandCount(opponent, kind);
+        for (int i = 0; i < state.getDeckSize(); i++) {
+            if (state.getDeckCard(i) == kind) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean onPath(GameState state, int path, int finding) {
+        for (int position = 0; position < PATH_LENGTH; position++) {
+            if (state.getFinding(path, position) == finding) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Integer> closedBoxes(GameState state) {
+        List<Integer> findings = new ArrayList<>();
+        for (int path = 0; path < GameSetup.PALACES.length; path++) {
+            for (int position = 0; position < PATH_LENGTH; position++) {
+                if (state.getFinding(path, position) >= 0) {
+                    findings.add(state.getFinding(path, position));
+                }
+            }
+        }
+        findings.sort(null);
+        return findings;
+    }
+
+    @Test
+    void determinizingKeepsWhatTheViewerSees() {
+        MoveGenerator generator = new MoveGenerator();
+        SplittableRandom guesses = new SplittableRandom(-1);
+        for (long seed = 0; seed < 100; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver()) {
+                GameState real = TestGames.state(game);
+                int viewer = real.getCurrentPlayer();
+                GameState guess = real.copy();
+                guess.determinize(viewer, guesses);
+                assertSameView(real, guess, viewer, "game " + seed + ", turn " + real.getTurns());
+                TestGames.playRandomMove(game, generator, random);
+            }
+        }
+    }
+
+    @Test
+    void attackedPawnsKeepWhatTheAttackShowed() {
+        MoveGenerator generator = new MoveGenerator();
+        SplittableRandom guesses = new SplittableRandom(-1);
+        int pushedBack = 0;
+        int blocked = 0;
+        for (long seed = 0; seed < 100; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver()) {
+                // a Minotaur on a pawn between the start and the checkpoint, where only Theseus blocks
+                Player attacker = game.getCurrentPlayer();
+                Player defender = game.getOpponent();
+                int legal = generator.generate(attacker, game.getBoard());
+                int attack = -1;
+                Pawn target = null;
+                for (int i = 0; i < legal && attack < 0; i++) {
+                    int move = generator.getMoves()[i];
+                    Pawn pawn = defender.getPawnOnPath(game.getBoard().getPathByIndex(MoveGenerator.pathIndex(move)));
+                    if (attacker.getCards().get(MoveGenerator.cardIndex(move)) instanceof MinotaurCard && pawn != null
+                            && pawn.isHidden() && pawn.getCurrentPosition() > 0
+                            && !Path.isPastCheckpoint(pawn.getCurrentPosition())) {
+                        attack = move;
+                        target = pawn;
+                    }
+                }
+                if (attack < 0) {
+                    TestGames.playRandomMove(game, generator, random);
+                    continue;
+                }
+                int viewer = TestGames.state(game).getCurrentPlayer();
+                int pawn = defender.getPawns().indexOf(target);
+                boolean theseus = target instanceof Theseus;
+                game.playMove(MoveGenerator.cardIndex(attack), MoveGenerator.pathIndex(attack));
+                GameState real = TestGames.state(game);
+                int path = real.getPawnPath(1 - viewer, pawn);
+                for (int i = 0; i < 10; i++) {
+                    GameState guess = real.copy();
+                    guess.determinize(viewer, guesses);
+                    // the guess may move Theseus to another pawn, so the pawn is found by its place
+                    boolean guessed = false;
+                    for (int other = 0; other < GameState.PAWNS; other++) {
+                        if (guess.getPawnPath(1 - viewer, other) == path) {
+                            guessed = guess.isTheseus(1 - viewer, other);
+                        }
+                    }
+                    assertEquals(theseus, guessed, "game " + seed + ", turn " + real.getTurns());
+                }
+                if (theseus) {
+                    blocked++;
+                } else {
+                    pushedBack++;
+                }
+            }
+        }
+        assertTrue(blocked > 0 && pushedBack > 0, blocked + " blocked, " + pushedBack + " pushed back");
+    }
+
+    @Test
+    void determinizedGamesCanBePlayedToTheEnd() {
+        MoveGenerator generator = new MoveGenerator();
+        SplittableRandom guesses = new SplittableRandom(-1);
+        SearchGame search = new SearchGame();
+        for (long seed = 0; seed < 50; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver()) {
+                GameState guess = TestGames.state(game);
+                guess.determinize(guess.getCurrentPlayer(), guesses);
+                search.load(guess);
+                search.rollout(guesses);
+                assertTrue(search.isGameOver());
+                TestGames.playRandomMove(game, generator, random);
+            }
+        }
+    }
+}
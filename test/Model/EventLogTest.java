@@ -0,0 +1,164 @@
+package Model;
+
+import Controller.TestGames;
+import Controller.controller;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayMatchesTheLiveGameAfterEveryTurn() throws IOException {
+        for (long seed = 0; seed < 20; seed++) {
+            controller live = TestGames.deal(seed);
+            String file = dir.resolve("game" + seed + ".log").toString();
+            live.startEventLog(file);
+            List<GameState> states = new ArrayList<>();
+            states.add(TestGames.state(live));
+            SplittableRandom random = new SplittableRandom(seed);
+            MoveGenerator generator = new MoveGenerator();
+            while (!live.isGameOver()) {
+                TestGames.playRandomMove(live, generator, random);
+                states.add(TestGames.state(live));
+            }
+            live.stopEventLog();
+            assertReplays(file, states, "game " + seed);
+        }
+    }
+
+    @Test
+    void replayFollowsReshuffles() throws IOException {
+        for (long seed = 0; seed < 5; seed++) {
+            controller live = TestGames.deal(seed);
+            String file = dir.resolve("reshuffled" + seed + ".log").toString();
+            live.startEventLog(file);
+            List<GameState> states = new ArrayList<>();
+            states.add(TestGames.state(live));
+            SplittableRandom random = new SplittableRandom(seed);
+            MoveGenerator generator = new MoveGenerator();
+            while (!live.isGameOver()) {
+                if (live.getTurnCount() % 10 == 9) {
+                    // the new order only exists in the live deck, so it must come from the log
+                    live.getBoard().getDeck().reshuffleDiscards();
+                }
+                TestGames.playRandomMove(live, generator, random);
+                states.add(TestGames.state(live));
+            }
+            live.stopEventLog();
+            assertReplays(file, states, "reshuffled game " + seed);
+        }
+    }
+
+    @Test
+    void consoleTurnsAreLogged() throws IOException {
+        InputStream in = System.in;
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (long seed = 0; seed < 5; seed++) {
+                controller live = TestGames.deal(seed);
+                String file = dir.resolve("console" + seed + ".log").toString();
+                live.startEventLog(file);
+                List<GameState> states = new ArrayList<>();
+                states.add(TestGames.state(live));
+                SplittableRandom random = new SplittableRandom(seed);
+                MoveGenerator generator = new MoveGenerator();
+                while (!live.isGameOver()) {
+                    Player player = live.getCurrentPlayer();
+                    int legal = generator.generate(player, live.getBoard());
+                    if (legal == 0) {
+                        live.discardMove(random.nextInt(player.getCards().size()));
+                    } else {
+                        // the move is typed on the console, as a player of `turn` would
+                        int move = generator.getMoves()[random.nextInt(legal)];
+                        String typed = (MoveGenerator.cardIndex(move) + 1) + "\n" + MoveGenerator.pathIndex(move) + "\n";
+                        System.setIn(new ByteArrayInputStream(typed.getBytes(StandardCharsets.US_ASCII)));
+                        live.turn();
+                        Deck deck = live.getBoard().getDeck();
+                        if (deck.getRemainingCards() > 0) {
+                            player.drawCard(deck);
+                        }
+                        live.nextTurn();
+                    }
+                    states.add(TestGames.state(live));
+                }
+                live.stopEventLog();
+                assertReplays(file, states, "console game " + seed);
+            }
+        } finally {
+            System.setIn(in);
+            System.setOut(out);
+        }
+    }
+
+    @Test
+    void aTruncatedLogIsReadUpToItsLastCompleteEvent() throws IOException {
+        controller live = TestGames.deal(1);
+        String file = dir.resolve("truncated.log").toString();
+        live.startEventLog(file);
+        SplittableRandom random = new SplittableRandom(1);
+        MoveGenerator generator = new MoveGenerator();
+        while (!live.isGameOver()) {
+            TestGames.playRandomMove(live, generator, random);
+        }
+        live.stopEventLog();
+        GameReplayer complete = new GameReplayer(file);
+
+        for (int cut = 1; cut <= 6; cut++) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(raf.length() - 1); // one more byte of the last records lost
+            }
+            GameReplayer truncated = new GameReplayer(file);
+            assertTrue(truncated.getEventCount() < complete.getEventCount(), "cut " + cut);
+            assertTrue(truncated.getEventCount() >= complete.getEventCount() - cut, "cut " + cut);
+            controller expected = TestGames.deal(1);
+            controller actual = TestGames.deal(1);
+            for (int events = 0; events <= truncated.getEventCount(); events++) {
+                expected.replay(complete, events);
+                actual.replay(truncated, events);
+                assertEquals(TestGames.state(expected), TestGames.state(actual), "cut " + cut + ", event " + events);
+            }
+        }
+    }
+
+    /**
+     * Replays a log event by event and checks it against the states of the live game.
+     *
+     * @param file The log.
+     * @param states The state of the live game at the start and after every turn.
+     * @param game The name of the game in the messages.
+     */
+    private static void assertReplays(String file, List<GameState> states, String game) throws IOException {
+        GameReplayer replayer = new GameReplayer(file);
+        controller replayed = new controller(GameSetup.createBoard(), GameSetup.createPlayer("Player 1"),
+                GameSetup.createPlayer("Player 2"));
+        assertEquals(states.get(0), replayer.getStart(), "start of " + game);
+        int turn = 0;
+        for (int events = 0; events <= replayer.getEventCount(); events++) {
+            replayed.replay(replayer, events);
+            if (replayed.getTurnCount() == turn + 1) {
+                turn++;
+                assertEquals(states.get(turn), TestGames.state(replayed), game + ", turn " + turn);
+            }
+        }
+        assertEquals(states.size() - 1, turn, "turns of " + game);
+        assertEquals(states.get(turn), TestGames.state(replayed), "end of " + game);
+    }
+}
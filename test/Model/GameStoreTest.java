@@ -0,0 +1,172 @@
+package Model;
+
+import Controller.TestGames;
+import Controller.controller;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameStoreTest {
+    private static final int HEADER_BYTES = 16;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Plays a few random turns of a game.
+     */
+    private static controller midGame(long seed) {
+        controller game = TestGames.deal(seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        MoveGenerator generator = new MoveGenerator();
+        for (int turn = 0; turn < 10 * seed && !game.isGameOver(); turn++) {
+            TestGames.playRandomMove(game, generator, random);
+        }
+        return game;
+    }
+
+    @Test
+    void savedStatesLoadBackAfterReopening() throws IOException {
+        String file = dir.resolve("games.store").toString();
+        GameState[] saved = new GameState[4];
+        try (GameStore store = new GameStore(file, 5)) {
+            for (int slot = 0; slot < saved.length; slot++) {
+                saved[slot] = TestGames.state(midGame(slot));
+                store.save(slot, saved[slot]);
+            }
+        }
+        try (GameStore store = GameStore.open(file)) {
+            assertEquals(5, store.getSlots());
+            GameState loaded = new GameState();
+            for (int slot = 0; slot < saved.length; slot++) {
+                assertTrue(store.load(slot, loaded));
+                assertEquals(saved[slot], loaded, "slot " + slot);
+            }
+            assertFalse(store.load(4, loaded));
+        }
+    }
+
+    @Test
+    void aSavedGameLoadsIntoAnotherController() throws IOException {
+        String file = dir.resolve("game.sav").toString();
+        controller game = midGame(3);
+        game.saveGame(file);
+        controller loaded = new controller(GameSetup.createBoard(), GameSetup.createPlayer("Player 1"),
+                GameSetup.createPlayer("Player 2"));
+        loaded.loadGame(file);
+        assertEquals(TestGames.state(game), TestGames.state(loaded));
+        assertEquals(game.getHash(), loaded.getHash());
+    }
+
+    @Test
+    void aCorruptedSlotIsDetected() throws IOException {
+        String file = dir.resolve("games.store").toString();
+        try (GameStore store = new GameStore(file, 2)) {
+            store.save(0, TestGames.state(midGame(1)));
+            store.save(1, TestGames.state(midGame(2)));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            long at = HEADER_BYTES + 2 * 4 + 4 * 3; // a word of the state in slot 0
+            raw.seek(at);
+            int word = raw.read();
+            raw.seek(at);
+            raw.write(word ^ 1);
+        }
+        try (GameStore store = GameStore.open(file)) {
+            GameState state = TestGames.state(midGame(3));
+            GameState before = state.copy();
+            assertThrows(IllegalStateException.class, () -> store.load(0, state));
+            assertEquals(before, state);
+            assertTrue(store.load(1, new GameState()));
+        }
+    }
+
+    @Test
+    void aCorruptedLengthIsDetected() throws IOException {
+        String file = dir.resolve("games.store").toString();
+        try (GameStore store = new GameStore(file, 1)) {
+            store.save(0, TestGames.state(midGame(1)));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(HEADER_BYTES); // the length word of slot 0
+            raw.write(0xFF);
+        }
+        try (GameStore store = GameStore.open(file)) {
+            GameState state = new GameState();
+            assertThrows(IllegalStateException.class, () -> store.load(0, state));
+            assertEquals(new GameState(), state);
+        }
+    }
+
+    @Test
+    void anotherNumberOfSlotsIsRejected() throws IOException {
+        String file = dir.resolve("games.store").toString();
+        new GameStore(file, 3).close();
+        assertThrows(IOException.class, () -> new GameStore(file, 2));
+        try (GameStore store = new GameStore(file, 3)) {
+            assertEquals(3, store.getSlots());
+        }
+    }
+
+    @Test
+    void aTruncatedFileIsRejected() throws IOException {
+        String file = dir.resolve("games.store").toString();
+        try (GameStore store = new GameStore(file, 3)) {
+            store.save(2, TestGames.state(midGame(1)));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() - 4);
+        }
+        assertThrows(IOException.class, () -> GameStore.open(file));
+        assertThrows(IOException.class, () -> new GameStore(file, 3));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = dir.resolve("notes.txt");
+        Files.write(file, "not a game store at all".getBytes());
+        assertThrows(IOException.class, () -> GameStore.open(file.toString()));
+    }
+
+    @Test
+    void loadingAMissingFileDoesNotCreateIt() {
+        Path file = dir.resolve("missing.sav");
+        controller game = TestGames.deal(0);
+        assertThrows(NoSuchFileException.class, () -> game.loadGame(file.toString()));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void aStoreOpenedForReadingCannotBeWritten() throws IOException {
+        String file = dir.resolve("games.store").toString();
+        GameState state = TestGames.state(midGame(1));
+        try (GameStore store = new GameStore(file, 1)) {
+            store.save(0, state);
+        }
+        try (GameStore store = GameStore.open(file)) {
+            assertThrows(IllegalStateException.class, () -> store.save(0, state));
+            assertThrows(IllegalStateException.class, () -> store.clear(0));
+        }
+    }
+
+    @Test
+    void theFileIsLittleEndian() throws IOException {
+        String file = dir.resolve("games.store").toString();
+        new GameStore(file, 1).close();
+        byte[] magic = new byte[4];
+        System.arraycopy(Files.readAllBytes(Path.of(file)), 0, magic, 0, 4);
+        assertArrayEquals("VSNK".getBytes(), magic);
+    }
+}
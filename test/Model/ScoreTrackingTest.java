@@ -0,0 +1,93 @@
+package Model;
+
+import Controller.TestGames;
+import Controller.controller;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the position scores and the completed paths kept up to date by the pieces
+ * against a scan of the board.
+ */
+class ScoreTrackingTest {
+    private static int scanPositionScore(Player player) {
+        int score = 0;
+        for (Pawn pawn : player.getPawns()) {
+            Path path = pawn.getCurrentPath();
+            if (path != null) {
+                score += path.getPosition(pawn.getCurrentPosition()).getScore();
+            }
+        }
+        return score;
+    }
+
+    private static int scanCompletedPaths(Board board) {
+        int completed = 0;
+        for (Path path : board.getPaths()) {
+            if (path.isCompleted()) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    private static void assertTracked(controller game, String where) {
+        Player current = game.getCurrentPlayer();
+        Player opponent = game.getOpponent();
+        assertEquals(scanPositionScore(current), current.getPositionScore(), where);
+        assertEquals(scanPositionScore(opponent), opponent.getPositionScore(), where);
+        Board board = game.getBoard();
+        assertEquals(scanCompletedPaths(board), board.getCompletedPaths(), where);
+        assertEquals(board.getCompletedPaths() == board.getPaths().size(), board.allPathsCompleted(), where);
+    }
+
+    @Test
+    void countersFollowEveryMove() {
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0; seed < 200; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            assertTracked(game, "start of game " + seed);
+            while (!game.isGameOver()) {
+                TestGames.playRandomMove(game, generator, random);
+                assertTracked(game, "game " + seed + ", turn " + game.getTurnCount());
+            }
+        }
+    }
+
+    @Test
+    void countersFollowUndoneMoves() {
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0; seed < 50; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver()) {
+                TestGames.makeRandomMove(game, generator, random);
+            }
+            while (game.getUndoDepth() > 0) {
+                game.unmakeMove();
+                assertTracked(game, "game " + seed + ", undone to turn " + game.getTurnCount());
+            }
+        }
+    }
+
+    @Test
+    void countersFollowRestoredStates() {
+        MoveGenerator generator = new MoveGenerator();
+        controller restored = TestGames.deal(-1);
+        for (long seed = 0; seed < 50; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver()) {
+                TestGames.playRandomMove(game, generator, random);
+                if (game.getTurnCount() % 7 == 0) {
+                    restored.loadState(TestGames.state(game));
+                    assertTracked(restored, "game " + seed + ", restored at turn " + game.getTurnCount());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package Model;
+
+import Controller.TestGames;
+import Controller.controller;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the hash kept up to date by the pieces against `ZobristHash.compute`.
+ */
+class ZobristHashTest {
+    private static long computed(controller game) {
+        Player current = game.getCurrentPlayer();
+        Player opponent = game.getOpponent();
+        boolean firstToMove = current.getName().equals("Player 1");
+        Player player1 = firstToMove ? current : opponent;
+        Player player2 = firstToMove ? opponent : current;
+        return ZobristHash.compute(game.getBoard(), player1, player2) ^ (firstToMove ? 0L : ZobristHash.side());
+    }
+
+    private static void playGames(int games, List<Path> paths) {
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0; seed < games; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            controller game = TestGames.deal(random, paths == null ? GameSetup.createPaths() : copy(paths));
+            assertEquals(computed(game), game.getHash(), "start of game " + seed);
+            while (!game.isGameOver()) {
+                TestGames.playRandomMove(game, generator, random);
+                assertEquals(computed(game), game.getHash(), "game " + seed + ", turn " + game.getTurnCount());
+            }
+        }
+    }
+
+    private static List<Path> copy(List<Path> paths) {
+        List<Path> copy = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            List<Position> positions = new ArrayList<>();
+            for (int i = 0; i < path.getLength(); i++) {
+                Position position = path.getPosition(i);
+                positions.add(position instanceof FindingPosition ? new FindingPosition(position.getScore())
+                        : new SimplePosition(position.getScore()));
+            }
+            copy.add(new Path(path.getPalaceName(), positions));
+        }
+        return copy;
+    }
+
+    @Test
+    void incrementalHashMatchesAFullComputationAfterEveryMove() {
+        playGames(200, null);
+    }
+
+    @Test
+    void incrementalHashMatchesOnABoardOfEightPaths() {
+        // the palaces of the second half of the paths take the cards, so pawns reach the last path
+        List<Path> paths = new ArrayList<>(GameSetup.createPaths());
+        paths.addAll(GameSetup.createPaths());
+        assertEquals(ZobristHash.MAX_PATHS, paths.size());
+        playGames(200, paths);
+    }
+
+    @Test
+    void undoneMovesRestoreTheHash() {
+        MoveGenerator generator = new MoveGenerator();
+        for (long seed = 0; seed < 50; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            List<Long> hashes = new ArrayList<>();
+            while (!game.isGameOver()) {
+                hashes.add(game.getHash());
+                TestGames.makeRandomMove(game, generator, random);
+            }
+            for (int turn = hashes.size() - 1; turn >= 0; turn--) {
+                game.unmakeMove();
+                assertEquals(hashes.get(turn), game.getHash(), "game " + seed + ", turn " + turn);
+                assertEquals(computed(game), game.getHash(), "game " + seed + ", turn " + turn);
+            }
+        }
+    }
+
+    @Test
+    void loadedStatesHaveTheHashOfTheirGame() {
+        MoveGenerator generator = new MoveGenerator();
+        controller loaded = TestGames.deal(-1);
+        for (long seed = 0; seed < 50; seed++) {
+            controller game = TestGames.deal(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!game.isGameOver()) {
+                TestGames.playRandomMove(game, generator, random);
+                loaded.loadState(TestGames.state(game));
+                assertEquals(game.getHash(), loaded.getHash(), "game " + seed + ", turn " + game.getTurnCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package View;
+
+import Model.Finding;
+import Model.Pieces;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssetManagerTest {
+    @Test
+    void everyFindingHasAnImage() {
+        ClassLoader loader = AssetManagerTest.class.getClassLoader();
+        for (int id = 0; id < Pieces.findingCount(); id++) {
+            String image = AssetManager.findingImage(Pieces.finding(id));
+            assertNotNull(loader.getResource("images/" + image), image);
+        }
+    }
+
+    @Test
+    void frescoImagesShowTheValueOfTheirFresco() {
+        Set<String> images = new HashSet<>();
+        for (int id = 0; id < Pieces.findingCount(); id++) {
+            if (Pieces.isFresco(id)) {
+                Finding fresco = Pieces.finding(id);
+                String image = AssetManager.findingImage(fresco);
+                assertTrue(image.endsWith("_" + fresco.getValue() + ".jpg"), fresco.getName() + ": " + image);
+                assertTrue(images.add(image), "shared image " + image);
+            }
+        }
+        assertEquals(6, images.size());
+    }
+
+    @Test
+    void rareFindingsHaveTheImagesOfTheirPalace() {
+        String[] images = {"ring.jpg", "kosmima.jpg", "diskos.jpg", "ruto.jpg"};
+        for (int palace = 0; palace < images.length; palace++) {
+            assertTrue(Pieces.isRareFinding(palace));
+            assertEquals("findings/" + images[palace], AssetManager.findingImage(Pieces.finding(palace)));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package View;
+
+import Controller.TestGames;
+import Controller.controller;
+import Model.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RenderPipelineTest {
+    /**
+     * The snapshot of a dealt game, as the first player sees it.
+     */
+    private static BoardSnapshot dealt() {
+        controller game = TestGames.deal(1);
+        GameState state = TestGames.state(game);
+        return new BoardSnapshot(state, 0, game.getCurrentPlayer().getCards(), "Your turn");
+    }
+
+    @Test
+    void theFirstFrameIsDrawnInFull() {
+        List<Rectangle> dirty = RenderPipeline.dirtyRegions(null, dealt());
+        assertEquals(1, dirty.size());
+        assertTrue(dirty.get(0).contains(RenderPipeline.topCardSlot(0)));
+        assertTrue(dirty.get(0).contains(RenderPipeline.cell(3, 8)));
+        assertTrue(dirty.get(0).contains(RenderPipeline.handSlot(3)));
+    }
+
+    @Test
+    void anUnchangedSnapshotRedrawsNothing() {
+        BoardSnapshot snapshot = dealt();
+        assertEquals(List.of(), RenderPipeline.dirtyRegions(snapshot, snapshot));
+        assertEquals(List.of(), RenderPipeline.dirtyRegions(snapshot, snapshot.withHand(List.of()).withHand(
+                TestGames.deal(1).getCurrentPlayer().getCards())));
+    }
+
+    @Test
+    void aMovedPawnRedrawsTheCellsItLeftAndEntered() {
+        BoardSnapshot before = dealt();
+        BoardSnapshot entered = before.withPawn(2, 3, 0);
+        assertEquals(List.of(RenderPipeline.cell(3, 0)), RenderPipeline.dirtyRegions(before, entered));
+        BoardSnapshot moved = entered.withPawn(2, 1, 4);
+        assertEquals(List.of(RenderPipeline.cell(3, 0), RenderPipeline.cell(1, 4)),
+                RenderPipeline.dirtyRegions(entered, moved));
+        assertEquals(List.of(RenderPipeline.cell(1, 4)), RenderPipeline.dirtyRegions(moved, moved.withPawn(2, -1, 0)));
+    }
+
+    @Test
+    void aPlayedCardRedrawsItsHandSlotAndTheMessage() {
+        BoardSnapshot before = dealt();
+        BoardSnapshot after = before.withCard(null, 2).withMessage("Card played");
+        List<Rectangle> dirty = RenderPipeline.dirtyRegions(before, after);
+        assertEquals(2, dirty.size());
+        assertEquals(RenderPipeline.handSlot(2), dirty.get(1)); // after the message strip
+    }
+}